@@ -0,0 +1,26 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.adaptive-poll")
+@Getter
+@Setter
+public class AdaptivePollProperties {
+    private Boolean enabled = true;
+    private Long tickMs = 10000L;
+    /** Slots in the timing wheel; slots times the tick is how far ahead polls are loaded. */
+    private Integer wheelSlots = 360;
+    /** Google reads spent on polling per minute across all events. Intervals stretch or shrink to fit. */
+    private Integer callsPerMinute = 60;
+    private Integer minIntervalSeconds = 120;
+    private Integer maxIntervalSeconds = 21600;
+    /** How far back calendar edits are counted when deriving an event's interval. */
+    private Integer historyWindowDays = 7;
+    /** Polls per expected edit; higher catches edits sooner at the cost of more calls. */
+    private Integer pollsPerChange = 4;
+    private Long reloadIntervalMs = 60000L;
+}
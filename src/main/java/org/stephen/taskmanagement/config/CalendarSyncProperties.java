@@ -21,4 +21,7 @@ public class CalendarSyncProperties {
     private String webhookUrl;
     private Integer maxRetries = 3;
     private Integer retryDelaySeconds = 5;
+    private Integer connectTimeoutMs = 5000;
+    private Integer readTimeoutMs = 15000;
+    private Integer clientInitRetrySeconds = 60;
 }
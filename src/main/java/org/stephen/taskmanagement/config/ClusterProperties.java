@@ -0,0 +1,25 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.cluster")
+@Getter
+@Setter
+public class ClusterProperties {
+    /** When off, this node acts as the only one: always leader, owning every partition. */
+    private Boolean enabled = true;
+    /** Defaults to the host name plus a random suffix, unique per process. */
+    private String nodeId;
+    private Long heartbeatIntervalMs = 5000L;
+    /** A node missing heartbeats for this long is dropped from the ring. */
+    private Integer nodeTtlSeconds = 20;
+    private Integer leaderLeaseSeconds = 30;
+    /** Fixed partitions of the calendar events; only their assignment to nodes moves. */
+    private Integer partitions = 1024;
+    /** Points per node on the hash ring; more points spread partitions more evenly. */
+    private Integer virtualNodes = 64;
+}
@@ -0,0 +1,57 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google accounts the API calls Google Calendar as. Each account has its own credentials,
+ * its own quota bucket and its own share of the concurrency limits; each calendar is served by
+ * the account it is listed under, any other calendar by the default account. Without accounts
+ * the application authorizes a single {@code user} through the installed-app flow.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "google.calendar.account-pool")
+@Getter
+@Setter
+public class GoogleAccountPoolProperties {
+
+    public enum CredentialType {
+        /** Interactive browser consent on first start; the refresh token is kept in the tokens directory. */
+        INSTALLED_APP,
+        /** Service account key, optionally impersonating a Workspace user through domain-wide delegation. */
+        SERVICE_ACCOUNT,
+        /** OAuth client ID and secret with a refresh token obtained beforehand. */
+        REFRESH_TOKEN
+    }
+
+    private String defaultAccount;
+    private List<Account> accounts = new ArrayList<>();
+
+    /**
+     * Number of accounts the concurrency limits are multiplied by.
+     */
+    public int accountCount() {
+        return Math.max(1, accounts.size());
+    }
+
+    @Getter
+    @Setter
+    public static class Account {
+        private String id;
+        private CredentialType credentialType = CredentialType.SERVICE_ACCOUNT;
+        /** Service account key or OAuth client secrets, on the classpath or the file system. */
+        private String credentialsPath;
+        /** User a service account acts as; only calendars shared with the service account otherwise. */
+        private String delegatedUser;
+        private String clientId;
+        private String clientSecret;
+        private String refreshToken;
+        /** Calendar IDs this account serves. */
+        private List<String> calendars = new ArrayList<>();
+    }
+}
@@ -0,0 +1,22 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "google.calendar.circuit-breaker")
+@Getter
+@Setter
+public class GoogleApiCircuitBreakerProperties {
+    private Boolean enabled = true;
+    private Integer slidingWindowSize = 20;
+    private Integer minimumCalls = 10;
+    private Integer failureRateThreshold = 50;
+    private Long openStateDurationMs = 30000L;
+    private Integer halfOpenProbeCalls = 3;
+    /** Per Google account; the bulkhead holds this many slots for each configured account. */
+    private Integer maxConcurrentCalls = 16;
+    private Long maxWaitMs = 250L;
+}
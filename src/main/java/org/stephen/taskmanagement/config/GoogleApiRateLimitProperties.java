@@ -0,0 +1,23 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "google.calendar.rate-limit")
+@Getter
+@Setter
+public class GoogleApiRateLimitProperties {
+    private Boolean enabled = true;
+    private Double userPermitsPerSecond = 10.0;
+    private Double calendarPermitsPerSecond = 5.0;
+    private Double minPermitsPerSecond = 0.5;
+    private Integer maxBackoffSeconds = 60;
+    private Map<String, Double> userOverrides = new HashMap<>();
+    private Map<String, Double> calendarOverrides = new HashMap<>();
+}
@@ -6,26 +6,41 @@ import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.CalendarScopes;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.auth.oauth2.UserCredentials;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.stephen.taskmanagement.service.GoogleApiRateLimiter;
+import org.stephen.taskmanagement.service.GoogleCalendarClientPool;
+import org.stephen.taskmanagement.service.GoogleCalendarClients;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.http.HttpClient;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
 
 @Configuration
 @RequiredArgsConstructor
@@ -37,29 +52,148 @@ public class GoogleCalendarConfig {
     private static final List<String> SCOPES = Collections.singletonList(CalendarScopes.CALENDAR);
     private static final String TOKENS_DIRECTORY_PATH = "tokens";
 
+    private final CalendarSyncProperties syncProperties;
+    private final GoogleHttpTransportProperties transportProperties;
+    private final GoogleAccountPoolProperties accountPoolProperties;
+
     @Value("${google.calendar.credentials-path:credentials.json}")
     private String credentialsPath;
 
+    /**
+     * The clients are built in the background; see {@link GoogleCalendarClients}. With
+     * {@code google.calendar.enabled=false} no credentials are loaded at all.
+     */
     @Bean
-    public Calendar googleCalendarService() throws GeneralSecurityException, IOException {
-        log.info("Initializing Google Calendar service...");
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        Credential credential = getCredentials(httpTransport);
+    public GoogleCalendarClients googleCalendarClients() {
+        if (!syncProperties.getEnabled()) {
+            log.info("Google Calendar integration is disabled");
+        }
+        return new GoogleCalendarClients(syncProperties.getEnabled(), syncProperties.getClientInitRetrySeconds(),
+                this::createClientPool);
+    }
+
+    private GoogleCalendarClientPool createClientPool() throws GeneralSecurityException, IOException {
+        log.info("Initializing Google Calendar clients...");
+        // One transport, and so one connection pool, shared by every account
+        final HttpTransport httpTransport = createTransport();
+
+        if (accountPoolProperties.getAccounts().isEmpty()) {
+            Credential credential = getCredentials(httpTransport, credentialsPath, GoogleApiRateLimiter.DEFAULT_USER);
+            return GoogleCalendarClientPool.single(createClient(httpTransport, credential));
+        }
+
+        Map<String, Calendar> clientsByAccount = new LinkedHashMap<>();
+        Map<String, String> accountsByCalendar = new HashMap<>();
+        for (GoogleAccountPoolProperties.Account account : accountPoolProperties.getAccounts()) {
+            if (clientsByAccount.containsKey(account.getId())) {
+                throw new IllegalStateException("Google account " + account.getId() + " is configured twice");
+            }
+            clientsByAccount.put(account.getId(), createClient(httpTransport, authorize(httpTransport, account)));
+            for (String calendarId : account.getCalendars()) {
+                String previous = accountsByCalendar.putIfAbsent(calendarId, account.getId());
+                if (previous != null) {
+                    throw new IllegalStateException("Calendar " + calendarId + " is assigned to accounts "
+                            + previous + " and " + account.getId());
+                }
+            }
+        }
+        String defaultAccount = accountPoolProperties.getDefaultAccount() != null
+                ? accountPoolProperties.getDefaultAccount()
+                : accountPoolProperties.getAccounts().get(0).getId();
+        log.info("Google Calendar client pool: {} accounts, {} routed calendars, default account {}",
+                clientsByAccount.size(), accountsByCalendar.size(), defaultAccount);
+        return new GoogleCalendarClientPool(clientsByAccount, accountsByCalendar, defaultAccount);
+    }
+
+    private Calendar createClient(HttpTransport httpTransport, HttpRequestInitializer credentials) {
+        // Bounded timeouts so a hung connection fails and counts against the circuit breaker
+        HttpRequestInitializer requestInitializer = request -> {
+            credentials.initialize(request);
+            request.setConnectTimeout(syncProperties.getConnectTimeoutMs());
+            request.setReadTimeout(syncProperties.getReadTimeoutMs());
+        };
+
+        // Responses are always requested gzipped; this only switches compression of request bodies
+        boolean gzipEnabled = transportProperties.getGzipEnabled();
 
-        return new Calendar.Builder(httpTransport, JSON_FACTORY, credential)
+        return new Calendar.Builder(httpTransport, JSON_FACTORY, requestInitializer)
                 .setApplicationName(APPLICATION_NAME)
+                .setGoogleClientRequestInitializer(request -> request.setDisableGZipContent(!gzipEnabled))
                 .build();
     }
 
-    private Credential getCredentials(final NetHttpTransport httpTransport) throws IOException {
-        log.debug("Loading Google Calendar credentials...");
+    private HttpRequestInitializer authorize(HttpTransport httpTransport, GoogleAccountPoolProperties.Account account)
+            throws IOException {
+        log.debug("Loading credentials of Google account {} ({})", account.getId(), account.getCredentialType());
+        return switch (account.getCredentialType()) {
+            case INSTALLED_APP -> getCredentials(httpTransport, account.getCredentialsPath(), account.getId());
+            case SERVICE_ACCOUNT -> {
+                try (InputStream in = openCredentials(account.getCredentialsPath())) {
+                    GoogleCredentials credentials = ServiceAccountCredentials.fromStream(in).createScoped(SCOPES);
+                    if (account.getDelegatedUser() != null) {
+                        credentials = credentials.createDelegated(account.getDelegatedUser());
+                    }
+                    yield new HttpCredentialsAdapter(credentials);
+                }
+            }
+            case REFRESH_TOKEN -> new HttpCredentialsAdapter(UserCredentials.newBuilder()
+                    .setClientId(account.getClientId())
+                    .setClientSecret(account.getClientSecret())
+                    .setRefreshToken(account.getRefreshToken())
+                    .build());
+        };
+    }
 
-        InputStream in = GoogleCalendarConfig.class.getResourceAsStream("/" + credentialsPath);
-        if (in == null) {
-            throw new FileNotFoundException("Resource not found: " + credentialsPath);
+    private HttpTransport createTransport() throws GeneralSecurityException, IOException {
+        if (transportProperties.getType() == GoogleHttpTransportProperties.Type.NET_HTTP) {
+            log.info("Using HttpURLConnection transport for Google Calendar");
+            return GoogleNetHttpTransport.newTrustedTransport();
         }
 
-        GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+        // The JDK client reads its pool settings from system properties when the first client is built
+        setDefaultProperty("jdk.httpclient.connectionPoolSize", transportProperties.getMaxPooledConnections());
+        setDefaultProperty("jdk.httpclient.keepalive.timeout", transportProperties.getKeepAliveSeconds());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(transportProperties.getHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(syncProperties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newFixedThreadPool(transportProperties.getExecutorThreads(),
+                        Thread.ofPlatform().name("google-http-", 0).daemon().factory()))
+                .build();
+        log.info("Using pooled JDK HTTP client for Google Calendar (http2={}, pool={}, keepAlive={}s)",
+                transportProperties.getHttp2Enabled(), transportProperties.getMaxPooledConnections(),
+                transportProperties.getKeepAliveSeconds());
+        return new JdkHttpTransport(httpClient);
+    }
+
+    private void setDefaultProperty(String name, Object value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, String.valueOf(value));
+        } else {
+            log.info("Keeping {}={} from the command line", name, System.getProperty(name));
+        }
+    }
+
+    private InputStream openCredentials(String path) throws IOException {
+        InputStream in = GoogleCalendarConfig.class.getResourceAsStream("/" + path);
+        if (in != null) {
+            return in;
+        }
+        File file = new File(path);
+        if (!file.isFile()) {
+            throw new FileNotFoundException("Resource not found: " + path);
+        }
+        return new FileInputStream(file);
+    }
+
+    private Credential getCredentials(final HttpTransport httpTransport, String path, String user) throws IOException {
+        log.debug("Loading Google Calendar credentials...");
+
+        GoogleClientSecrets clientSecrets;
+        try (InputStream in = openCredentials(path)) {
+            clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+        }
 
         GoogleAuthorizationCodeFlow flow = new GoogleAuthorizationCodeFlow.Builder(
                 httpTransport, JSON_FACTORY, clientSecrets, SCOPES)
@@ -71,7 +205,8 @@ public class GoogleCalendarConfig {
                 .setPort(8888)
                 .build();
 
-        log.info("Requesting authorization from the user...");
-        return new AuthorizationCodeInstalledApp(flow, receiver).authorize("user");
+        // Tokens are stored per user, so each installed-app account keeps its own
+        log.info("Requesting authorization from {}...", user);
+        return new AuthorizationCodeInstalledApp(flow, receiver).authorize(user);
     }
 }
@@ -0,0 +1,24 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "google.calendar.transport")
+@Getter
+@Setter
+public class GoogleHttpTransportProperties {
+
+    public enum Type {
+        JDK, NET_HTTP
+    }
+
+    private Type type = Type.JDK;
+    private Boolean http2Enabled = true;
+    private Boolean gzipEnabled = true;
+    private Integer maxPooledConnections = 32;
+    private Integer keepAliveSeconds = 30;
+    private Integer executorThreads = 8;
+}
@@ -0,0 +1,199 @@
+package org.stephen.taskmanagement.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Google API transport backed by the JDK {@link HttpClient}. Unlike the {@code HttpURLConnection}
+ * based {@code NetHttpTransport}, the client keeps a shared pool of keep-alive connections and
+ * negotiates HTTP/2 over TLS, so concurrent calls to Google are multiplexed on a few connections
+ * instead of each paying for its own handshake.
+ *
+ * <p>The connect timeout is a property of the client; the read timeout set per request bounds the
+ * wait for the response headers.
+ */
+public class JdkHttpTransport extends HttpTransport {
+
+    // Headers the JDK client sets itself and refuses to take from callers
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning");
+
+    private final HttpClient httpClient;
+
+    public JdkHttpTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new JdkHttpRequest(method, url);
+    }
+
+    @Override
+    public void shutdown() {
+        httpClient.shutdownNow();
+    }
+
+    private class JdkHttpRequest extends LowLevelHttpRequest {
+        private final String method;
+        private final String url;
+        private final List<String[]> headers = new ArrayList<>();
+        private int readTimeoutMs;
+
+        JdkHttpRequest(String method, String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(new String[]{name, value});
+        }
+
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            this.readTimeoutMs = readTimeout;
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                    .method(method, bodyPublisher());
+            if (readTimeoutMs > 0) {
+                builder.timeout(Duration.ofMillis(readTimeoutMs));
+            }
+            for (String[] header : headers) {
+                if (!RESTRICTED_HEADERS.contains(header[0].toLowerCase())) {
+                    builder.header(header[0], header[1]);
+                }
+            }
+            if (getContentType() != null) {
+                builder.setHeader("Content-Type", getContentType());
+            }
+            if (getContentEncoding() != null) {
+                builder.setHeader("Content-Encoding", getContentEncoding());
+            }
+
+            try {
+                return new JdkHttpResponse(httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (HttpTimeoutException e) {
+                // Same type NetHttpTransport throws, so callers see one kind of timeout
+                SocketTimeoutException timeout = new SocketTimeoutException(e.getMessage());
+                timeout.initCause(e);
+                throw timeout;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while calling " + url);
+            }
+        }
+
+        private HttpRequest.BodyPublisher bodyPublisher() throws IOException {
+            // The content type is deprecated in google-http-client but is what requests carry,
+            // so it is used without being named
+            if (getStreamingContent() == null) {
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            // Calendar payloads are small; buffering lets the client send a fixed Content-Length
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            getStreamingContent().writeTo(buffer);
+            return HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray());
+        }
+    }
+
+    private static class JdkHttpResponse extends LowLevelHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final List<String> headerNames = new ArrayList<>();
+        private final List<String> headerValues = new ArrayList<>();
+
+        JdkHttpResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach((name, values) -> {
+                // HTTP/2 pseudo-headers such as :status are not real headers
+                if (!name.startsWith(":")) {
+                    values.forEach(value -> {
+                        headerNames.add(name);
+                        headerValues.add(value);
+                    });
+                }
+            });
+        }
+
+        @Override
+        public InputStream getContent() {
+            return response.body();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return response.headers().firstValue("Content-Encoding").orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        }
+
+        @Override
+        public String getContentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        @Override
+        public String getStatusLine() {
+            return (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1")
+                    + " " + response.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headerNames.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headerNames.get(index);
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headerValues.get(index);
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            // Closing the body hands the connection back to the pool
+            response.body().close();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "google.calendar.event-cache")
+@Getter
+@Setter
+public class RemoteEventCacheProperties {
+    private Boolean enabled = true;
+    private Integer maxEntries = 1000;
+    private Integer freshSeconds = 15;
+    private Integer maxAgeSeconds = 300;
+}
@@ -0,0 +1,25 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.jobs")
+@Getter
+@Setter
+public class SyncJobProperties {
+    private Integer maxConcurrentJobs = 2;
+    /** Task IDs buffered per insert while a request is read, and items processed per chunk while a job runs. */
+    private Integer itemBatchSize = 500;
+    /** Rows per keyset page on each side of a reconciliation merge. */
+    private Integer reconcilePageSize = 1000;
+    /** Our events younger than this are never treated as leaked, their link may still be on its way. */
+    private Integer reconcileGraceMinutes = 10;
+    /**
+     * A running job whose progress has not moved for this long is taken as abandoned by a node
+     * that stopped; it is failed at startup and can be resumed. Progress is written per chunk.
+     */
+    private Integer staleAfterMinutes = 30;
+}
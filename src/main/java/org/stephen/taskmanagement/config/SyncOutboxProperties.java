@@ -0,0 +1,19 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.outbox")
+@Getter
+@Setter
+public class SyncOutboxProperties {
+    private Long pollIntervalMs = 2000L;
+    private Integer batchSize = 200;
+    /** Quiet period after the latest edit before a task is pushed. */
+    private Long debounceSeconds = 10L;
+    /** Upper bound on how long a continuously edited task can wait for a push. */
+    private Long maxDelaySeconds = 60L;
+}
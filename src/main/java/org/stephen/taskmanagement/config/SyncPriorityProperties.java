@@ -0,0 +1,21 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.priority")
+@Getter
+@Setter
+public class SyncPriorityProperties {
+    /** Claimed pushes held in memory at most; the rest wait in the outbox and retry queue. */
+    private Integer bufferCapacity = 1000;
+    /** Pushes handed to the worker pool at a time, so newly claimed urgent ones can overtake. */
+    private Integer dispatchBatchSize = 50;
+    /** Tasks due within this many minutes, either side of now, are pushed first. */
+    private Integer imminentMinutes = 60;
+    /** Tasks due within this many hours come next. */
+    private Integer soonHours = 24;
+}
@@ -0,0 +1,18 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.retry-queue")
+@Getter
+@Setter
+public class SyncRetryQueueProperties {
+    private Integer batchSize = 100;
+    private Integer maxAttempts = 8;
+    private Integer initialBackoffSeconds = 30;
+    private Integer maxBackoffSeconds = 3600;
+    private Integer claimLeaseSeconds = 300;
+}
@@ -0,0 +1,18 @@
+package org.stephen.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduling.workers")
+@Getter
+@Setter
+public class SyncWorkerProperties {
+    private Boolean virtualThreads = true;
+    /** Per Google account, like the bulkhead. */
+    private Integer maxConcurrency = 8;
+    private Integer maxConcurrencyPerCalendar = 4;
+    private Integer chunkSize = 200;
+}
@@ -1,23 +1,35 @@
 package org.stephen.taskmanagement.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.stephen.taskmanagement.dto.CalendarSyncDto;
 import org.stephen.taskmanagement.service.CalendarSyncService;
 import org.stephen.taskmanagement.service.ConflictResolutionService;
+import org.stephen.taskmanagement.service.SyncJobRunner;
+import org.stephen.taskmanagement.service.SyncJobService;
+import org.stephen.taskmanagement.service.SyncRetryQueueService;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/calendar")
@@ -28,6 +40,10 @@ public class CalendarSyncController {
 
     private final CalendarSyncService calendarSyncService;
     private final ConflictResolutionService conflictResolutionService;
+    private final SyncRetryQueueService syncRetryQueueService;
+    private final SyncJobRunner syncJobRunner;
+    private final SyncJobService syncJobService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/enable")
     @Operation(summary = "Enable calendar sync for a task",
@@ -55,6 +71,28 @@ public class CalendarSyncController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk-enable")
+    @Operation(summary = "Enable calendar sync for many tasks",
+            description = "Link up to 1000 tasks with Google Calendar using batched calendar inserts")
+    @ApiResponse(responseCode = "200", description = "Per-task results returned")
+    @ApiResponse(responseCode = "400", description = "Invalid request")
+    public ResponseEntity<CalendarSyncDto.BulkSyncToggleResponse> bulkEnableSync(
+            @Valid @RequestBody CalendarSyncDto.BulkEnableSyncRequest request) {
+        log.info("POST /api/v1/calendar/bulk-enable - Enabling sync for {} tasks", request.getTaskIds().size());
+        return ResponseEntity.ok(calendarSyncService.bulkEnableSync(request));
+    }
+
+    @PostMapping("/bulk-disable")
+    @Operation(summary = "Disable calendar sync for many tasks",
+            description = "Unlink up to 1000 tasks and optionally delete their calendar events using batched deletes")
+    @ApiResponse(responseCode = "200", description = "Per-task results returned")
+    @ApiResponse(responseCode = "400", description = "Invalid request")
+    public ResponseEntity<CalendarSyncDto.BulkSyncToggleResponse> bulkDisableSync(
+            @Valid @RequestBody CalendarSyncDto.BulkDisableSyncRequest request) {
+        log.info("POST /api/v1/calendar/bulk-disable - Disabling sync for {} tasks", request.getTaskIds().size());
+        return ResponseEntity.ok(calendarSyncService.bulkDisableSync(request));
+    }
+
     @PostMapping("/sync-to-calendar/{taskId}")
     @Operation(summary = "Sync task changes to Google Calendar",
             description = "Push task updates to the linked Google Calendar event")
@@ -106,6 +144,35 @@ public class CalendarSyncController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk-resolve-conflicts")
+    @Operation(summary = "Resolve sync conflicts in bulk",
+            description = "Queue a background job that applies one strategy to every conflicted task, " +
+                    "optionally narrowed by calendar, minimum conflict age and tag. " +
+                    "Progress and per-task outcomes are available under /sync-jobs/{jobId}.")
+    @ApiResponse(responseCode = "202", description = "Bulk resolution job accepted")
+    @ApiResponse(responseCode = "400", description = "Invalid request, e.g. the MANUAL strategy")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> bulkResolveConflicts(
+            @Valid @RequestBody CalendarSyncDto.BulkConflictResolutionRequest request) {
+        log.info("POST /api/v1/calendar/bulk-resolve-conflicts - Strategy: {}", request.getStrategy());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobRunner.submitBulkResolve(request));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Reconcile a calendar",
+            description = "Queue a background job that diffs the calendar's events against the synced tasks and " +
+                    "reports links whose event is gone, events we created that nothing links to, and events " +
+                    "changed in Google since their last sync. With repair=true it also fixes them. " +
+                    "Findings are available under /sync-jobs/{jobId}.")
+    @ApiResponse(responseCode = "202", description = "Reconcile job accepted")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> reconcile(
+            @Parameter(description = "Calendar ID, defaults to the primary calendar")
+            @RequestParam(required = false) String calendarId,
+            @Parameter(description = "Repair findings instead of only reporting them")
+            @RequestParam(defaultValue = "false") boolean repair) {
+        log.info("POST /api/v1/calendar/reconcile - Calendar: {}, repair: {}", calendarId, repair);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobRunner.submitReconcile(calendarId, repair));
+    }
+
     @GetMapping("/analyze-conflict/{taskId}")
     @Operation(summary = "Analyze sync conflict",
             description = "Get detailed analysis of conflicts between task and calendar")
@@ -119,18 +186,114 @@ public class CalendarSyncController {
         return ResponseEntity.ok(analysis);
     }
 
+    @GetMapping(value = "/conflicts/analysis", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Analyze a page of sync conflicts",
+            description = "Compare task, calendar and last-synced values for one page of conflicted tasks. " +
+                    "Events are read with one batched call per calendar and results are streamed as they arrive, " +
+                    "grouped by calendar.")
+    @ApiResponse(responseCode = "200", description = "Conflict analyses streamed as a JSON array")
+    @ApiResponse(responseCode = "400", description = "Invalid page size")
+    public ResponseEntity<StreamingResponseBody> analyzeConflicts(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "200") int size) {
+        log.info("GET /api/v1/calendar/conflicts/analysis - page: {}, size: {}", page, size);
+        // Validated and loaded here, so a bad request fails before the response is committed
+        Stream<CalendarSyncDto.ConflictAnalysis> analyses = conflictResolutionService.analyzeConflicts(page, size);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                Iterator<CalendarSyncDto.ConflictAnalysis> iterator = analyses.iterator();
+                while (iterator.hasNext()) {
+                    objectMapper.writeValue(generator, iterator.next());
+                    generator.flush();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PostMapping("/bulk-sync")
-    @Operation(summary = "Perform bulk synchronization",
-            description = "Sync multiple tasks with calendar in a single operation")
-    @ApiResponse(responseCode = "200", description = "Bulk sync completed")
+    @Operation(summary = "Start a bulk synchronization job",
+            description = "Queue a background job that syncs the given tasks with calendar. " +
+                    "Task IDs are streamed from the request body, so very large requests are accepted.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+            schema = @Schema(implementation = CalendarSyncDto.BulkSyncRequest.class)))
+    @ApiResponse(responseCode = "202", description = "Bulk sync job accepted")
     @ApiResponse(responseCode = "400", description = "Invalid request")
-    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> bulkSync(
-            @Valid @RequestBody CalendarSyncDto.BulkSyncRequest request) {
-        log.info("POST /api/v1/calendar/bulk-sync - Syncing {} tasks", request.getTaskIds().size());
-        // Implementation in next iteration
-        return ResponseEntity.ok(CalendarSyncDto.BulkSyncResponse.builder()
-                .totalTasks(request.getTaskIds().size())
-                .build());
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> bulkSync(HttpServletRequest request) throws IOException {
+        log.info("POST /api/v1/calendar/bulk-sync - Submitting bulk sync job");
+        CalendarSyncDto.BulkSyncResponse response = syncJobRunner.submitBulkSync(request.getInputStream());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping({"/bulk-sync/{jobId}", "/sync-jobs/{jobId}"})
+    @Operation(summary = "Get sync job progress",
+            description = "Get the status and counters of a bulk or full sync job with one page of per-task results")
+    @ApiResponse(responseCode = "200", description = "Bulk sync job retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> getBulkSyncJob(
+            @Parameter(description = "Job ID") @PathVariable Long jobId,
+            @Parameter(description = "Results page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Results page size") @RequestParam(defaultValue = "100") int size) {
+        log.info("GET /api/v1/calendar/sync-jobs/{} - page: {}, size: {}", jobId, page, size);
+        return ResponseEntity.ok(syncJobService.getBulkSyncJob(jobId, page, size));
+    }
+
+    @PostMapping("/full-sync")
+    @Operation(summary = "Start a full synchronization job",
+            description = "Queue a background job that pushes every synced task to calendar")
+    @ApiResponse(responseCode = "202", description = "Full sync job accepted")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> fullSync() {
+        log.info("POST /api/v1/calendar/full-sync - Submitting full sync job");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobRunner.submitFullSync());
+    }
+
+    @PostMapping("/sync-jobs/{jobId}/cancel")
+    @Operation(summary = "Cancel a sync job",
+            description = "Stop a queued or running sync job after its current chunk")
+    @ApiResponse(responseCode = "200", description = "Sync job cancelled")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "400", description = "Job is not queued or running")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> cancelSyncJob(
+            @Parameter(description = "Job ID") @PathVariable Long jobId) {
+        log.info("POST /api/v1/calendar/sync-jobs/{}/cancel - Cancelling sync job", jobId);
+        return ResponseEntity.ok(syncJobService.cancelJob(jobId));
+    }
+
+    @PostMapping("/sync-jobs/{jobId}/resume")
+    @Operation(summary = "Resume a sync job",
+            description = "Re-queue a cancelled, failed or abandoned sync job; it continues where it stopped")
+    @ApiResponse(responseCode = "202", description = "Sync job resumed")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "400", description = "Job is not cancelled, failed or abandoned")
+    public ResponseEntity<CalendarSyncDto.BulkSyncResponse> resumeSyncJob(
+            @Parameter(description = "Job ID") @PathVariable Long jobId) {
+        log.info("POST /api/v1/calendar/sync-jobs/{}/resume - Resuming sync job", jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncJobRunner.resume(jobId));
+    }
+
+    @GetMapping("/retry-queue/dead-letters")
+    @Operation(summary = "List dead-letter syncs",
+            description = "List syncs that exhausted their retry attempts, most recently failed first")
+    @ApiResponse(responseCode = "200", description = "Dead-letter entries retrieved successfully")
+    public ResponseEntity<List<CalendarSyncDto.RetryQueueEntryResponse>> getDeadLetters(
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/v1/calendar/retry-queue/dead-letters - page: {}, size: {}", page, size);
+        return ResponseEntity.ok(syncRetryQueueService.getDeadLetters(page, size));
+    }
+
+    @PostMapping("/retry-queue/{entryId}/requeue")
+    @Operation(summary = "Requeue a dead-letter sync",
+            description = "Reset the attempt count of a dead-letter entry and retry it immediately")
+    @ApiResponse(responseCode = "200", description = "Entry requeued successfully")
+    @ApiResponse(responseCode = "404", description = "Entry not found")
+    @ApiResponse(responseCode = "400", description = "Entry is not in the dead-letter state")
+    public ResponseEntity<CalendarSyncDto.RetryQueueEntryResponse> requeueDeadLetter(
+            @Parameter(description = "Retry queue entry ID") @PathVariable Long entryId) {
+        log.info("POST /api/v1/calendar/retry-queue/{}/requeue - Requeueing dead-letter entry", entryId);
+        return ResponseEntity.ok(syncRetryQueueService.requeue(entryId));
     }
 
 }
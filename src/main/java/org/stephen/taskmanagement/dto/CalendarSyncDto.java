@@ -1,9 +1,15 @@
 package org.stephen.taskmanagement.dto;
 
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.RetryStatus;
 import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
 import org.stephen.taskmanagement.enums.SyncStatus;
 
 import java.time.LocalDateTime;
@@ -162,16 +168,47 @@ public class CalendarSyncDto {
         private Boolean syncConflictedOnly;
     }
 
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkConflictResolutionRequest {
+        @NotNull(message = "Resolution strategy is required")
+        private ConflictResolutionStrategy strategy;
+
+        // Optional filters; conflicts matching all of the given ones are resolved
+        private String calendarId;
+
+        @PositiveOrZero(message = "Minimum conflict age must not be negative")
+        private Integer minAgeMinutes;
+
+        private String tag;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
     public static class BulkSyncResponse{
+        private Long jobId;
+        private SyncJobType jobType;
+        private SyncJobStatus status;
+        private SyncDirection syncDirection;
+        private ConflictResolutionStrategy resolutionStrategy;
+        private String calendarId;
+        private Boolean repair;
         private Integer totalTasks;
+        private Integer processedTasks;
         private Integer successfulSyncs;
         private Integer failedSyncs;
+        private Integer skippedSyncs;
+        private Double itemsPerSecond;
         private java.util.List<SyncResponse> results;
+        private String errorMessage;
+        private LocalDateTime submittedAt;
+        private LocalDateTime startedAt;
         private LocalDateTime completedAt;
     }
 
@@ -184,6 +221,7 @@ public class CalendarSyncDto {
         @NotNull(message = "Task ID is required")
         private Long taskId;
 
+        @Builder.Default
         private Boolean deleteCalendarEvent = false;
     }
 
@@ -200,4 +238,112 @@ public class CalendarSyncDto {
         private LocalDateTime disabledAt;
         private String message;
     }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkEnableSyncRequest {
+        @NotEmpty(message = "Task IDs are required")
+        @Size(max = 1000, message = "At most 1000 tasks can be enabled per request")
+        private java.util.List<Long> taskIds;
+
+        private String calendarId;
+
+        @NotNull(message = "Conflict resolution strategy is required")
+        private ConflictResolutionStrategy conflictResolutionStrategy;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkDisableSyncRequest {
+        @NotEmpty(message = "Task IDs are required")
+        @Size(max = 1000, message = "At most 1000 tasks can be disabled per request")
+        private java.util.List<Long> taskIds;
+
+        @Builder.Default
+        private Boolean deleteCalendarEvent = false;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkSyncToggleResponse {
+        private Integer totalTasks;
+        private Integer succeeded;
+        private Integer failed;
+        private java.util.List<BulkSyncToggleResult> results;
+        private LocalDateTime completedAt;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkSyncToggleResult {
+        private Long taskId;
+        private String eventId;
+        private String calendarId;
+        private Boolean success;
+        private Boolean calendarEventDeleted;
+        private String message;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RetryQueueEntryResponse{
+        private Long id;
+        private Long taskId;
+        private String calendarId;
+        private RetryStatus status;
+        private Integer attempts;
+        private LocalDateTime nextAttemptAt;
+        private String lastError;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ConflictAnalysis {
+        private Long taskId;
+        private String eventId;
+        private String calendarId;
+        private FieldComparison<String> title;
+        private FieldComparison<String> description;
+        private FieldComparison<LocalDateTime> dueDate;
+        private FieldComparison<Boolean> completed;
+        // Null when the link has no base snapshot to merge against
+        private Boolean autoMergeable;
+        private java.util.List<String> conflictingFields;
+        private LocalDateTime conflictDetectedAt;
+        private LocalDateTime lastSynced;
+        // Set instead of the comparisons when the event could not be read
+        private String error;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FieldComparison<T> {
+        private T baseValue;
+        private T taskValue;
+        private T calendarValue;
+        private Boolean conflict;
+    }
 }
@@ -0,0 +1,13 @@
+package org.stephen.taskmanagement.dto;
+
+import org.stephen.taskmanagement.enums.SyncPriority;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed push waiting in the {@link org.stephen.taskmanagement.service.SyncPriorityScheduler}
+ * buffer. {@code enqueuedAt} is when the push became due, the start of its queue lag.
+ */
+public record PendingSync(SyncWorkItem workItem, SyncPriority priority, LocalDateTime dueDate,
+                          LocalDateTime enqueuedAt) {
+}
@@ -0,0 +1,14 @@
+package org.stephen.taskmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A calendar event waiting in the poll timing wheel. A null {@code nextPollAt} means the event
+ * has never been polled and is due right away.
+ */
+public record PollTarget(Long calendarEventId, Long taskId, String calendarId, LocalDateTime nextPollAt) {
+
+    public SyncWorkItem toWorkItem() {
+        return new SyncWorkItem(calendarEventId, taskId, calendarId);
+    }
+}
@@ -0,0 +1,17 @@
+package org.stephen.taskmanagement.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncRunResult {
+    private String runName;
+    private Integer totalItems;
+    private Integer succeeded;
+    private Integer failed;
+    private Long durationMillis;
+    private Double itemsPerSecond;
+}
@@ -0,0 +1,8 @@
+package org.stephen.taskmanagement.dto;
+
+/**
+ * Unit of work handed to the sync worker pool: one calendar event, its task and the calendar it lives in.
+ * The calendar event id doubles as the keyset cursor when runs are processed in chunks.
+ */
+public record SyncWorkItem(Long calendarEventId, Long taskId, String calendarId) {
+}
@@ -5,12 +5,15 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
 import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.TaskStatus;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "calendar_events", uniqueConstraints = {
         @UniqueConstraint(columnNames = "event_id", name = "uk_event_id")
+}, indexes = {
+        @Index(name = "idx_calendar_events_next_poll_at", columnList = "next_poll_at")
 })
 @Getter
 @Setter
@@ -54,6 +57,30 @@ public class CalendarEvent {
     @Column(name = "calendar_last_modified_at")
     private LocalDateTime calendarLastModifiedAt;
 
+    // Content fingerprints of each side as of the last successful sync
+    @Column(name = "task_fingerprint")
+    private Long taskFingerprint;
+
+    @Column(name = "event_fingerprint")
+    private Long eventFingerprint;
+
+    // ETag Google gave the event at the last successful sync; a different one means it changed since
+    @Column(name = "event_etag")
+    private String eventEtag;
+
+    // Task content both sides agreed on at the last successful sync, the base for three-way merges
+    @Column(name = "base_title")
+    private String baseTitle;
+
+    @Column(name = "base_description", columnDefinition = "TEXT")
+    private String baseDescription;
+
+    @Column(name = "base_due_date")
+    private LocalDateTime baseDueDate;
+
+    @Column(name = "base_completed")
+    private Boolean baseCompleted;
+
     @Column(name = "sync_status")
     @Enumerated(EnumType.STRING)
     private SyncStatus  syncStatus;
@@ -61,6 +88,17 @@ public class CalendarEvent {
     @Column(name = "conflict_detected")
     private Boolean conflictDetected;
 
+    // Poll interval derived from the event's change history, before budget scaling
+    @Column(name = "poll_interval_seconds")
+    private Integer pollIntervalSeconds;
+
+    @Column(name = "next_poll_at")
+    private LocalDateTime nextPollAt;
+
+    // When the current conflict was first flagged; cleared once it is resolved
+    @Column(name = "conflict_detected_at")
+    private LocalDateTime conflictDetectedAt;
+
     @Column(name = "conflict_resolution_strategy")
     @Enumerated(EnumType.STRING)
     private ConflictResolutionStrategy conflictResolutionStrategy;
@@ -71,14 +109,25 @@ public class CalendarEvent {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        syncStatus = SyncStatus.IN_SYNC;
-        conflictDetected = false;
-        conflictResolutionStrategy = ConflictResolutionStrategy.TASK_WINS;
+        // Defaults only; a link created mid-edit is persisted SYNC_PENDING and must stay so
+        if (syncStatus == null) {
+            syncStatus = SyncStatus.IN_SYNC;
+        }
+        if (conflictDetected == null) {
+            conflictDetected = false;
+        }
+        if (conflictResolutionStrategy == null) {
+            conflictResolutionStrategy = ConflictResolutionStrategy.TASK_WINS;
+        }
     }
 
     @PreUpdate
@@ -93,6 +142,25 @@ public class CalendarEvent {
     public boolean isCalendarModifiedSinceSync(){
         return calendarLastModifiedAt != null && calendarLastModifiedAt.isAfter(lastSyncedAt);
     }
+    /**
+     * Records the outcome of a successful sync: the task content as the new merge base, and the
+     * fingerprints and event ETag each side has now.
+     */
+    public void recordSyncedContent(Task task, long eventFingerprint, String eventEtag) {
+        this.taskFingerprint = task.computeContentFingerprint();
+        this.eventFingerprint = eventFingerprint;
+        this.eventEtag = eventEtag;
+        this.baseTitle = task.getTitle();
+        this.baseDescription = task.getDescription();
+        this.baseDueDate = task.getDueDate();
+        this.baseCompleted = task.getStatus() == TaskStatus.COMPLETED;
+    }
+
+    public boolean hasBaseSnapshot() {
+        // A task always has a title, so a recorded base always has one too
+        return baseTitle != null;
+    }
+
     public boolean hasConflict(){
         return isModifiedSinceSync() && isCalendarModifiedSinceSync();
     }
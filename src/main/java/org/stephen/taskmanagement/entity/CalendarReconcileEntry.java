@@ -0,0 +1,39 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One Google event staged by a reconciliation job. Google lists events in no useful order, so
+ * the listing is written here and read back sorted by event ID for the merge with our links.
+ * Rows only live for the duration of the job.
+ */
+@Entity
+@Table(name = "calendar_reconcile_entries", indexes = {
+        @Index(name = "idx_reconcile_entries_job_event", columnList = "job_id, event_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarReconcileEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @Column(name = "etag")
+    private String etag;
+
+    // Task we created the event for; only set once the event is past the leak grace period
+    @Column(name = "owned_task_id")
+    private Long ownedTaskId;
+}
@@ -0,0 +1,52 @@
+package org.stephen.taskmanagement.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 64-bit hash of the content that calendar sync mirrors between a task and its event: title,
+ * description, due date at second precision (Google's precision) and whether it is done.
+ * Both sides are hashed from the same projection, so a task and an event that agree have the
+ * same fingerprint, and a side has changed since the last sync exactly when its fingerprint
+ * differs from the one recorded then.
+ */
+public final class ContentFingerprint {
+
+    private ContentFingerprint() {
+    }
+
+    public static long of(String title, String description, LocalDateTime dueDate, boolean completed) {
+        MessageDigest digest = sha256();
+        update(digest, title);
+        update(digest, description);
+        update(digest, dueDate != null
+                ? String.valueOf(dueDate.truncatedTo(ChronoUnit.SECONDS).toEpochSecond(ZoneOffset.UTC))
+                : null);
+        digest.update((byte) (completed ? 1 : 0));
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    // Length-prefixed so that ("ab", "c") and ("a", "bc") hash differently, with -1 marking null
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
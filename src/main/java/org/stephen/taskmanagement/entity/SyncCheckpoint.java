@@ -0,0 +1,52 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.stephen.taskmanagement.enums.SyncRunStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(columnNames = "run_name", name = "uk_sync_checkpoint_run_name")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_name", nullable = false)
+    private String runName;
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private SyncRunStatus status;
+
+    @Column(name = "last_processed_id")
+    private Long lastProcessedId;
+
+    @Column(name = "processed_count")
+    private Long processedCount;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -10,7 +10,9 @@ import org.stephen.taskmanagement.enums.SyncType;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sync_history")
+@Table(name = "sync_history", indexes = {
+        @Index(name = "idx_sync_history_event_synced_at", columnList = "calendar_event_id, synced_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,6 +42,10 @@ public class SyncHistory {
     @Column(name = "changes_applied", columnDefinition = "TEXT")
     private String changesApplied; // JSON serialized changes
 
+    // Set on pulls: whether the event was edited in Google since the previous pull
+    @Column(name = "calendar_changed")
+    private Boolean calendarChanged;
+
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
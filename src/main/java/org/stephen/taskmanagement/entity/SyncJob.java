@@ -0,0 +1,98 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SyncJobType jobType;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SyncJobStatus status;
+
+    @Column(name = "sync_direction")
+    @Enumerated(EnumType.STRING)
+    private SyncDirection syncDirection;
+
+    @Column(name = "conflicted_only")
+    private Boolean conflictedOnly;
+
+    /** Calendar walked by reconciliation jobs. */
+    @Column(name = "calendar_id")
+    private String calendarId;
+
+    /** Whether a reconciliation job repairs what it finds or only reports it. */
+    @Column(name = "repair")
+    private Boolean repair;
+
+    /** Strategy applied by conflict resolution jobs. */
+    @Column(name = "resolution_strategy")
+    @Enumerated(EnumType.STRING)
+    private ConflictResolutionStrategy resolutionStrategy;
+
+    @Column(name = "total_items", nullable = false)
+    private Integer totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private Integer processedItems;
+
+    @Column(name = "successful_items", nullable = false)
+    private Integer successfulItems;
+
+    @Column(name = "failed_items", nullable = false)
+    private Integer failedItems;
+
+    @Column(name = "skipped_items", nullable = false)
+    private Integer skippedItems;
+
+    /** Incremented on every resume so a runner left over from an earlier attempt stops on its next chunk. */
+    @Column(name = "attempt", nullable = false)
+    private Integer attempt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+import org.stephen.taskmanagement.enums.SyncStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_job_items", indexes = {
+        @Index(name = "idx_sync_job_items_job_status", columnList = "job_id, status, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SyncJobItemStatus status;
+
+    @Column(name = "event_id")
+    private String eventId;
+
+    @Column(name = "sync_status")
+    @Enumerated(EnumType.STRING)
+    private SyncStatus syncStatus;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,31 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease held by one node at a time, e.g. leadership of the cluster-wide sweeps.
+ * The holder renews it before it expires; anyone may take it over afterwards.
+ */
+@Entity
+@Table(name = "sync_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncLease {
+
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "holder", nullable = false)
+    private String holder;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A running API replica. Rows are kept fresh by heartbeats; a node whose heartbeat is older
+ * than the node TTL is treated as gone and its share of the work moves to the others.
+ */
+@Entity
+@Table(name = "sync_nodes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncNode {
+
+    @Id
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
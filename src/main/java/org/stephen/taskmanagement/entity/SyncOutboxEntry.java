@@ -0,0 +1,53 @@
+package org.stephen.taskmanagement.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.stephen.taskmanagement.enums.SyncType;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_outbox", indexes = {
+        @Index(name = "idx_sync_outbox_task_id", columnList = "task_id"),
+        @Index(name = "idx_sync_outbox_priority", columnList = "priority, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "calendar_event_id", nullable = false)
+    private Long calendarEventId;
+
+    @Column(name = "calendar_id", nullable = false)
+    private String calendarId;
+
+    @Column(name = "sync_type")
+    @Enumerated(EnumType.STRING)
+    private SyncType syncType;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    /** {@link org.stephen.taskmanagement.enums.SyncPriority} ordinal at capture, lower drains first. */
+    @Column(name = "priority")
+    private Integer priority;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
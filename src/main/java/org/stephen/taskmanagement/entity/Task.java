@@ -41,6 +41,10 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @OneToOne(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private CalendarEvent calendarEvent;
 
@@ -50,6 +54,10 @@ public class Task {
     @Column(name = "calendar_synced_at")
     private LocalDateTime calendarSyncedAt;
 
+    // Kept current on every write so change detection can compare it with the event in SQL
+    @Column(name = "content_fingerprint")
+    private Long contentFingerprint;
+
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE},fetch = FetchType.LAZY)
     @JoinTable(
             name = "task_tags",
@@ -63,11 +71,17 @@ public class Task {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        contentFingerprint = computeContentFingerprint();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        contentFingerprint = computeContentFingerprint();
+    }
+
+    public long computeContentFingerprint() {
+        return ContentFingerprint.of(title, description, dueDate, status == TaskStatus.COMPLETED);
     }
 
     public void addTag(Tag tag) {
@@ -0,0 +1,7 @@
+package org.stephen.taskmanagement.enums;
+
+public enum RetryStatus {
+    PENDING,
+    IN_PROGRESS,
+    DEAD_LETTER
+}
@@ -0,0 +1,8 @@
+package org.stephen.taskmanagement.enums;
+
+public enum SyncJobItemStatus {
+    PENDING,
+    SUCCEEDED,
+    FAILED,
+    SKIPPED
+}
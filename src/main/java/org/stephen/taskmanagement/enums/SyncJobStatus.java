@@ -0,0 +1,9 @@
+package org.stephen.taskmanagement.enums;
+
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package org.stephen.taskmanagement.enums;
+
+public enum SyncJobType {
+    BULK_SYNC,
+    FULL_SYNC,
+    BULK_RESOLVE,
+    RECONCILE
+}
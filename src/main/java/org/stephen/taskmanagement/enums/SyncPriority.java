@@ -0,0 +1,11 @@
+package org.stephen.taskmanagement.enums;
+
+/**
+ * Dispatch class of a pending push, most urgent first. The ordinal is stored and sorted on.
+ */
+public enum SyncPriority {
+    IMMEDIATE,
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,6 @@
+package org.stephen.taskmanagement.enums;
+
+public enum SyncRunStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,16 @@
+package org.stephen.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CalendarUnavailableException extends ApplicationException {
+    private final long retryAfterSeconds;
+
+    public CalendarUnavailableException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
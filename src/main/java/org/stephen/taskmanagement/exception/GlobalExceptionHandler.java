@@ -1,5 +1,7 @@
 package org.stephen.taskmanagement.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -43,6 +45,24 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getHttpStatus(), ex.getMessage(), request, null);
     }
 
+    @ExceptionHandler(CalendarUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleCalendarUnavailable(
+            CalendarUnavailableException ex,
+            WebRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getHttpStatus(), ex.getMessage(), request, null);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            WebRequest request) {
+        return buildErrorResponse(HttpStatus.CONFLICT,
+                "The task was modified concurrently, please retry", request, null);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -21,6 +21,8 @@ public interface TaskMapper {
     @Mapping(target = "id",ignore = true)
     @Mapping(target = "createdAt",ignore = true)
     @Mapping(target = "updatedAt",ignore = true)
+    @Mapping(target = "version",ignore = true)
+    @Mapping(target = "contentFingerprint",ignore = true)
     @Mapping(target = "tags",ignore = true)
     Task toEntity(CreateTaskRequestDto request);
 
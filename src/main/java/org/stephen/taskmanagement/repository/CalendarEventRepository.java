@@ -1,12 +1,18 @@
 package org.stephen.taskmanagement.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.dto.PollTarget;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
 import org.stephen.taskmanagement.entity.CalendarEvent;
 import org.stephen.taskmanagement.enums.SyncStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +28,102 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
     @Query("SELECT ce FROM CalendarEvent ce WHERE ce.conflictDetected = true")
     List<CalendarEvent> findConflictedEvents();
 
+    @Query("SELECT new org.stephen.taskmanagement.dto.SyncWorkItem(ce.id, t.id, ce.calendarId) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE ce.syncStatus = :syncStatus AND t.calendarSyncEnabled = true AND ce.id > :afterId " +
+            "ORDER BY ce.id")
+    List<SyncWorkItem> findSyncWorkItemsBySyncStatus(@Param("syncStatus") SyncStatus syncStatus,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    /**
+     * Pending events with no outbox entry left to drain, e.g. because a node died between claiming and pushing.
+     */
+    @Query("SELECT new org.stephen.taskmanagement.dto.SyncWorkItem(ce.id, t.id, ce.calendarId) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE ce.syncStatus = org.stephen.taskmanagement.enums.SyncStatus.SYNC_PENDING " +
+            "AND t.calendarSyncEnabled = true AND ce.id > :afterId " +
+            "AND NOT EXISTS (SELECT o.id FROM SyncOutboxEntry o WHERE o.taskId = t.id) " +
+            "ORDER BY ce.id")
+    List<SyncWorkItem> findStrandedPendingSyncWorkItems(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new org.stephen.taskmanagement.dto.SyncWorkItem(ce.id, t.id, ce.calendarId) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE ce.conflictDetected = true AND t.calendarSyncEnabled = true AND ce.id > :afterId " +
+            "ORDER BY ce.id")
+    List<SyncWorkItem> findConflictedSyncWorkItems(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new org.stephen.taskmanagement.dto.SyncWorkItem(ce.id, t.id, ce.calendarId) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE t.calendarSyncEnabled = true AND ce.id > :afterId " +
+            "ORDER BY ce.id")
+    List<SyncWorkItem> findSyncEnabledWorkItems(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Synced events in the given partitions due for a poll before {@code until}, never-polled
+     * events first. An event's partition is its ID modulo {@code partitionCount}.
+     */
+    @Query("SELECT new org.stephen.taskmanagement.dto.PollTarget(ce.id, t.id, ce.calendarId, ce.nextPollAt) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE t.calendarSyncEnabled = true AND (ce.nextPollAt IS NULL OR ce.nextPollAt < :until) " +
+            "AND MOD(ce.id, :partitionCount) IN :partitions " +
+            "ORDER BY ce.nextPollAt ASC NULLS FIRST, ce.id")
+    List<PollTarget> findPollTargetsDueBefore(@Param("until") LocalDateTime until,
+                                              @Param("partitionCount") Long partitionCount,
+                                              @Param("partitions") Collection<Long> partitions,
+                                              Pageable pageable);
+
+    /**
+     * Polls per second all synced events ask for at their unscaled intervals; events without one
+     * count at {@code defaultIntervalSeconds}.
+     */
+    @Query("SELECT COALESCE(SUM(1.0 / COALESCE(ce.pollIntervalSeconds, :defaultIntervalSeconds)), 0) " +
+            "FROM CalendarEvent ce JOIN ce.task t WHERE t.calendarSyncEnabled = true")
+    double sumPollRate(@Param("defaultIntervalSeconds") int defaultIntervalSeconds);
+
+    /**
+     * Scheduling metadata only, so it neither bumps the version nor races the sync writes.
+     */
+    @Modifying
+    @Query("UPDATE CalendarEvent ce SET ce.pollIntervalSeconds = :intervalSeconds, ce.nextPollAt = :nextPollAt " +
+            "WHERE ce.id = :id")
+    int updatePollSchedule(@Param("id") Long id,
+                           @Param("intervalSeconds") int intervalSeconds,
+                           @Param("nextPollAt") LocalDateTime nextPollAt);
+
+    @Query("SELECT COUNT(ce) FROM CalendarEvent ce JOIN ce.task t WHERE t.calendarSyncEnabled = true")
+    long countSyncEnabled();
+
+    @Query("SELECT new org.stephen.taskmanagement.dto.SyncWorkItem(ce.id, t.id, ce.calendarId) " +
+            "FROM CalendarEvent ce JOIN ce.task t " +
+            "WHERE t.id IN :taskIds AND t.calendarSyncEnabled = true " +
+            "AND (:conflictedOnly = false OR ce.conflictDetected = true)")
+    List<SyncWorkItem> findSyncWorkItemsByTaskIds(@Param("taskIds") Collection<Long> taskIds,
+                                                  @Param("conflictedOnly") boolean conflictedOnly);
+
     @Query("SELECT ce FROM CalendarEvent ce WHERE ce.calendarId = :calendarId")
     List<CalendarEvent> findByCalendarId(@Param("calendarId") String calendarId);
 
+    @Query("SELECT ce FROM CalendarEvent ce JOIN FETCH ce.task t " +
+            "WHERE ce.conflictDetected = true AND t.calendarSyncEnabled = true ORDER BY ce.id")
+    List<CalendarEvent> findConflictedWithTask(Pageable pageable);
+
     @Query("SELECT COUNT(ce) FROM CalendarEvent ce WHERE ce.conflictDetected = true")
     Long countConflictedEvents();
 
     @Query("SELECT ce FROM CalendarEvent ce LEFT JOIN FETCH ce.task WHERE ce.id = :id")
     Optional<CalendarEvent> findByIdWithTask(@Param("id") Long id);
+
+    /**
+     * Flags in-sync events whose task content no longer matches the fingerprint recorded at the
+     * last sync, in one statement. Links without a fingerprint yet are left to the regular sync.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CalendarEvent ce SET ce.syncStatus = org.stephen.taskmanagement.enums.SyncStatus.SYNC_PENDING, " +
+            "ce.version = ce.version + 1 " +
+            "WHERE ce.syncStatus = org.stephen.taskmanagement.enums.SyncStatus.IN_SYNC " +
+            "AND ce.taskFingerprint IS NOT NULL " +
+            "AND EXISTS (SELECT t.id FROM Task t WHERE t = ce.task AND t.calendarSyncEnabled = true " +
+            "AND t.contentFingerprint <> ce.taskFingerprint)")
+    int markChangedTasksPending();
 }
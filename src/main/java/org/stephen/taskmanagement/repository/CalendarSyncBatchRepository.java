@@ -0,0 +1,116 @@
+package org.stephen.taskmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.SyncType;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writes for linking and unlinking many tasks at once. Each method is a single
+ * transaction issuing one batched statement per table instead of several saves per task.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CalendarSyncBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the calendar events with their INITIAL_SYNC history rows and flags the tasks as synced.
+     */
+    @Transactional
+    public void insertLinks(List<CalendarEvent> calendarEvents) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO calendar_events (task_id, event_id, calendar_id, event_title, event_description, " +
+                        "event_start_time, event_end_time, sync_status, conflict_detected, conflict_resolution_strategy, " +
+                        "task_last_modified_at, calendar_last_modified_at, last_synced_at, task_fingerprint, " +
+                        "event_fingerprint, event_etag, base_title, base_description, base_due_date, base_completed, " +
+                        "created_at, updated_at, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                calendarEvents,
+                calendarEvents.size(),
+                (ps, event) -> {
+                    ps.setLong(1, event.getTask().getId());
+                    ps.setString(2, event.getEventId());
+                    ps.setString(3, event.getCalendarId());
+                    ps.setString(4, event.getEventTitle());
+                    ps.setString(5, event.getEventDescription());
+                    ps.setTimestamp(6, toTimestamp(event.getEventStartTime()));
+                    ps.setTimestamp(7, toTimestamp(event.getEventEndTime()));
+                    ps.setString(8, event.getSyncStatus().name());
+                    ps.setBoolean(9, event.getConflictDetected());
+                    ps.setString(10, event.getConflictResolutionStrategy().name());
+                    ps.setTimestamp(11, toTimestamp(event.getTaskLastModifiedAt()));
+                    ps.setTimestamp(12, toTimestamp(event.getCalendarLastModifiedAt()));
+                    ps.setTimestamp(13, toTimestamp(event.getLastSyncedAt()));
+                    ps.setObject(14, event.getTaskFingerprint(), Types.BIGINT);
+                    ps.setObject(15, event.getEventFingerprint(), Types.BIGINT);
+                    ps.setString(16, event.getEventEtag());
+                    ps.setString(17, event.getBaseTitle());
+                    ps.setString(18, event.getBaseDescription());
+                    ps.setTimestamp(19, toTimestamp(event.getBaseDueDate()));
+                    ps.setObject(20, event.getBaseCompleted(), Types.BOOLEAN);
+                    ps.setTimestamp(21, now);
+                    ps.setTimestamp(22, now);
+                });
+
+        // History rows reference the generated ids, looked up by the unique event id
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sync_history (calendar_event_id, sync_type, sync_direction, status, synced_at) " +
+                        "SELECT ce.id, ?, ?, ?, ? FROM calendar_events ce WHERE ce.event_id = ?",
+                calendarEvents,
+                calendarEvents.size(),
+                (ps, event) -> {
+                    ps.setString(1, SyncType.INITIAL_SYNC.name());
+                    ps.setString(2, SyncDirection.TASK_TO_CALENDAR.name());
+                    ps.setString(3, SyncStatus.IN_SYNC.name());
+                    ps.setTimestamp(4, now);
+                    ps.setString(5, event.getEventId());
+                });
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE task SET calendar_sync_enabled = TRUE, calendar_synced_at = ?, " +
+                        "content_fingerprint = COALESCE(content_fingerprint, ?), version = version + 1 WHERE id = ?",
+                calendarEvents,
+                calendarEvents.size(),
+                (ps, event) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setObject(2, event.getTaskFingerprint(), Types.BIGINT);
+                    ps.setLong(3, event.getTask().getId());
+                });
+    }
+
+    /**
+     * Removes the calendar events together with their history and any queued sync work,
+     * and flags the tasks as no longer synced.
+     */
+    @Transactional
+    public void deleteLinks(List<CalendarEvent> calendarEvents) {
+        batchById("DELETE FROM sync_history WHERE calendar_event_id = ?", calendarEvents, false);
+        batchById("DELETE FROM calendar_events WHERE id = ?", calendarEvents, false);
+        batchById("DELETE FROM sync_retry_queue WHERE task_id = ?", calendarEvents, true);
+        batchById("DELETE FROM sync_outbox WHERE task_id = ?", calendarEvents, true);
+        batchById("UPDATE task SET calendar_sync_enabled = FALSE, calendar_synced_at = NULL, version = version + 1 " +
+                        "WHERE id = ?",
+                calendarEvents, true);
+    }
+
+    private void batchById(String sql, List<CalendarEvent> calendarEvents, boolean byTaskId) {
+        jdbcTemplate.batchUpdate(sql, calendarEvents, calendarEvents.size(),
+                (ps, event) -> ps.setLong(1, byTaskId ? event.getTask().getId() : event.getId()));
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -0,0 +1,69 @@
+package org.stephen.taskmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Node membership and leases. Every timestamp comes from the database clock, so nodes with
+ * skewed clocks still agree on who is alive and when a lease runs out. Each statement commits
+ * on its own: a heartbeat or a lease renewal must never wait on, or roll back with, other work.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClusterRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void heartbeat(String nodeId) {
+        int updated = jdbcTemplate.update("UPDATE sync_nodes SET heartbeat_at = LOCALTIMESTAMP WHERE node_id = ?",
+                nodeId);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO sync_nodes (node_id, started_at, heartbeat_at) " +
+                    "VALUES (?, LOCALTIMESTAMP, LOCALTIMESTAMP)", nodeId);
+        }
+    }
+
+    public List<String> findLiveNodeIds(int ttlSeconds) {
+        return jdbcTemplate.queryForList("SELECT node_id FROM sync_nodes " +
+                "WHERE heartbeat_at >= LOCALTIMESTAMP - ? * INTERVAL '1 second' ORDER BY node_id",
+                String.class, ttlSeconds);
+    }
+
+    public int deleteSilentNodes(int ttlSeconds) {
+        return jdbcTemplate.update("DELETE FROM sync_nodes WHERE heartbeat_at < LOCALTIMESTAMP - ? * INTERVAL '1 second'",
+                ttlSeconds);
+    }
+
+    public void deleteNode(String nodeId) {
+        jdbcTemplate.update("DELETE FROM sync_nodes WHERE node_id = ?", nodeId);
+    }
+
+    /**
+     * Takes or renews the lease. Succeeds when the lease is free, expired or already ours;
+     * of two nodes racing for an expired lease, only one update matches.
+     */
+    public boolean tryAcquireLease(String name, String holder, int leaseSeconds) {
+        int updated = jdbcTemplate.update("UPDATE sync_leases " +
+                        "SET holder = ?, expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second' " +
+                        "WHERE name = ? AND (holder = ? OR expires_at < LOCALTIMESTAMP)",
+                holder, leaseSeconds, name, holder);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO sync_leases (name, holder, expires_at) " +
+                    "VALUES (?, ?, LOCALTIMESTAMP + ? * INTERVAL '1 second')", name, holder, leaseSeconds);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Held by another node
+            return false;
+        }
+    }
+
+    public void releaseLease(String name, String holder) {
+        jdbcTemplate.update("DELETE FROM sync_leases WHERE name = ? AND holder = ?", name, holder);
+    }
+}
@@ -0,0 +1,14 @@
+package org.stephen.taskmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.entity.SyncCheckpoint;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, Long> {
+    Optional<SyncCheckpoint> findByRunName(String runName);
+
+    void deleteByRunName(String runName);
+}
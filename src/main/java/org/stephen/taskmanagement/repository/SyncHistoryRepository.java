@@ -9,6 +9,7 @@ import org.stephen.taskmanagement.entity.SyncHistory;
 import org.stephen.taskmanagement.enums.SyncDirection;
 import org.stephen.taskmanagement.enums.SyncStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -25,6 +26,11 @@ public interface SyncHistoryRepository extends JpaRepository<SyncHistory, Long>
     @Query("SELECT sh FROM SyncHistory sh WHERE sh.syncDirection = :syncDirection")
     List<SyncHistory> findBySyncDirection(@Param("syncDirection") SyncDirection syncDirection);
 
+    @Query("SELECT COUNT(sh) FROM SyncHistory sh " +
+            "WHERE sh.calendarEvent.id = :calendarEventId AND sh.calendarChanged = true AND sh.syncedAt >= :since")
+    long countCalendarChangesSince(@Param("calendarEventId") Long calendarEventId,
+                                   @Param("since") LocalDateTime since);
+
     @Query("SELECT COUNT(sh) FROM SyncHistory sh WHERE sh.syncStatus = 'SYNC_FAILED'")
     Long countFailedSyncs();
 }
@@ -0,0 +1,24 @@
+package org.stephen.taskmanagement.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.entity.SyncJobItem;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+
+import java.util.List;
+
+@Repository
+public interface SyncJobItemRepository extends JpaRepository<SyncJobItem, Long> {
+
+    @Query("SELECT i FROM SyncJobItem i WHERE i.jobId = :jobId AND i.status = :status " +
+            "AND i.id > :afterId ORDER BY i.id")
+    List<SyncJobItem> findByJobIdAndStatusAfter(@Param("jobId") Long jobId,
+                                                @Param("status") SyncJobItemStatus status,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    List<SyncJobItem> findByJobIdAndStatusNotOrderById(Long jobId, SyncJobItemStatus status, Pageable pageable);
+}
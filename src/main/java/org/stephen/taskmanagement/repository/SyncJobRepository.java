@@ -0,0 +1,80 @@
+package org.stephen.taskmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Job state changes are conditional updates so that a cancel from the API and
+ * progress from the runner never overwrite each other.
+ */
+@Repository
+public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
+
+    boolean existsByIdAndStatusAndAttempt(Long id, SyncJobStatus status, Integer attempt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.status = org.stephen.taskmanagement.enums.SyncJobStatus.RUNNING, " +
+            "j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now " +
+            "WHERE j.id = :jobId AND j.status = org.stephen.taskmanagement.enums.SyncJobStatus.QUEUED")
+    int markRunning(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.processedItems = j.processedItems + :processed, " +
+            "j.successfulItems = j.successfulItems + :succeeded, j.failedItems = j.failedItems + :failed, " +
+            "j.skippedItems = j.skippedItems + :skipped, j.updatedAt = :now WHERE j.id = :jobId")
+    int addProgress(@Param("jobId") Long jobId,
+                    @Param("processed") int processed,
+                    @Param("succeeded") int succeeded,
+                    @Param("failed") int failed,
+                    @Param("skipped") int skipped,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+            "j.completedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :jobId AND j.attempt = :attempt " +
+            "AND j.status = org.stephen.taskmanagement.enums.SyncJobStatus.RUNNING")
+    int finishAttempt(@Param("jobId") Long jobId,
+                      @Param("attempt") Integer attempt,
+                      @Param("status") SyncJobStatus status,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Fails queued or running jobs, or the given one, that have not been written since {@code staleBefore}.
+     * A stale queued job was never launched, e.g. because its node died right after creating it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.status = org.stephen.taskmanagement.enums.SyncJobStatus.FAILED, " +
+            "j.errorMessage = :errorMessage, j.completedAt = :now, j.updatedAt = :now " +
+            "WHERE (:jobId IS NULL OR j.id = :jobId) " +
+            "AND j.status IN (org.stephen.taskmanagement.enums.SyncJobStatus.QUEUED, " +
+            "org.stephen.taskmanagement.enums.SyncJobStatus.RUNNING) AND j.updatedAt < :staleBefore")
+    int failStale(@Param("jobId") Long jobId,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("errorMessage") String errorMessage,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.status = org.stephen.taskmanagement.enums.SyncJobStatus.CANCELLED, " +
+            "j.completedAt = :now, j.updatedAt = :now WHERE j.id = :jobId AND j.status IN :statuses")
+    int cancel(@Param("jobId") Long jobId,
+               @Param("statuses") Collection<SyncJobStatus> statuses,
+               @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SyncJob j SET j.status = org.stephen.taskmanagement.enums.SyncJobStatus.QUEUED, " +
+            "j.attempt = j.attempt + 1, j.errorMessage = NULL, j.completedAt = NULL, j.updatedAt = :now " +
+            "WHERE j.id = :jobId AND j.status IN :statuses")
+    int requeue(@Param("jobId") Long jobId,
+                @Param("statuses") Collection<SyncJobStatus> statuses,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package org.stephen.taskmanagement.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.entity.SyncOutboxEntry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncOutboxEntryRepository extends JpaRepository<SyncOutboxEntry, Long> {
+
+    /**
+     * Tasks whose edits have settled: no new entry within the debounce window, or the
+     * first pending edit is older than the max delay. Most urgent capture class first, then oldest;
+     * entries captured before classes were stored count as NORMAL.
+     */
+    @Query("SELECT o.taskId FROM SyncOutboxEntry o GROUP BY o.taskId " +
+            "HAVING MAX(o.createdAt) <= :settledBefore OR MIN(o.createdAt) <= :overdueBefore " +
+            "ORDER BY MIN(COALESCE(o.priority, 2)), MIN(o.id)")
+    List<Long> findReadyTaskIds(@Param("settledBefore") LocalDateTime settledBefore,
+                                @Param("overdueBefore") LocalDateTime overdueBefore,
+                                Pageable pageable);
+
+    /**
+     * Locks the outbox entries of the given tasks, skipping rows another node is already draining.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM SyncOutboxEntry o WHERE o.taskId IN :taskIds ORDER BY o.id")
+    List<SyncOutboxEntry> findByTaskIdsForUpdate(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,47 @@
+package org.stephen.taskmanagement.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.stephen.taskmanagement.entity.SyncRetryEntry;
+import org.stephen.taskmanagement.enums.RetryStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SyncRetryEntryRepository extends JpaRepository<SyncRetryEntry, Long> {
+    Optional<SyncRetryEntry> findByTaskId(Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM SyncRetryEntry r WHERE r.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    /**
+     * Locks due entries, skipping rows another node has already locked (FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM SyncRetryEntry r WHERE r.status = 'PENDING' AND r.nextAttemptAt <= :now " +
+            "ORDER BY r.nextAttemptAt")
+    List<SyncRetryEntry> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE SyncRetryEntry r SET r.status = 'PENDING', r.claimedAt = null " +
+            "WHERE r.status = 'IN_PROGRESS' AND r.claimedAt < :staleBefore")
+    int releaseStaleClaims(@Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT r FROM SyncRetryEntry r WHERE r.status = :status ORDER BY r.updatedAt DESC")
+    List<SyncRetryEntry> findByStatus(@Param("status") RetryStatus status, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM SyncRetryEntry r WHERE r.status = :status")
+    Long countByStatus(@Param("status") RetryStatus status);
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import org.stephen.taskmanagement.entity.Task;
 import org.stephen.taskmanagement.enums.TaskStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,5 +29,8 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.tags")
     List<Task> findAllWithTags();
 
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.calendarEvent WHERE t.id IN :ids")
+    List<Task> findAllByIdWithCalendarEvent(@Param("ids") Collection<Long> ids);
+
 
 }
@@ -0,0 +1,197 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.AdaptivePollProperties;
+import org.stephen.taskmanagement.dto.PollTarget;
+import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.SyncHistoryRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pulls calendar events at intervals adapted to how often each one is edited in Google.
+ * <p>
+ * An event's interval comes from the calendar edits its pulls recorded in {@code sync_history}
+ * over the history window: spread {@code pollsPerChange} polls over the expected time between
+ * edits, clamped to the configured bounds. All intervals are then scaled by one factor so that
+ * the total poll rate matches {@code callsPerMinute}: with many hot events everyone is polled a
+ * little less often, with few events the budget is spent polling them sooner.
+ * <p>
+ * Polls due within the wheel's horizon are loaded from the database into a {@link TimingWheel}
+ * and dispatched tick by tick, at most one tick's share of the budget at a time. Anything the
+ * budget cuts off stays in the wheel for the next tick.
+ * <p>
+ * In a cluster each node only loads the partitions the {@link ClusterCoordinator} assigns to it
+ * and spends the matching share of the budget. When the assignment changes the wheel is reloaded
+ * right away, and polls for partitions that moved to another node are dropped when they expire.
+ */
+@Component
+@Slf4j
+public class AdaptivePollScheduler {
+    private final CalendarSyncService calendarSyncService;
+    private final CalendarSyncStateService syncStateService;
+    private final CalendarEventRepository calendarEventRepository;
+    private final SyncHistoryRepository syncHistoryRepository;
+    private final SyncWorkerPool syncWorkerPool;
+    private final ClusterCoordinator clusterCoordinator;
+    private final AdaptivePollProperties pollProperties;
+    private final Counter dispatchedCounter;
+    private final Timer lagTimer;
+    private final AtomicReference<Double> scale = new AtomicReference<>(1.0);
+
+    private TimingWheel<PollTarget> wheel;
+    private final Set<Long> wheeled = new HashSet<>();
+    private long nextReloadAtMillis;
+    private long loadedRingVersion = -1;
+
+    public AdaptivePollScheduler(CalendarSyncService calendarSyncService,
+                                 CalendarSyncStateService syncStateService,
+                                 CalendarEventRepository calendarEventRepository,
+                                 SyncHistoryRepository syncHistoryRepository,
+                                 SyncWorkerPool syncWorkerPool,
+                                 ClusterCoordinator clusterCoordinator,
+                                 AdaptivePollProperties pollProperties,
+                                 MeterRegistry meterRegistry) {
+        this.calendarSyncService = calendarSyncService;
+        this.syncStateService = syncStateService;
+        this.calendarEventRepository = calendarEventRepository;
+        this.syncHistoryRepository = syncHistoryRepository;
+        this.syncWorkerPool = syncWorkerPool;
+        this.clusterCoordinator = clusterCoordinator;
+        this.pollProperties = pollProperties;
+        this.dispatchedCounter = meterRegistry.counter("calendar.sync.poll.dispatched");
+        // How late polls go out against their due time; grows when the budget is too small
+        this.lagTimer = meterRegistry.timer("calendar.sync.poll.lag");
+        meterRegistry.gauge("calendar.sync.poll.scale", scale, AtomicReference::get);
+        meterRegistry.gauge("calendar.sync.poll.wheeled", wheeled, Set::size);
+    }
+
+    /**
+     * Dispatches the polls due this tick, reloading the wheel from the database when it is time.
+     */
+    public synchronized void tick() {
+        long now = System.currentTimeMillis();
+        if (wheel == null) {
+            wheel = new TimingWheel<>(pollProperties.getTickMs(), pollProperties.getWheelSlots(), now);
+        }
+        long ringVersion = clusterCoordinator.ringVersion();
+        if (now >= nextReloadAtMillis || ringVersion != loadedRingVersion) {
+            loadedRingVersion = ringVersion;
+            reload(now);
+            nextReloadAtMillis = now + pollProperties.getReloadIntervalMs();
+        }
+
+        List<PollTarget> expired = wheel.expire(now, callsPerTick());
+        expired.forEach(target -> wheeled.remove(target.calendarEventId()));
+        // Partitions handed to another node since loading are polled there
+        List<PollTarget> due = expired.stream()
+                .filter(target -> clusterCoordinator.owns(target.calendarEventId()))
+                .toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        LocalDateTime dispatchedAt = toLocalDateTime(now);
+        due.forEach(target -> {
+            if (target.nextPollAt() != null && target.nextPollAt().isBefore(dispatchedAt)) {
+                lagTimer.record(Duration.between(target.nextPollAt(), dispatchedAt));
+            }
+        });
+        dispatchedCounter.increment(due.size());
+
+        Map<Long, PollTarget> targetsByEvent = due.stream()
+                .collect(Collectors.toMap(PollTarget::calendarEventId, Function.identity()));
+        syncWorkerPool.execute("adaptive-poll", due.stream().map(PollTarget::toWorkItem).toList(),
+                item -> poll(targetsByEvent.get(item.calendarEventId())));
+    }
+
+    private void reload(long now) {
+        double demand = calendarEventRepository.sumPollRate(pollProperties.getMaxIntervalSeconds());
+        double budget = pollProperties.getCallsPerMinute() / 60.0;
+        scale.set(demand > 0 ? demand / budget : 1.0);
+
+        // The wheel never holds more than it can dispatch within one turn
+        int capacity = callsPerTick() * pollProperties.getWheelSlots() - wheeled.size();
+        Set<Long> partitions = clusterCoordinator.ownedPartitions();
+        if (capacity <= 0 || partitions.isEmpty()) {
+            return;
+        }
+        LocalDateTime until = toLocalDateTime(now + wheel.horizonMillis());
+        int loaded = 0;
+        List<PollTarget> targets = calendarEventRepository.findPollTargetsDueBefore(until,
+                (long) clusterCoordinator.getPartitionCount(), partitions, PageRequest.of(0, capacity));
+        for (PollTarget target : targets) {
+            if (wheeled.contains(target.calendarEventId())) {
+                continue;
+            }
+            long dueMillis = target.nextPollAt() != null ? toEpochMillis(target.nextPollAt()) : now;
+            if (wheel.schedule(target, dueMillis)) {
+                wheeled.add(target.calendarEventId());
+                loaded++;
+            }
+        }
+        log.debug("Loaded {} polls into the wheel ({} waiting), interval scale {}", loaded, wheel.size(), scale.get());
+    }
+
+    private void poll(PollTarget target) {
+        try {
+            calendarSyncService.syncCalendarToTask(target.taskId());
+        } finally {
+            // Also after a failure, so a broken event is not polled again on every tick
+            reschedule(target.calendarEventId());
+        }
+    }
+
+    private void reschedule(Long calendarEventId) {
+        LocalDateTime now = LocalDateTime.now();
+        long changes = syncHistoryRepository.countCalendarChangesSince(calendarEventId,
+                now.minusDays(pollProperties.getHistoryWindowDays()));
+        int intervalSeconds = intervalFor(changes);
+        // Only the lower bound holds after scaling; past the upper one the budget wins
+        long scaledSeconds = Math.max(pollProperties.getMinIntervalSeconds(), Math.round(intervalSeconds * scale.get()));
+        syncStateService.schedulePoll(calendarEventId, intervalSeconds, now.plusSeconds(scaledSeconds));
+    }
+
+    /**
+     * Unscaled interval for an event edited {@code changes} times within the history window.
+     */
+    int intervalFor(long changes) {
+        if (changes == 0) {
+            return pollProperties.getMaxIntervalSeconds();
+        }
+        long windowSeconds = Duration.ofDays(pollProperties.getHistoryWindowDays()).toSeconds();
+        return (int) clamp(windowSeconds / (changes * pollProperties.getPollsPerChange()));
+    }
+
+    private long clamp(long seconds) {
+        return Math.max(pollProperties.getMinIntervalSeconds(), Math.min(seconds, pollProperties.getMaxIntervalSeconds()));
+    }
+
+    private int callsPerTick() {
+        // The budget is cluster-wide; each node spends its partitions' share of it
+        double callsPerMinute = pollProperties.getCallsPerMinute() * clusterCoordinator.share();
+        return (int) Math.max(1, callsPerMinute * pollProperties.getTickMs() / 60_000);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
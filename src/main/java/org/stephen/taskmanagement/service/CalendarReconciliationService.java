@@ -0,0 +1,352 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.stephen.taskmanagement.config.SyncJobProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.entity.SyncJobItem;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Finds links and Google events that have drifted apart: links whose event is gone, events we
+ * created that no link points to any more, and events changed in Google since their last sync.
+ * <p>
+ * Google lists events in no order we can ask for, so the listing is first staged in
+ * {@code calendar_reconcile_entries}. Both sides are then read back sorted by event ID one
+ * keyset page at a time and walked like a merge join, which keeps memory at one page per side
+ * however large the calendar is.
+ * <p>
+ * The listing includes cancelled events, as completed tasks keep their event as cancelled. A
+ * cancelled event still matches its link, but without one it is never taken for a leak.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarReconciliationService {
+    private static final String CANCELLED = "cancelled";
+
+    private final GoogleCalendarGateway googleCalendarGateway;
+    private final CalendarSyncService calendarSyncService;
+    private final CalendarSyncBatchRepository calendarSyncBatchRepository;
+    private final SyncWorkerPool syncWorkerPool;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncJobProperties jobProperties;
+
+    enum Finding {
+        ORPHANED_LINK,
+        LEAKED_EVENT,
+        DRIFTED
+    }
+
+    /**
+     * Reconciles the job's calendar and hands the findings to {@code record} in chunks.
+     * Stops early when {@code record} returns false.
+     */
+    public void reconcile(SyncJob job, Predicate<List<SyncJobItem>> record) throws IOException {
+        String calendarId = job.getCalendarId();
+        clearStaged(job.getId());
+        try {
+            // Links created after this point may not be in the listing yet, so they are left out
+            LocalDateTime listingStartedAt = LocalDateTime.now();
+            int staged = stageListing(job.getId(), calendarId, listingStartedAt);
+            log.info("Reconcile job {} staged {} events of calendar {}", job.getId(), staged, calendarId);
+
+            merge(job, listingStartedAt, record);
+        } finally {
+            clearStaged(job.getId());
+        }
+    }
+
+    private int stageListing(Long jobId, String calendarId, LocalDateTime listingStartedAt) throws IOException {
+        long ownedBefore = listingStartedAt.minusMinutes(jobProperties.getReconcileGraceMinutes())
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int staged = 0;
+        String pageToken = null;
+        do {
+            Events page = googleCalendarGateway.listEventIds(calendarId, pageToken);
+            List<Event> items = page.getItems() != null ? page.getItems() : List.of();
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO calendar_reconcile_entries (job_id, event_id, etag, owned_task_id) VALUES (?, ?, ?, ?)",
+                    items,
+                    items.size(),
+                    (ps, event) -> {
+                        ps.setLong(1, jobId);
+                        ps.setString(2, event.getId());
+                        ps.setString(3, event.getEtag());
+                        // A young event of ours may belong to a link that is still being written,
+                        // and a cancelled one is already gone as far as the user is concerned
+                        DateTime created = event.getCreated();
+                        boolean pastGrace = created != null && created.getValue() < ownedBefore;
+                        boolean cancelled = CANCELLED.equals(event.getStatus());
+                        ps.setObject(4, pastGrace && !cancelled ? GoogleCalendarGateway.ownedTaskId(event) : null,
+                                Types.BIGINT);
+                    });
+            staged += items.size();
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null && !Thread.currentThread().isInterrupted());
+        return staged;
+    }
+
+    /**
+     * Walks both sides in event ID order. Both cursors compare with {@link String#compareTo}, so
+     * the queries sort with {@code COLLATE "C"} to get the same byte order from Postgres.
+     */
+    private void merge(SyncJob job, LocalDateTime listingStartedAt, Predicate<List<SyncJobItem>> record) {
+        int pageSize = jobProperties.getReconcilePageSize();
+        KeysetCursor<Link> links = new KeysetCursor<>(Link::eventId, after -> jdbcTemplate.query(
+                "SELECT id, task_id, event_id, event_etag FROM calendar_events " +
+                        "WHERE calendar_id = ? AND created_at < ? AND event_id COLLATE \"C\" > ? " +
+                        "ORDER BY event_id COLLATE \"C\" LIMIT ?",
+                (rs, rowNum) -> new Link(rs.getLong("id"), rs.getLong("task_id"),
+                        rs.getString("event_id"), rs.getString("event_etag")),
+                job.getCalendarId(), Timestamp.valueOf(listingStartedAt), after, pageSize));
+        KeysetCursor<Remote> remotes = new KeysetCursor<>(Remote::eventId, after -> jdbcTemplate.query(
+                "SELECT event_id, etag, owned_task_id FROM calendar_reconcile_entries " +
+                        "WHERE job_id = ? AND event_id COLLATE \"C\" > ? " +
+                        "ORDER BY event_id COLLATE \"C\" LIMIT ?",
+                (rs, rowNum) -> new Remote(rs.getString("event_id"), rs.getString("etag"),
+                        rs.getObject("owned_task_id", Long.class)),
+                job.getId(), after, pageSize));
+
+        Findings findings = new Findings(job, record);
+        while ((links.hasNext() || remotes.hasNext()) && !Thread.currentThread().isInterrupted()) {
+            int order = !links.hasNext() ? 1
+                    : !remotes.hasNext() ? -1
+                    : links.peek().eventId().compareTo(remotes.peek().eventId());
+            if (order < 0) {
+                findings.orphaned(links.next());
+            } else if (order > 0) {
+                Remote remote = remotes.next();
+                if (remote.ownedTaskId() != null) {
+                    findings.leaked(remote);
+                }
+            } else {
+                Link link = links.next();
+                Remote remote = remotes.next();
+                // Links synced before etags were recorded have nothing to compare against
+                if (link.etag() != null && !link.etag().equals(remote.etag())) {
+                    findings.drifted(link);
+                }
+            }
+            if (findings.isFull() && !findings.flush()) {
+                return;
+            }
+        }
+        findings.flush();
+    }
+
+    private void clearStaged(Long jobId) {
+        jdbcTemplate.update("DELETE FROM calendar_reconcile_entries WHERE job_id = ?", jobId);
+    }
+
+    /**
+     * Collects one chunk of findings, repairs them when the job asks for it and hands them on.
+     */
+    private final class Findings {
+        private final SyncJob job;
+        private final Predicate<List<SyncJobItem>> record;
+        private final boolean repair;
+        private final List<Link> orphaned = new ArrayList<>();
+        private final List<Remote> leaked = new ArrayList<>();
+        private final List<Link> drifted = new ArrayList<>();
+
+        Findings(SyncJob job, Predicate<List<SyncJobItem>> record) {
+            this.job = job;
+            this.record = record;
+            this.repair = Boolean.TRUE.equals(job.getRepair());
+        }
+
+        void orphaned(Link link) {
+            orphaned.add(link);
+        }
+
+        void leaked(Remote remote) {
+            leaked.add(remote);
+        }
+
+        void drifted(Link link) {
+            drifted.add(link);
+        }
+
+        boolean isFull() {
+            return orphaned.size() + leaked.size() + drifted.size() >= jobProperties.getItemBatchSize();
+        }
+
+        boolean flush() {
+            List<SyncJobItem> items = new ArrayList<>();
+            if (!orphaned.isEmpty()) {
+                items.addAll(repair ? unlinkOrphans() : report(orphaned, Finding.ORPHANED_LINK));
+            }
+            if (!leaked.isEmpty()) {
+                items.addAll(repair ? deleteLeaks() : reportLeaks());
+            }
+            if (!drifted.isEmpty()) {
+                items.addAll(repair ? pullDrifted() : report(drifted, Finding.DRIFTED));
+            }
+            orphaned.clear();
+            leaked.clear();
+            drifted.clear();
+            return items.isEmpty() || record.test(items);
+        }
+
+        private List<SyncJobItem> report(List<Link> links, Finding finding) {
+            return links.stream()
+                    .map(link -> item(link.taskId(), link.eventId(), SyncJobItemStatus.SKIPPED, null,
+                            finding + ": reported only"))
+                    .toList();
+        }
+
+        private List<SyncJobItem> reportLeaks() {
+            return leaked.stream()
+                    .map(remote -> item(remote.ownedTaskId(), remote.eventId(), SyncJobItemStatus.SKIPPED, null,
+                            Finding.LEAKED_EVENT + ": reported only"))
+                    .toList();
+        }
+
+        private List<SyncJobItem> unlinkOrphans() {
+            List<CalendarEvent> links = orphaned.stream()
+                    .map(link -> CalendarEvent.builder()
+                            .id(link.id())
+                            .task(Task.builder().id(link.taskId()).build())
+                            .build())
+                    .toList();
+            calendarSyncBatchRepository.deleteLinks(links);
+            return orphaned.stream()
+                    .map(link -> item(link.taskId(), link.eventId(), SyncJobItemStatus.SUCCEEDED, null,
+                            Finding.ORPHANED_LINK + ": link removed, event no longer exists"))
+                    .toList();
+        }
+
+        private List<SyncJobItem> deleteLeaks() {
+            List<GoogleCalendarGateway.BatchResult<Void>> results = googleCalendarGateway.deleteEvents(
+                    job.getCalendarId(), leaked.stream().map(Remote::eventId).toList());
+            List<SyncJobItem> items = new ArrayList<>();
+            for (int i = 0; i < leaked.size(); i++) {
+                Remote remote = leaked.get(i);
+                GoogleCalendarGateway.BatchResult<Void> result = results.get(i);
+                // Already gone counts as done
+                boolean deleted = result.succeeded() || result.statusCode() == 404 || result.statusCode() == 410;
+                items.add(item(remote.ownedTaskId(), remote.eventId(),
+                        deleted ? SyncJobItemStatus.SUCCEEDED : SyncJobItemStatus.FAILED, null,
+                        deleted ? Finding.LEAKED_EVENT + ": event deleted"
+                                : Finding.LEAKED_EVENT + ": " + result.error()));
+            }
+            return items;
+        }
+
+        private List<SyncJobItem> pullDrifted() {
+            Map<Long, SyncJobItem> itemsByTask = new ConcurrentHashMap<>();
+            List<SyncWorkItem> workItems = drifted.stream()
+                    .map(link -> new SyncWorkItem(link.id(), link.taskId(), job.getCalendarId()))
+                    .toList();
+            syncWorkerPool.execute("reconcile-drift", workItems, workItem -> {
+                String eventId = eventIdOf(workItem.taskId());
+                try {
+                    CalendarSyncDto.SyncResponse response = calendarSyncService.syncCalendarToTask(workItem.taskId());
+                    itemsByTask.put(workItem.taskId(), item(workItem.taskId(), eventId, SyncJobItemStatus.SUCCEEDED,
+                            response.getSyncStatus(), Finding.DRIFTED + ": " + response.getMessage()));
+                } catch (RuntimeException e) {
+                    itemsByTask.put(workItem.taskId(), item(workItem.taskId(), eventId, SyncJobItemStatus.FAILED,
+                            SyncStatus.SYNC_FAILED, Finding.DRIFTED + ": " + e.getMessage()));
+                    throw e;
+                }
+            });
+            return drifted.stream()
+                    .map(link -> Objects.requireNonNullElseGet(itemsByTask.get(link.taskId()),
+                            () -> item(link.taskId(), link.eventId(), SyncJobItemStatus.FAILED, null,
+                                    Finding.DRIFTED + ": not processed")))
+                    .toList();
+        }
+
+        private String eventIdOf(Long taskId) {
+            return drifted.stream()
+                    .filter(link -> link.taskId().equals(taskId))
+                    .map(Link::eventId)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private SyncJobItem item(Long taskId, String eventId, SyncJobItemStatus status, SyncStatus syncStatus,
+                                 String message) {
+            return SyncJobItem.builder()
+                    .jobId(job.getId())
+                    .taskId(taskId)
+                    .eventId(eventId)
+                    .status(status)
+                    .syncStatus(syncStatus)
+                    .message(message)
+                    .processedAt(LocalDateTime.now())
+                    .build();
+        }
+    }
+
+    /**
+     * Reads one side of the merge a keyset page at a time.
+     */
+    private static final class KeysetCursor<T> {
+        private final Function<T, String> key;
+        private final Function<String, List<T>> fetch;
+        private List<T> page = List.of();
+        private int position;
+        private String lastKey = "";
+        private boolean exhausted;
+
+        KeysetCursor(Function<T, String> key, Function<String, List<T>> fetch) {
+            this.key = key;
+            this.fetch = fetch;
+        }
+
+        boolean hasNext() {
+            if (position < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            page = fetch.apply(lastKey);
+            position = 0;
+            exhausted = page.isEmpty();
+            return !exhausted;
+        }
+
+        T peek() {
+            return page.get(position);
+        }
+
+        T next() {
+            T value = page.get(position++);
+            lastKey = key.apply(value);
+            return value;
+        }
+    }
+
+    record Link(Long id, Long taskId, String eventId, String etag) {
+    }
+
+    record Remote(String eventId, String etag, Long ownedTaskId) {
+    }
+}
@@ -5,21 +5,26 @@ import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.stephen.taskmanagement.config.CalendarSyncProperties;
 import org.stephen.taskmanagement.dto.CalendarSyncDto;
 import org.stephen.taskmanagement.entity.CalendarEvent;
 import org.stephen.taskmanagement.entity.SyncHistory;
 import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
 import org.stephen.taskmanagement.enums.SyncDirection;
 import org.stephen.taskmanagement.enums.SyncStatus;
 import org.stephen.taskmanagement.enums.SyncType;
 import org.stephen.taskmanagement.enums.TaskStatus;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
 import org.stephen.taskmanagement.exception.InvalidOperationException;
 import org.stephen.taskmanagement.exception.ResourceNotFoundException;
 import org.stephen.taskmanagement.mappers.CalendarMapper;
 import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
 import org.stephen.taskmanagement.repository.SyncHistoryRepository;
 import org.stephen.taskmanagement.repository.TaskRepository;
 
@@ -27,247 +32,348 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import com.google.api.services.calendar.Calendar;
 
+/**
+ * Calendar sync operations. None of them hold a transaction across a Google call: each reads a
+ * snapshot through {@link CalendarSyncStateService}, talks to Google, then writes the outcome in a
+ * short transaction that fails if the task or its calendar event changed in the meantime.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class CalendarSyncService {
-    private final Calendar googleCalendar;
+    private final GoogleCalendarGateway calendarGateway;
     private final CalendarEventRepository calendarEventRepository;
     private final SyncHistoryRepository syncHistoryRepository;
     private final TaskRepository taskRepository;
     private final CalendarMapper calendarMapper;
     private final CalendarSyncProperties syncProperties;
     private final ConflictResolutionService conflictResolutionService;
+    private final SyncRetryQueueService syncRetryQueueService;
+    private final CalendarSyncBatchRepository calendarSyncBatchRepository;
+    private final CalendarSyncStateService syncStateService;
 
 
     public CalendarSyncDto.SyncEnabledResponse enableSync(CalendarSyncDto.EnableSyncRequest request){
         log.info("Enabling calendar sync for task: {}", request.getTaskId());
 
-        Task task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(request.getTaskId())));
-
+        Task task = syncStateService.loadSnapshot(request.getTaskId());
 
         if (task.getCalendarEvent() != null) {
             throw new InvalidOperationException("Task is already synced with calendar");
         }
 
+        String calendarId = request.getCalendarId() != null
+                ? request.getCalendarId()
+                : syncProperties.getPrimaryCalendarId();
+        Event createdEvent;
         try {
-            Event googleEvent = createGoogleCalendarEvent(task);
-            String calendarId = request.getCalendarId() != null
-                    ? request.getCalendarId()
-                    : syncProperties.getPrimaryCalendarId();
-
-            Event createdEvent = googleCalendar.events()
-                    .insert(calendarId, googleEvent)
-                    .execute();
-
-            CalendarEvent calendarEvent = CalendarEvent.builder()
-                    .task(task)
-                    .eventId(createdEvent.getId())
-                    .calendarId(calendarId)
-                    .eventTitle(createdEvent.getSummary())
-                    .eventDescription(createdEvent.getDescription())
-                    .eventStartTime(fromGoogleDateTime(createdEvent.getStart().getDateTime()))
-                    .eventEndTime(fromGoogleDateTime(createdEvent.getEnd().getDateTime()))
-                    .syncStatus(SyncStatus.IN_SYNC)
-                    .conflictDetected(false)
-                    .conflictResolutionStrategy(request.getConflictResolutionStrategy())
-                    .taskLastModifiedAt(task.getUpdatedAt())
-                    .calendarLastModifiedAt(LocalDateTime.now())
-                    .lastSyncedAt(LocalDateTime.now())
-                    .build();
-
-            task.setCalendarEvent(calendarEvent);
-            task.setCalendarSyncEnabled(true);
-            task.setCalendarSyncedAt(LocalDateTime.now());
-
-            CalendarEvent savedEvent = calendarEventRepository.save(calendarEvent);
-            taskRepository.save(task);
-
-            logSyncHistory(savedEvent, SyncType.INITIAL_SYNC,
-                    SyncDirection.TASK_TO_CALENDAR, SyncStatus.IN_SYNC, null);
-
-            log.info("Calendar sync enabled successfully for task: {} with event: {}",
-                    task.getId(), createdEvent.getId());
-
-            return CalendarSyncDto.SyncEnabledResponse.builder()
-                    .taskId(task.getId())
-                    .eventId(createdEvent.getId())
-                    .calendarId(calendarId)
-                    .syncedAt(LocalDateTime.now())
-                    .syncStatus(SyncStatus.IN_SYNC)
-                    .conflictDetected(false)
-                    .message("Calendar sync enabled successfully")
-                    .build();
-
+            createdEvent = calendarGateway.insertEvent(calendarId, createGoogleCalendarEvent(task));
         } catch (IOException e){
             log.error("Failed to create Google Calendar event for task: {}", task.getId(), e);
             throw new InvalidOperationException("Failed to sync with Google Calendar: " + e.getMessage());
         }
 
+        CalendarEvent savedEvent;
+        try {
+            savedEvent = syncStateService.write(task.getId(), current -> {
+                if (current.getCalendarEvent() != null) {
+                    throw new InvalidOperationException("Task is already synced with calendar");
+                }
+                CalendarEvent calendarEvent = toLinkedCalendarEvent(current, createdEvent, calendarId,
+                        request.getConflictResolutionStrategy());
+                // The event was built from the snapshot, so that is the content Google has
+                calendarEvent.recordSyncedContent(task, GoogleCalendarGateway.contentFingerprint(createdEvent),
+                        createdEvent.getEtag());
+                if (!Objects.equals(task.getVersion(), current.getVersion())) {
+                    // Edited while the event was being created; the pending sweep pushes the newer fields
+                    calendarEvent.setSyncStatus(SyncStatus.SYNC_PENDING);
+                }
+
+                current.setCalendarEvent(calendarEvent);
+                current.setCalendarSyncEnabled(true);
+                current.setCalendarSyncedAt(LocalDateTime.now());
+
+                CalendarEvent saved = calendarEventRepository.save(calendarEvent);
+                taskRepository.save(current);
+
+                logSyncHistory(saved, SyncType.INITIAL_SYNC,
+                        SyncDirection.TASK_TO_CALENDAR, saved.getSyncStatus(), null);
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            // The link was not recorded, so do not leave an orphaned event in Google
+            deleteOrphanedEvent(calendarId, createdEvent.getId());
+            throw e;
+        }
+
+        log.info("Calendar sync enabled successfully for task: {} with event: {}",
+                task.getId(), createdEvent.getId());
+
+        return CalendarSyncDto.SyncEnabledResponse.builder()
+                .taskId(task.getId())
+                .eventId(createdEvent.getId())
+                .calendarId(calendarId)
+                .syncedAt(LocalDateTime.now())
+                .syncStatus(savedEvent.getSyncStatus())
+                .conflictDetected(false)
+                .message("Calendar sync enabled successfully")
+                .build();
     }
 
     public CalendarSyncDto.SyncResponse syncTaskToCalendar(Long taskId){
         log.info("Syncing task changes to calendar: {}", taskId);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(taskId)));
+        Task task = syncStateService.loadSnapshot(taskId);
 
         CalendarEvent calendarEvent = task.getCalendarEvent();
         if (calendarEvent == null || !task.getCalendarSyncEnabled()) {
+            syncRetryQueueService.discard(taskId);
             throw new InvalidOperationException("Task is not synced with calendar");
         }
 
+        long taskFingerprint = task.computeContentFingerprint();
+        if (calendarEvent.getSyncStatus() != SyncStatus.CONFLICT
+                && Objects.equals(calendarEvent.getTaskFingerprint(), taskFingerprint)) {
+            return skipUnchangedPush(task, calendarEvent);
+        }
+
+        Event pushedEvent;
         try{
-            Event googleEvent = googleCalendar.events()
-                    .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                    .execute();
+            Event googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                    GoogleCalendarGateway.Fields.PUSH);
             Event updatedEvent = updateGoogleCalendarEvent(googleEvent, task);
-            googleEvent = googleCalendar.events()
-                    .update(calendarEvent.getCalendarId(), calendarEvent.getEventId(), updatedEvent)
-                    .execute();
-
-            // Update sync metadata
-            calendarEvent.setEventTitle(updatedEvent.getSummary());
-            calendarEvent.setEventDescription(updatedEvent.getDescription());
-            calendarEvent.setEventStartTime(fromGoogleDateTime(updatedEvent.getStart().getDateTime()));
-            calendarEvent.setEventEndTime(fromGoogleDateTime(updatedEvent.getEnd().getDateTime()));
-            calendarEvent.setCalendarLastModifiedAt(LocalDateTime.now());
-            calendarEvent.setLastSyncedAt(LocalDateTime.now());
-            calendarEvent.setSyncStatus(SyncStatus.IN_SYNC);
-            calendarEvent.setConflictDetected(false);
-
-            calendarEventRepository.save(calendarEvent);
-            task.setCalendarSyncedAt(LocalDateTime.now());
-            taskRepository.save(task);
-
-            Map<String, Object> changes = Map.of(
-                    "title", task.getTitle(),
-                    "status", task.getStatus(),
-                    "dueDate", task.getDueDate()
-            );
-
-            logSyncHistory(calendarEvent, SyncType.AUTOMATIC,
-                    SyncDirection.TASK_TO_CALENDAR, SyncStatus.IN_SYNC,
-                    changes.toString());
-
-            log.info("Task successfully synced to calendar: {}", taskId);
-
-            return CalendarSyncDto.SyncResponse.builder()
-                    .taskId(taskId)
-                    .eventId(calendarEvent.getEventId())
-                    .syncStatus(SyncStatus.IN_SYNC)
-                    .conflictResolved(false)
-                    .changesApplied(changes)
-                    .syncedAt(LocalDateTime.now())
-                    .message("Task synced to calendar successfully")
-                    .build();
+            pushedEvent = calendarGateway.patchEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                    updatedEvent);
         } catch (IOException e){
             log.error("Failed to sync task to calendar: {}", taskId, e);
-            calendarEvent.setSyncStatus(SyncStatus.SYNC_FAILED);
-            calendarEventRepository.save(calendarEvent);
+            // Failure bookkeeping (SYNC_FAILED, history, retry queue) commits on its own
+            syncStateService.write(taskId, current -> {
+                CalendarEvent currentEvent = current.getCalendarEvent();
+                if (currentEvent != null) {
+                    currentEvent.setSyncStatus(SyncStatus.SYNC_FAILED);
+                    calendarEventRepository.save(currentEvent);
+                    logSyncFailure(currentEvent, SyncDirection.TASK_TO_CALENDAR, e.getMessage());
+                    syncRetryQueueService.recordFailure(currentEvent, e.getMessage());
+                }
+                return currentEvent;
+            });
             throw new InvalidOperationException("Failed to sync with Google Calendar: " + e.getMessage());
+        } catch (CalendarUnavailableException e) {
+            // Google is not being called right now; park the push until the circuit may let calls through
+            log.warn("Deferring sync of task {} to calendar: {}", taskId, e.getMessage());
+            syncStateService.write(taskId, current -> {
+                CalendarEvent currentEvent = current.getCalendarEvent();
+                if (currentEvent != null) {
+                    syncRetryQueueService.defer(currentEvent, e.getMessage(),
+                            LocalDateTime.now().plusSeconds(e.getRetryAfterSeconds()));
+                }
+                return currentEvent;
+            });
+            throw e;
         }
 
+        // Not Map.of: the due date may be null
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("title", task.getTitle());
+        changes.put("status", task.getStatus());
+        changes.put("dueDate", task.getDueDate());
+
+        // Sync bookkeeping lives on the calendar event; touching the task would bump its
+        // updatedAt and make the next pull see a task edit that never happened
+        CalendarEvent syncedEvent = syncStateService.writeIfUnchanged(task, (current, currentEvent) -> {
+            // What Google stored: the read ahead of the push only carries id, etag and status
+            currentEvent.setEventTitle(pushedEvent.getSummary());
+            currentEvent.setEventDescription(pushedEvent.getDescription());
+            currentEvent.setEventStartTime(pushedEvent.getStart() != null
+                    ? fromGoogleDateTime(pushedEvent.getStart().getDateTime()) : null);
+            currentEvent.setEventEndTime(pushedEvent.getEnd() != null
+                    ? fromGoogleDateTime(pushedEvent.getEnd().getDateTime()) : null);
+            // Google's own timestamp, so the next pull does not take our push for a calendar edit
+            currentEvent.setCalendarLastModifiedAt(pushedEvent.getUpdated() != null
+                    ? fromGoogleDateTime(pushedEvent.getUpdated())
+                    : LocalDateTime.now());
+            currentEvent.setLastSyncedAt(LocalDateTime.now());
+            currentEvent.setSyncStatus(SyncStatus.IN_SYNC);
+            currentEvent.setConflictDetected(false);
+            currentEvent.setConflictDetectedAt(null);
+            currentEvent.recordSyncedContent(current, GoogleCalendarGateway.contentFingerprint(pushedEvent),
+                    pushedEvent.getEtag());
+            calendarEventRepository.save(currentEvent);
+
+            logSyncHistory(currentEvent, SyncType.AUTOMATIC,
+                    SyncDirection.TASK_TO_CALENDAR, SyncStatus.IN_SYNC,
+                    changes.toString());
+            syncRetryQueueService.recordSuccess(taskId);
+            return currentEvent;
+        });
+
+        log.info("Task successfully synced to calendar: {}", taskId);
+
+        return CalendarSyncDto.SyncResponse.builder()
+                .taskId(taskId)
+                .eventId(syncedEvent.getEventId())
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictResolved(false)
+                .changesApplied(changes)
+                .syncedAt(LocalDateTime.now())
+                .message("Task synced to calendar successfully")
+                .build();
     }
 
     public CalendarSyncDto.SyncResponse syncCalendarToTask(Long taskId){
         log.info("Syncing calendar changes to task: {}", taskId);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(taskId)));
+        Task task = syncStateService.loadSnapshot(taskId);
 
         CalendarEvent calendarEvent = task.getCalendarEvent();
         if (calendarEvent == null || !task.getCalendarSyncEnabled()) {
             throw new InvalidOperationException("Task is not synced with calendar");
         }
 
+        Event googleEvent;
         try{
-            Event googleEvent = googleCalendar.events()
-                    .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                    .execute();
-
-            // Detect conflicts
-            boolean hasConflict = detectConflict(task, calendarEvent, googleEvent);
+            googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                    GoogleCalendarGateway.Fields.SYNC);
+        } catch (IOException e){
+            log.error("Failed to sync calendar to task: {}", taskId, e);
+            syncStateService.write(taskId, current -> {
+                CalendarEvent currentEvent = current.getCalendarEvent();
+                if (currentEvent != null) {
+                    currentEvent.setSyncStatus(SyncStatus.SYNC_FAILED);
+                    calendarEventRepository.save(currentEvent);
+                }
+                return currentEvent;
+            });
+            throw new InvalidOperationException("Failed to fetch from Google Calendar: " + e.getMessage());
+        }
 
+        long taskFingerprint = task.computeContentFingerprint();
+        long eventFingerprint = GoogleCalendarGateway.contentFingerprint(googleEvent);
+        boolean fingerprinted = calendarEvent.getTaskFingerprint() != null && calendarEvent.getEventFingerprint() != null;
+        boolean taskChanged = !fingerprinted || calendarEvent.getTaskFingerprint() != taskFingerprint;
+        boolean calendarChanged = !fingerprinted || calendarEvent.getEventFingerprint() != eventFingerprint;
+
+        // A conflict needs both sides edited since the last sync into content that no longer agrees;
+        // links recorded before fingerprints existed fall back to the timestamp check
+        boolean bothChanged = fingerprinted
+                ? taskChanged && calendarChanged && taskFingerprint != eventFingerprint
+                : detectConflict(task, calendarEvent, googleEvent);
+
+        // Edits to different fields merge against the base snapshot; only fields both sides
+        // changed differently are left as a conflict
+        ContentMerge merge = bothChanged && calendarEvent.hasBaseSnapshot()
+                ? ContentMerge.of(calendarEvent, task, googleEvent)
+                : null;
+        Event mergedEvent = merge != null && !merge.hasConflicts()
+                ? pushMerge(task, calendarEvent, merge, googleEvent)
+                : null;
+        boolean hasConflict = bothChanged && mergedEvent == null;
+        // Unlike calendarChanged this is relative to the previous pull, so an open conflict
+        // does not count as a new edit on every poll
+        LocalDateTime calendarModifiedAt = fromGoogleDateTime(googleEvent.getUpdated());
+        boolean editedSinceLastPull = !Objects.equals(calendarModifiedAt, calendarEvent.getCalendarLastModifiedAt());
+
+        Map<String, Object> changes = syncStateService.writeIfUnchanged(task, (current, currentEvent) -> {
             if (hasConflict) {
                 log.warn("Conflict detected between task and calendar for task: {}", taskId);
-                calendarEvent.setConflictDetected(true);
-                calendarEvent.setSyncStatus(SyncStatus.CONFLICT);
+                if (!Boolean.TRUE.equals(currentEvent.getConflictDetected())) {
+                    currentEvent.setConflictDetectedAt(LocalDateTime.now());
+                }
+                currentEvent.setConflictDetected(true);
+                currentEvent.setSyncStatus(SyncStatus.CONFLICT);
+            } else if (mergedEvent != null) {
+                merge.applyTo(current);
+                log.info("Merged concurrent task and calendar edits for task: {}", taskId);
+                currentEvent.setSyncStatus(SyncStatus.IN_SYNC);
+                currentEvent.setConflictDetected(false);
+                currentEvent.setConflictDetectedAt(null);
+                currentEvent.recordSyncedContent(current, GoogleCalendarGateway.contentFingerprint(mergedEvent),
+                        mergedEvent.getEtag());
+            } else if (calendarChanged) {
+                // Apply calendar changes to task; the task row is only written when a field differs
+                if (applyCalendarChangesToTask(current, googleEvent)) {
+                    log.debug("Applied calendar changes to task: {}", taskId);
+                }
+                currentEvent.setSyncStatus(SyncStatus.IN_SYNC);
+                currentEvent.setConflictDetected(false);
+                currentEvent.setConflictDetectedAt(null);
+                currentEvent.recordSyncedContent(current, eventFingerprint, googleEvent.getEtag());
             } else {
-                // Apply calendar changes to task
-                applyCalendarChangesToTask(task, googleEvent);
-                calendarEvent.setSyncStatus(SyncStatus.IN_SYNC);
-                calendarEvent.setConflictDetected(false);
+                // Nothing new in the calendar; a task edit is left for the push rather than overwritten
+                currentEvent.setSyncStatus(taskChanged ? SyncStatus.SYNC_PENDING : SyncStatus.IN_SYNC);
+                currentEvent.setConflictDetected(false);
+                currentEvent.setConflictDetectedAt(null);
             }
 
             // Update sync metadata
-            calendarEvent.setCalendarLastModifiedAt(fromGoogleDateTime(googleEvent.getUpdated()));
-            calendarEvent.setLastSyncedAt(LocalDateTime.now());
-            calendarEvent.setTaskLastModifiedAt(task.getUpdatedAt());
-
-            calendarEventRepository.save(calendarEvent);
-            taskRepository.save(task);
-
-            Map<String, Object> changes = Map.of(
-                    "taskStatus", task.getStatus(),
-                    "taskDueDate", task.getDueDate(),
-                    "conflictDetected", hasConflict
-            );
-
-            logSyncHistory(calendarEvent, SyncType.AUTOMATIC,
-                    SyncDirection.CALENDAR_TO_TASK,
-                    hasConflict ? SyncStatus.CONFLICT : SyncStatus.IN_SYNC,
-                    changes.toString());
+            currentEvent.setCalendarLastModifiedAt(calendarModifiedAt);
+            currentEvent.setLastSyncedAt(LocalDateTime.now());
+            currentEvent.setTaskLastModifiedAt(current.getUpdatedAt());
+
+            calendarEventRepository.save(currentEvent);
+
+            Map<String, Object> applied = new LinkedHashMap<>();
+            applied.put("taskStatus", current.getStatus());
+            applied.put("taskDueDate", current.getDueDate());
+            applied.put("conflictDetected", hasConflict);
+            if (mergedEvent != null) {
+                applied.put("mergedFromCalendar", merge.mergedFields());
+            }
 
-            log.info("Calendar changes synced to task: {}", taskId);
-
-            return CalendarSyncDto.SyncResponse.builder()
-                    .taskId(taskId)
-                    .eventId(calendarEvent.getEventId())
-                    .syncStatus(calendarEvent.getSyncStatus())
-                    .conflictResolved(!hasConflict)
-                    .changesApplied(changes)
-                    .syncedAt(LocalDateTime.now())
-                    .message(hasConflict ? "Conflict detected - manual resolution required" : "Calendar synced to task successfully")
-                    .build();
-        } catch (IOException e){
-            log.error("Failed to sync calendar to task: {}", taskId, e);
-            calendarEvent.setSyncStatus(SyncStatus.SYNC_FAILED);
-            calendarEventRepository.save(calendarEvent);
-            throw new InvalidOperationException("Failed to fetch from Google Calendar: " + e.getMessage());
-        }
+            syncHistoryRepository.save(SyncHistory.builder()
+                    .calendarEvent(currentEvent)
+                    .syncType(SyncType.AUTOMATIC)
+                    .syncDirection(SyncDirection.CALENDAR_TO_TASK)
+                    .syncStatus(hasConflict ? SyncStatus.CONFLICT : SyncStatus.IN_SYNC)
+                    .changesApplied(applied.toString())
+                    .calendarChanged(editedSinceLastPull)
+                    .build());
+            return applied;
+        });
+
+        log.info("Calendar changes synced to task: {}", taskId);
+
+        return CalendarSyncDto.SyncResponse.builder()
+                .taskId(taskId)
+                .eventId(calendarEvent.getEventId())
+                .syncStatus(hasConflict ? SyncStatus.CONFLICT : SyncStatus.IN_SYNC)
+                .conflictResolved(!hasConflict)
+                .changesApplied(changes)
+                .syncedAt(LocalDateTime.now())
+                .message(hasConflict ? "Conflict detected - manual resolution required" : "Calendar synced to task successfully")
+                .build();
     }
 
     public void deleteTaskAndEvent(Long taskId){
         log.info("Deleting task and associated calendar event: {}", taskId);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(taskId)));
+        Task task = syncStateService.loadSnapshot(taskId);
 
         CalendarEvent calendarEvent = task.getCalendarEvent();
-        if(calendarEvent != null && task.getCalendarSyncEnabled()) {
-            try{
-                googleCalendar.events()
-                        .delete(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                        .execute();
-
-                log.info("Calendar event deleted: {}", calendarEvent.getEventId());
-                logSyncHistory(calendarEvent,SyncType.AUTOMATIC,
+        boolean eventDeleted = calendarEvent != null && task.getCalendarSyncEnabled()
+                && deleteCalendarEvent(calendarEvent);
+
+        syncStateService.write(taskId, current -> {
+            if (eventDeleted && current.getCalendarEvent() != null) {
+                logSyncHistory(current.getCalendarEvent(), SyncType.AUTOMATIC,
                         SyncDirection.TASK_TO_CALENDAR, SyncStatus.IN_SYNC,
                         "Event deleted from calendar");
-            } catch (IOException e){
-                log.error("Failed to delete calendar event: {}", calendarEvent.getEventId(), e);
             }
-        }
-        taskRepository.delete(task);
+            taskRepository.delete(current);
+            return current;
+        });
         log.info("Task deleted successfully: {}", taskId);
     }
 
@@ -299,8 +405,7 @@ public class CalendarSyncService {
     public CalendarSyncDto.SyncDisabledResponse disableSync(CalendarSyncDto.DisableSyncRequest request){
         log.info("Disabling calendar sync for task: {}", request.getTaskId());
 
-        Task task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(request.getTaskId())));
+        Task task = syncStateService.loadSnapshot(request.getTaskId());
 
         CalendarEvent calendarEvent = task.getCalendarEvent();
         if (calendarEvent == null) {
@@ -308,25 +413,23 @@ public class CalendarSyncService {
         }
 
         String eventId = calendarEvent.getEventId();
-        Boolean deleted = false;
-
-        if(request.getDeleteCalendarEvent()){
-            try{
-                googleCalendar.events()
-                        .delete(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                        .execute();
-                deleted = true;
-                log.info("Calendar event deleted: {}", eventId);
-            } catch (IOException e){
-                log.error("Failed to delete calendar event: {}", eventId, e);
-            }
+        Boolean deleted = request.getDeleteCalendarEvent() && deleteCalendarEvent(calendarEvent);
+        if (!deleted) {
+            releaseOwnership(calendarEvent.getCalendarId(), List.of(eventId));
         }
-        task.setCalendarEvent(null);
-        task.setCalendarSyncEnabled(false);
-        task.setCalendarSyncedAt(null);
-        taskRepository.save(task);
 
-        calendarEventRepository.delete(calendarEvent);
+        syncStateService.write(request.getTaskId(), current -> {
+            CalendarEvent currentEvent = current.getCalendarEvent();
+            current.setCalendarEvent(null);
+            current.setCalendarSyncEnabled(false);
+            current.setCalendarSyncedAt(null);
+            taskRepository.save(current);
+
+            if (currentEvent != null) {
+                calendarEventRepository.delete(currentEvent);
+            }
+            return current;
+        });
 
         log.info("Calendar sync disabled for task: {}", request.getTaskId());
 
@@ -339,6 +442,160 @@ public class CalendarSyncService {
                 .build();
     }
 
+    /**
+     * Enables sync for many tasks at once. Google inserts go out as batch requests and the
+     * resulting links are written with JDBC batches; no transaction is held during the Google calls.
+     * Each task gets its own result, and a failed insert does not stop the others.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CalendarSyncDto.BulkSyncToggleResponse bulkEnableSync(CalendarSyncDto.BulkEnableSyncRequest request) {
+        log.info("Bulk enabling calendar sync for {} tasks", request.getTaskIds().size());
+
+        String calendarId = request.getCalendarId() != null
+                ? request.getCalendarId()
+                : syncProperties.getPrimaryCalendarId();
+        Map<Long, Task> tasksById = taskRepository.findAllByIdWithCalendarEvent(request.getTaskIds())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<Long, CalendarSyncDto.BulkSyncToggleResult> results = new LinkedHashMap<>();
+        List<Task> tasksToLink = new ArrayList<>();
+        for (Long taskId : request.getTaskIds()) {
+            Task task = tasksById.get(taskId);
+            if (results.containsKey(taskId)) {
+                continue;
+            }
+            if (task == null) {
+                results.put(taskId, toggleFailure(taskId, null, "Task not found"));
+            } else if (task.getCalendarEvent() != null) {
+                results.put(taskId, toggleFailure(taskId, task.getCalendarEvent().getEventId(),
+                        "Task is already synced with calendar"));
+            } else {
+                results.put(taskId, null);
+                tasksToLink.add(task);
+            }
+        }
+
+        List<GoogleCalendarGateway.BatchResult<Event>> inserted = calendarGateway.insertEvents(calendarId,
+                tasksToLink.stream().map(this::createGoogleCalendarEvent).collect(Collectors.toList()));
+
+        List<CalendarEvent> linkedEvents = new ArrayList<>();
+        for (int i = 0; i < tasksToLink.size(); i++) {
+            Task task = tasksToLink.get(i);
+            GoogleCalendarGateway.BatchResult<Event> result = inserted.get(i);
+            if (result.succeeded()) {
+                linkedEvents.add(toLinkedCalendarEvent(task, result.value(), calendarId,
+                        request.getConflictResolutionStrategy()));
+            } else {
+                results.put(task.getId(), toggleFailure(task.getId(), null,
+                        "Failed to sync with Google Calendar: " + result.error()));
+            }
+        }
+
+        if (!linkedEvents.isEmpty()) {
+            try {
+                calendarSyncBatchRepository.insertLinks(linkedEvents);
+                linkedEvents.forEach(event -> results.put(event.getTask().getId(),
+                        CalendarSyncDto.BulkSyncToggleResult.builder()
+                                .taskId(event.getTask().getId())
+                                .eventId(event.getEventId())
+                                .calendarId(calendarId)
+                                .success(true)
+                                .message("Calendar sync enabled successfully")
+                                .build()));
+            } catch (DataAccessException e) {
+                // Do not leave events in Google that no task points at
+                log.error("Failed to record {} calendar links, removing the created events", linkedEvents.size(), e);
+                calendarGateway.deleteEvents(calendarId,
+                        linkedEvents.stream().map(CalendarEvent::getEventId).collect(Collectors.toList()));
+                linkedEvents.forEach(event -> results.put(event.getTask().getId(),
+                        toggleFailure(event.getTask().getId(), null,
+                                "Failed to record calendar sync: " + e.getMostSpecificCause().getMessage())));
+            }
+        }
+
+        return toToggleResponse(results.values());
+    }
+
+    /**
+     * Disables sync for many tasks at once. Google deletes, when requested, go out as batch
+     * requests; a failed delete is reported but still unlinks the task, as {@link #disableSync} does.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CalendarSyncDto.BulkSyncToggleResponse bulkDisableSync(CalendarSyncDto.BulkDisableSyncRequest request) {
+        log.info("Bulk disabling calendar sync for {} tasks", request.getTaskIds().size());
+
+        Map<Long, Task> tasksById = taskRepository.findAllByIdWithCalendarEvent(request.getTaskIds())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<Long, CalendarSyncDto.BulkSyncToggleResult> results = new LinkedHashMap<>();
+        List<CalendarEvent> eventsToUnlink = new ArrayList<>();
+        for (Long taskId : request.getTaskIds()) {
+            Task task = tasksById.get(taskId);
+            if (results.containsKey(taskId)) {
+                continue;
+            }
+            if (task == null) {
+                results.put(taskId, toggleFailure(taskId, null, "Task not found"));
+            } else if (task.getCalendarEvent() == null) {
+                results.put(taskId, toggleFailure(taskId, null, "Task is not synced with calendar"));
+            } else {
+                CalendarEvent calendarEvent = task.getCalendarEvent();
+                calendarEvent.setTask(task);
+                results.put(taskId, null);
+                eventsToUnlink.add(calendarEvent);
+            }
+        }
+
+        Map<Long, Boolean> deletedByTask = new HashMap<>();
+        if (Boolean.TRUE.equals(request.getDeleteCalendarEvent())) {
+            eventsToUnlink.stream()
+                    .collect(Collectors.groupingBy(CalendarEvent::getCalendarId, LinkedHashMap::new, Collectors.toList()))
+                    .forEach((calendarId, events) -> {
+                        List<GoogleCalendarGateway.BatchResult<Void>> deleted = calendarGateway.deleteEvents(calendarId,
+                                events.stream().map(CalendarEvent::getEventId).collect(Collectors.toList()));
+                        for (int i = 0; i < events.size(); i++) {
+                            GoogleCalendarGateway.BatchResult<Void> result = deleted.get(i);
+                            // Already gone from Google counts as deleted
+                            boolean gone = result.succeeded() || result.statusCode() == 404 || result.statusCode() == 410;
+                            if (!gone) {
+                                log.error("Failed to delete calendar event: {} ({})", events.get(i).getEventId(), result.error());
+                            }
+                            deletedByTask.put(events.get(i).getTask().getId(), gone);
+                        }
+                    });
+        }
+
+        eventsToUnlink.stream()
+                .filter(event -> !deletedByTask.getOrDefault(event.getTask().getId(), false))
+                .collect(Collectors.groupingBy(CalendarEvent::getCalendarId, LinkedHashMap::new,
+                        Collectors.mapping(CalendarEvent::getEventId, Collectors.toList())))
+                .forEach(this::releaseOwnership);
+
+        if (!eventsToUnlink.isEmpty()) {
+            try {
+                calendarSyncBatchRepository.deleteLinks(eventsToUnlink);
+                eventsToUnlink.forEach(event -> results.put(event.getTask().getId(),
+                        CalendarSyncDto.BulkSyncToggleResult.builder()
+                                .taskId(event.getTask().getId())
+                                .eventId(event.getEventId())
+                                .calendarId(event.getCalendarId())
+                                .success(true)
+                                .calendarEventDeleted(deletedByTask.getOrDefault(event.getTask().getId(), false))
+                                .message("Calendar sync disabled successfully")
+                                .build()));
+            } catch (DataAccessException e) {
+                log.error("Failed to remove {} calendar links", eventsToUnlink.size(), e);
+                eventsToUnlink.forEach(event -> results.put(event.getTask().getId(),
+                        toggleFailure(event.getTask().getId(), event.getEventId(),
+                                "Failed to disable calendar sync: " + e.getMostSpecificCause().getMessage())));
+            }
+        }
+
+        return toToggleResponse(results.values());
+    }
+
     @Transactional(readOnly = true)
     public List<CalendarSyncDto.SyncHistoryResponse> getSyncHistory(Long taskId){
         log.info("Getting sync history for task: {}", taskId);
@@ -357,8 +614,40 @@ public class CalendarSyncService {
                 .collect(Collectors.toList());
     }
 
+    private boolean deleteCalendarEvent(CalendarEvent calendarEvent) {
+        try {
+            calendarGateway.deleteEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId());
+            log.info("Calendar event deleted: {}", calendarEvent.getEventId());
+            return true;
+        } catch (IOException | CalendarUnavailableException e) {
+            log.error("Failed to delete calendar event: {}", calendarEvent.getEventId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Best effort: an event that keeps its marker is later reported by reconciliation as leaked.
+     */
+    private void releaseOwnership(String calendarId, List<String> eventIds) {
+        List<GoogleCalendarGateway.BatchResult<Event>> released = calendarGateway.releaseOwnership(calendarId, eventIds);
+        for (int i = 0; i < eventIds.size(); i++) {
+            GoogleCalendarGateway.BatchResult<Event> result = released.get(i);
+            if (!result.succeeded() && result.statusCode() != 404 && result.statusCode() != 410) {
+                log.warn("Failed to release calendar event {}: {}", eventIds.get(i), result.error());
+            }
+        }
+    }
+
+    private void deleteOrphanedEvent(String calendarId, String eventId) {
+        try {
+            calendarGateway.deleteEvent(calendarId, eventId);
+        } catch (IOException | CalendarUnavailableException e) {
+            log.error("Failed to remove orphaned calendar event: {}", eventId, e);
+        }
+    }
+
     private Event createGoogleCalendarEvent(Task task){
-        Event event = new Event()
+        Event event = GoogleCalendarGateway.markOwned(new Event(), task.getId())
                 .setSummary(task.getTitle())
                 .setDescription(task.getDescription());
 
@@ -380,6 +669,94 @@ public class CalendarSyncService {
         return event;
     }
 
+    /**
+     * Sends the merged content to Google when the task side won any field.
+     *
+     * @return the event as Google now has it, or null if it could not be updated
+     */
+    private Event pushMerge(Task task, CalendarEvent calendarEvent, ContentMerge merge, Event googleEvent) {
+        if (!merge.calendarNeedsUpdate()) {
+            return googleEvent;
+        }
+
+        Task merged = Task.builder().status(task.getStatus()).build();
+        merge.applyTo(merged);
+        try {
+            return calendarGateway.patchEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                    updateGoogleCalendarEvent(new Event(), merged));
+        } catch (IOException e) {
+            log.warn("Could not push merged content for task {}, leaving it as a conflict", task.getId(), e);
+            return null;
+        }
+    }
+
+    private CalendarSyncDto.SyncResponse skipUnchangedPush(Task task, CalendarEvent calendarEvent) {
+        log.debug("Task {} content unchanged since last sync, not calling Google", task.getId());
+        if (calendarEvent.getSyncStatus() != SyncStatus.IN_SYNC) {
+            syncStateService.writeIfUnchanged(task, (current, currentEvent) -> {
+                currentEvent.setSyncStatus(SyncStatus.IN_SYNC);
+                currentEvent.setLastSyncedAt(LocalDateTime.now());
+                calendarEventRepository.save(currentEvent);
+                return currentEvent;
+            });
+        }
+        // Also when already in sync: a retry claimed for this push is served all the same
+        syncRetryQueueService.recordSuccess(task.getId());
+
+        return CalendarSyncDto.SyncResponse.builder()
+                .taskId(task.getId())
+                .eventId(calendarEvent.getEventId())
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictResolved(false)
+                .changesApplied(Map.of())
+                .syncedAt(LocalDateTime.now())
+                .message("Task unchanged since last sync, nothing to push")
+                .build();
+    }
+
+    private CalendarEvent toLinkedCalendarEvent(Task task, Event createdEvent, String calendarId,
+                                                ConflictResolutionStrategy strategy) {
+        CalendarEvent calendarEvent = CalendarEvent.builder()
+                .task(task)
+                .eventId(createdEvent.getId())
+                .calendarId(calendarId)
+                .eventTitle(createdEvent.getSummary())
+                .eventDescription(createdEvent.getDescription())
+                .eventStartTime(createdEvent.getStart() != null ? fromGoogleDateTime(createdEvent.getStart().getDateTime()) : null)
+                .eventEndTime(createdEvent.getEnd() != null ? fromGoogleDateTime(createdEvent.getEnd().getDateTime()) : null)
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictDetected(false)
+                .conflictResolutionStrategy(strategy)
+                .taskLastModifiedAt(task.getUpdatedAt())
+                .calendarLastModifiedAt(LocalDateTime.now())
+                .lastSyncedAt(LocalDateTime.now())
+                .build();
+        calendarEvent.recordSyncedContent(task, GoogleCalendarGateway.contentFingerprint(createdEvent),
+                createdEvent.getEtag());
+        return calendarEvent;
+    }
+
+    private CalendarSyncDto.BulkSyncToggleResult toggleFailure(Long taskId, String eventId, String message) {
+        return CalendarSyncDto.BulkSyncToggleResult.builder()
+                .taskId(taskId)
+                .eventId(eventId)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private CalendarSyncDto.BulkSyncToggleResponse toToggleResponse(
+            Collection<CalendarSyncDto.BulkSyncToggleResult> results) {
+        int succeeded = (int) results.stream().filter(CalendarSyncDto.BulkSyncToggleResult::getSuccess).count();
+        return CalendarSyncDto.BulkSyncToggleResponse.builder()
+                .totalTasks(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(new ArrayList<>(results))
+                .completedAt(LocalDateTime.now())
+                .build();
+    }
+
     private Event updateGoogleCalendarEvent(Event event, Task task){
         event.setSummary(task.getTitle());
         event.setDescription(task.getDescription());
@@ -414,28 +791,39 @@ public class CalendarSyncService {
             return false;
         }
 
-
-        String calendarTitle = googleEvent.getSummary();
-        LocalDateTime calendarDueDate = fromGoogleDateTime(googleEvent.getStart().getDateTime());
-
-        boolean titleChanged = !task.getTitle().equals(calendarTitle);
-        boolean dueDateChanged = !task.getDueDate().equals(calendarDueDate);
-
-        return titleChanged || dueDateChanged;
+        return task.computeContentFingerprint() != GoogleCalendarGateway.contentFingerprint(googleEvent);
     }
 
-    private void applyCalendarChangesToTask(Task task, Event googleEvent) {
-        task.setTitle(googleEvent.getSummary());
-        task.setDescription(googleEvent.getDescription());
+    private boolean applyCalendarChangesToTask(Task task, Event googleEvent) {
+        boolean changed = false;
 
-        if (googleEvent.getStart() != null) {
-            task.setDueDate(fromGoogleDateTime(googleEvent.getStart().getDateTime()));
+        if (!Objects.equals(task.getTitle(), googleEvent.getSummary())) {
+            task.setTitle(googleEvent.getSummary());
+            changed = true;
+        }
+        if (!Objects.equals(task.getDescription(), googleEvent.getDescription())) {
+            task.setDescription(googleEvent.getDescription());
+            changed = true;
         }
 
+        if (googleEvent.getStart() != null) {
+            LocalDateTime dueDate = fromGoogleDateTime(googleEvent.getStart().getDateTime());
+            // Google keeps second precision, so compare at that precision
+            if (!Objects.equals(truncateToSeconds(task.getDueDate()), truncateToSeconds(dueDate))) {
+                task.setDueDate(dueDate);
+                changed = true;
+            }
+        }
 
-        if ("cancelled".equals(googleEvent.getStatus())) {
+        if ("cancelled".equals(googleEvent.getStatus()) && task.getStatus() != TaskStatus.COMPLETED) {
             task.setStatus(TaskStatus.COMPLETED);
+            changed = true;
         }
+        return changed;
+    }
+
+    private LocalDateTime truncateToSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.truncatedTo(ChronoUnit.SECONDS) : null;
     }
 
     private com.google.api.client.util.DateTime toGoogleDateTime(LocalDateTime localDateTime) {
@@ -469,4 +857,16 @@ public class CalendarSyncService {
 
         syncHistoryRepository.save(history);
     }
+
+    private void logSyncFailure(CalendarEvent calendarEvent, SyncDirection syncDirection, String errorMessage) {
+        SyncHistory history = SyncHistory.builder()
+                .calendarEvent(calendarEvent)
+                .syncType(SyncType.AUTOMATIC)
+                .syncDirection(syncDirection)
+                .syncStatus(SyncStatus.SYNC_FAILED)
+                .errorMessage(errorMessage)
+                .build();
+
+        syncHistoryRepository.save(history);
+    }
 }
@@ -0,0 +1,111 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.exception.ResourceNotFoundException;
+import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Transaction boundaries for calendar sync. Sync operations read a snapshot here, call Google
+ * with no transaction open, and come back for a short write, so a slow Google round-trip never
+ * holds a pooled connection or a row lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CalendarSyncStateService {
+
+    private final TaskRepository taskRepository;
+    private final CalendarEventRepository calendarEventRepository;
+
+    /**
+     * Loads the task with its calendar event. Both are detached once this returns; the versions
+     * they carry are what {@link #writeIfUnchanged} checks against.
+     */
+    @Transactional(readOnly = true)
+    public Task loadSnapshot(Long taskId) {
+        return findTask(taskId);
+    }
+
+    /**
+     * Loads one page of conflicted calendar events with their tasks, detached once this returns.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEvent> loadConflictPage(Pageable pageable) {
+        return calendarEventRepository.findConflictedWithTask(pageable);
+    }
+
+    /**
+     * Runs {@code write} against the current task in a short transaction.
+     */
+    public <T> T write(Long taskId, Function<Task, T> write) {
+        return write.apply(findTask(taskId));
+    }
+
+    /**
+     * Runs {@code write} against the current task and calendar event, provided neither has
+     * changed since {@code snapshot} was read. Changes committed after this check are caught
+     * by the entity versions when the transaction flushes.
+     *
+     * @throws ObjectOptimisticLockingFailureException if the task or its calendar event changed
+     * @throws InvalidOperationException if sync was disabled in the meantime
+     */
+    public <T> T writeIfUnchanged(Task snapshot, BiFunction<Task, CalendarEvent, T> write) {
+        Task task = findTask(snapshot.getId());
+        CalendarEvent calendarEvent = task.getCalendarEvent();
+        if (calendarEvent == null || !task.getCalendarSyncEnabled()) {
+            throw new InvalidOperationException("Task is not synced with calendar");
+        }
+
+        CalendarEvent snapshotEvent = snapshot.getCalendarEvent();
+        if (!Objects.equals(snapshot.getVersion(), task.getVersion())) {
+            log.info("Task {} changed during sync (version {} -> {})",
+                    task.getId(), snapshot.getVersion(), task.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+        if (snapshotEvent == null
+                || !Objects.equals(snapshotEvent.getId(), calendarEvent.getId())
+                || !Objects.equals(snapshotEvent.getVersion(), calendarEvent.getVersion())) {
+            log.info("Calendar event for task {} changed during sync", task.getId());
+            throw new ObjectOptimisticLockingFailureException(CalendarEvent.class, calendarEvent.getId());
+        }
+        return write.apply(task, calendarEvent);
+    }
+
+    /**
+     * Marks every in-sync link whose task content changed since its last sync as pending,
+     * comparing fingerprints in the database rather than fetching anything from Google.
+     *
+     * @return the number of links marked
+     */
+    public int markChangedTasksPending() {
+        return calendarEventRepository.markChangedTasksPending();
+    }
+
+    /**
+     * Stores when the event is polled next and the unscaled interval that led there.
+     */
+    public void schedulePoll(Long calendarEventId, int intervalSeconds, LocalDateTime nextPollAt) {
+        calendarEventRepository.updatePollSchedule(calendarEventId, intervalSeconds, nextPollAt);
+    }
+
+    private Task findTask(Long taskId) {
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(taskId)));
+    }
+}
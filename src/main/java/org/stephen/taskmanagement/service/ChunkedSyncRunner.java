@@ -0,0 +1,111 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.SyncWorkerProperties;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Drives a sync run in keyset-ordered chunks. Only one chunk is held in memory at a time,
+ * no transaction spans the Google calls, and the checkpoint is committed after every chunk
+ * so that a restarted node picks the run up where it stopped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedSyncRunner {
+    private final SyncCheckpointService checkpointService;
+    private final SyncWorkerPool syncWorkerPool;
+    private final SyncWorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+
+    public SyncRunResult run(String runName, ChunkLoader chunkLoader, Consumer<SyncWorkItem> action) {
+        return run(runName, chunkLoader, action, chunkResult -> true);
+    }
+
+    /**
+     * Same as {@link #run(String, ChunkLoader, Consumer)}, reporting each chunk to the listener.
+     * When the listener asks to stop, the checkpoint is left open so the run can be resumed later.
+     */
+    public SyncRunResult run(String runName, ChunkLoader chunkLoader, Consumer<SyncWorkItem> action,
+                             ChunkListener chunkListener) {
+        long startedAt = System.nanoTime();
+        long afterId = checkpointService.beginRun(runName);
+        Pageable chunk = PageRequest.of(0, workerProperties.getChunkSize());
+
+        int total = 0;
+        int succeeded = 0;
+        int failed = 0;
+        boolean stopped = false;
+
+        List<SyncWorkItem> items = chunkLoader.load(afterId, chunk);
+        while (!items.isEmpty()) {
+            SyncRunResult chunkResult = syncWorkerPool.execute(runName, items, action);
+            total += chunkResult.getTotalItems();
+            succeeded += chunkResult.getSucceeded();
+            failed += chunkResult.getFailed();
+
+            afterId = items.get(items.size() - 1).calendarEventId();
+            checkpointService.advance(runName, afterId, items.size());
+
+            if (!chunkListener.afterChunk(chunkResult)) {
+                log.info("Run {} stopped after calendar event {}, it can resume from the checkpoint", runName, afterId);
+                stopped = true;
+                break;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Run {} interrupted after calendar event {}, it will resume from the checkpoint", runName, afterId);
+                break;
+            }
+            items = chunkLoader.load(afterId, chunk);
+        }
+
+        if (!stopped && !Thread.currentThread().isInterrupted()) {
+            checkpointService.complete(runName);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        Timer.builder("calendar.sync.run.duration")
+                .tag("run", runName)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        double itemsPerSecond = elapsedNanos > 0 ? total / (elapsedNanos / 1_000_000_000.0) : 0;
+        log.info("Run {} finished: {} items, {} succeeded, {} failed in {} ms ({} items/s)",
+                runName, total, succeeded, failed, durationMillis, String.format("%.1f", itemsPerSecond));
+
+        return SyncRunResult.builder()
+                .runName(runName)
+                .totalItems(total)
+                .succeeded(succeeded)
+                .failed(failed)
+                .durationMillis(durationMillis)
+                .itemsPerSecond(itemsPerSecond)
+                .build();
+    }
+
+    @FunctionalInterface
+    public interface ChunkLoader {
+        List<SyncWorkItem> load(Long afterId, Pageable chunk);
+    }
+
+    @FunctionalInterface
+    public interface ChunkListener {
+        /**
+         * Called after each chunk has been processed and checkpointed.
+         * Returns {@code false} to stop the run.
+         */
+        boolean afterChunk(SyncRunResult chunkResult);
+    }
+}
@@ -0,0 +1,205 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.ClusterProperties;
+import org.stephen.taskmanagement.repository.ClusterRepository;
+
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coordinates scheduled sync across API replicas sharing one database.
+ * <p>
+ * Every node heartbeats into {@code sync_nodes}. The holder of the leader lease runs the
+ * cluster-wide sweeps and prunes nodes that stopped heartbeating. Calendar events are split into
+ * a fixed number of partitions by row ID, and the partitions are assigned to the live nodes on a
+ * consistent-hash ring; when a node joins or leaves, only about its share of partitions moves.
+ * <p>
+ * Heartbeats run on their own thread so a long sync run cannot delay them past the lease or
+ * the node TTL. With clustering disabled this node leads and owns every partition.
+ */
+@Component
+@Slf4j
+public class ClusterCoordinator {
+    static final String LEADER_LEASE = "calendar-sync-leader";
+
+    private final ClusterRepository clusterRepository;
+    private final ClusterProperties clusterProperties;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cluster-heartbeat").daemon(true).factory());
+    private final AtomicLong ringVersion = new AtomicLong();
+
+    private volatile List<String> liveNodes = List.of();
+    private volatile Set<Long> ownedPartitions = Set.of();
+    private volatile long leaderUntilNanos;
+    private volatile long membershipValidUntilNanos;
+
+    public ClusterCoordinator(ClusterRepository clusterRepository,
+                              ClusterProperties clusterProperties,
+                              MeterRegistry meterRegistry) {
+        this.clusterRepository = clusterRepository;
+        this.clusterProperties = clusterProperties;
+        this.nodeId = clusterProperties.getNodeId() != null ? clusterProperties.getNodeId() : defaultNodeId();
+        if (!clusterProperties.getEnabled()) {
+            ownedPartitions = allPartitions();
+        }
+        meterRegistry.gauge("calendar.sync.cluster.nodes", this, coordinator -> coordinator.liveNodes.size());
+        meterRegistry.gauge("calendar.sync.cluster.leader", this, coordinator -> coordinator.isLeader() ? 1 : 0);
+        meterRegistry.gauge("calendar.sync.cluster.partitions.owned", this,
+                coordinator -> coordinator.ownedPartitions.size());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!clusterProperties.getEnabled()) {
+            return;
+        }
+        log.info("Joining sync cluster as node {}", nodeId);
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0,
+                clusterProperties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeatExecutor.shutdownNow();
+        if (!clusterProperties.getEnabled()) {
+            return;
+        }
+        try {
+            // Leave right away instead of after the TTL, so the others take over the work now
+            clusterRepository.releaseLease(LEADER_LEASE, nodeId);
+            clusterRepository.deleteNode(nodeId);
+        } catch (Exception e) {
+            log.warn("Could not leave the sync cluster cleanly: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether this node holds the leader lease. Judged against the local clock from the start of
+     * the last renewal, so a node cut off from the database stops leading before the lease can
+     * pass to someone else.
+     */
+    public boolean isLeader() {
+        return !clusterProperties.getEnabled() || System.nanoTime() - leaderUntilNanos < 0;
+    }
+
+    /**
+     * Whether this node polls the given calendar event.
+     */
+    public boolean owns(Long calendarEventId) {
+        return ownedPartitions().contains(partitionOf(calendarEventId));
+    }
+
+    /**
+     * Partitions this node polls. Empty while its heartbeats fail: the others will drop it from
+     * the ring after the TTL and poll its partitions themselves.
+     */
+    public Set<Long> ownedPartitions() {
+        if (!clusterProperties.getEnabled()) {
+            return ownedPartitions;
+        }
+        return System.nanoTime() - membershipValidUntilNanos < 0 ? ownedPartitions : Set.of();
+    }
+
+    /**
+     * This node's fraction of the partitions, and so of the cluster-wide poll budget.
+     */
+    public double share() {
+        return (double) ownedPartitions().size() / clusterProperties.getPartitions();
+    }
+
+    /**
+     * Incremented whenever the partition assignment changes.
+     */
+    public long ringVersion() {
+        return ringVersion.get();
+    }
+
+    public long partitionOf(Long calendarEventId) {
+        return Math.floorMod(calendarEventId, (long) clusterProperties.getPartitions());
+    }
+
+    public int getPartitionCount() {
+        return clusterProperties.getPartitions();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    void heartbeat() {
+        long startedAt = System.nanoTime();
+        try {
+            clusterRepository.heartbeat(nodeId);
+
+            boolean wasLeader = isLeader();
+            boolean leader = clusterRepository.tryAcquireLease(LEADER_LEASE, nodeId,
+                    clusterProperties.getLeaderLeaseSeconds());
+            leaderUntilNanos = leader
+                    ? startedAt + TimeUnit.SECONDS.toNanos(clusterProperties.getLeaderLeaseSeconds())
+                    : startedAt;
+            if (leader != wasLeader) {
+                log.info("Node {} {} cluster leadership", nodeId, leader ? "acquired" : "lost");
+            }
+            if (leader) {
+                int pruned = clusterRepository.deleteSilentNodes(clusterProperties.getNodeTtlSeconds());
+                if (pruned > 0) {
+                    log.info("Removed {} nodes that stopped heartbeating", pruned);
+                }
+            }
+
+            List<String> nodes = clusterRepository.findLiveNodeIds(clusterProperties.getNodeTtlSeconds());
+            if (!nodes.equals(liveNodes)) {
+                rebalance(nodes);
+            }
+            membershipValidUntilNanos = startedAt + TimeUnit.SECONDS.toNanos(clusterProperties.getNodeTtlSeconds());
+        } catch (Exception e) {
+            log.warn("Cluster heartbeat of node {} failed: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void rebalance(List<String> nodes) {
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, clusterProperties.getVirtualNodes());
+        Set<Long> owned = new HashSet<>();
+        for (long partition = 0; partition < clusterProperties.getPartitions(); partition++) {
+            if (nodeId.equals(ring.ownerOf("partition-" + partition))) {
+                owned.add(partition);
+            }
+        }
+        liveNodes = List.copyOf(nodes);
+        ownedPartitions = Set.copyOf(owned);
+        ringVersion.incrementAndGet();
+        log.info("Sync cluster has {} nodes, node {} owns {} of {} partitions",
+                nodes.size(), nodeId, owned.size(), clusterProperties.getPartitions());
+    }
+
+    private Set<Long> allPartitions() {
+        Set<Long> all = new HashSet<>();
+        for (long partition = 0; partition < clusterProperties.getPartitions(); partition++) {
+            all.add(partition);
+        }
+        return Set.copyOf(all);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,10 +1,12 @@
 package org.stephen.taskmanagement.service;
 
-import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.stephen.taskmanagement.dto.CalendarSyncDto;
 import org.stephen.taskmanagement.entity.CalendarEvent;
@@ -16,6 +18,7 @@ import org.stephen.taskmanagement.enums.SyncType;
 import org.stephen.taskmanagement.enums.TaskStatus;
 import org.stephen.taskmanagement.exception.InvalidOperationException;
 import org.stephen.taskmanagement.exception.ResourceNotFoundException;
+import org.stephen.taskmanagement.exception.ValidationException;
 import org.stephen.taskmanagement.repository.CalendarEventRepository;
 import org.stephen.taskmanagement.repository.SyncHistoryRepository;
 import org.stephen.taskmanagement.repository.TaskRepository;
@@ -24,27 +27,44 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class ConflictResolutionService {
-    private final Calendar googleCalendar;
+    private static final int MAX_ANALYSIS_PAGE_SIZE = 500;
+    // Parts per batched read, matching the gateway's batch size
+    private static final int ANALYSIS_BATCH_SIZE = 50;
+
+    private final GoogleCalendarGateway calendarGateway;
     private final TaskRepository taskRepository;
     private final CalendarEventRepository calendarEventRepository;
     private final SyncHistoryRepository syncHistoryRepository;
-
+    private final CalendarSyncStateService syncStateService;
+
+    /**
+     * Resolves the conflict on one task. Google is called against a detached snapshot with no
+     * transaction open; the outcome is written back in a short transaction that fails if the
+     * task or its link changed meanwhile, so resolutions can run in parallel without holding
+     * a pooled connection each.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CalendarSyncDto.ConflictResolutionResponse resolveConflict(
             CalendarSyncDto.ConflictResolutionRequest request) {
         log.info("Resolving conflict for task: {} using strategy: {}",
                 request.getTaskId(), request.getStrategy());
 
-        Task task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", String.valueOf(request.getTaskId())));
+        Task task = syncStateService.loadSnapshot(request.getTaskId());
 
         CalendarEvent calendarEvent = task.getCalendarEvent();
         if (calendarEvent == null || !calendarEvent.getConflictDetected()) {
@@ -53,59 +73,68 @@ public class ConflictResolutionService {
 
         Map<String, Object> resolvedData = new HashMap<>();
 
+        // The event as it stands in Google once resolved, or null when that is not known
+        Event resolvedEvent = null;
         try {
             switch (request.getStrategy()) {
-                case TASK_WINS -> resolveWithTaskWins(task, calendarEvent, resolvedData);
-                case CALENDAR_WINS -> resolveWithCalendarWins(task, calendarEvent, resolvedData);
+                case TASK_WINS -> resolvedEvent = resolveWithTaskWins(task, calendarEvent, resolvedData);
+                case CALENDAR_WINS -> resolvedEvent = resolveWithCalendarWins(task, calendarEvent, resolvedData);
                 case MANUAL -> resolveManually(task, calendarEvent, request, resolvedData);
-                case MERGE -> resolveWithMerge(task, calendarEvent, resolvedData);
+                case MERGE -> resolvedEvent = resolveWithMerge(task, calendarEvent, resolvedData);
             }
+        } catch (IOException e) {
+            log.error("Failed to resolve conflict for task: {}", task.getId(), e);
+            throw new InvalidOperationException("Failed to resolve conflict: " + e.getMessage());
+        }
 
+        Event finalEvent = resolvedEvent;
+        CalendarEvent resolvedLink = syncStateService.writeIfUnchanged(task, (current, currentEvent) -> {
+            // The strategies worked on the snapshot; only fields that differ dirty the task row
+            copyContent(task, current);
 
-            calendarEvent.setConflictDetected(false);
-            calendarEvent.setSyncStatus(SyncStatus.IN_SYNC);
-            calendarEvent.setConflictResolutionStrategy(request.getStrategy());
-            calendarEvent.setLastSyncedAt(LocalDateTime.now());
-            calendarEvent.setTaskLastModifiedAt(task.getUpdatedAt());
-
-            calendarEventRepository.save(calendarEvent);
-            taskRepository.save(task);
+            if (finalEvent != null) {
+                currentEvent.recordSyncedContent(current, GoogleCalendarGateway.contentFingerprint(finalEvent),
+                        finalEvent.getEtag());
+            }
 
+            currentEvent.setConflictDetected(false);
+            currentEvent.setConflictDetectedAt(null);
+            currentEvent.setSyncStatus(SyncStatus.IN_SYNC);
+            currentEvent.setConflictResolutionStrategy(request.getStrategy());
+            currentEvent.setLastSyncedAt(LocalDateTime.now());
+            currentEvent.setTaskLastModifiedAt(current.getUpdatedAt());
+            calendarEventRepository.save(currentEvent);
 
             SyncHistory history = SyncHistory.builder()
-                    .calendarEvent(calendarEvent)
+                    .calendarEvent(currentEvent)
                     .syncType(SyncType.MANUAL)
                     .syncDirection(SyncDirection.BIDIRECTIONAL)
                     .syncStatus(SyncStatus.IN_SYNC)
                     .changesApplied(resolvedData.toString())
                     .build();
             syncHistoryRepository.save(history);
+            return currentEvent;
+        });
 
-            log.info("Conflict resolved for task: {} using strategy: {}",
-                    request.getTaskId(), request.getStrategy());
-
-            return CalendarSyncDto.ConflictResolutionResponse.builder()
-                    .taskId(task.getId())
-                    .eventId(calendarEvent.getEventId())
-                    .appliedStrategy(request.getStrategy())
-                    .resolvedData(resolvedData)
-                    .resolvedAt(LocalDateTime.now())
-                    .message("Conflict resolved successfully using " + request.getStrategy() + " strategy")
-                    .build();
+        log.info("Conflict resolved for task: {} using strategy: {}",
+                request.getTaskId(), request.getStrategy());
 
-        } catch (IOException e) {
-            log.error("Failed to resolve conflict for task: {}", task.getId(), e);
-            throw new InvalidOperationException("Failed to resolve conflict: " + e.getMessage());
-        }
+        return CalendarSyncDto.ConflictResolutionResponse.builder()
+                .taskId(task.getId())
+                .eventId(resolvedLink.getEventId())
+                .appliedStrategy(request.getStrategy())
+                .resolvedData(resolvedData)
+                .resolvedAt(LocalDateTime.now())
+                .message("Conflict resolved successfully using " + request.getStrategy() + " strategy")
+                .build();
     }
 
-    private void resolveWithTaskWins(Task task, CalendarEvent calendarEvent,
+    private Event resolveWithTaskWins(Task task, CalendarEvent calendarEvent,
                                      Map<String, Object> resolvedData) throws IOException {
         log.debug("Applying TASK_WINS strategy for task: {}", task.getId());
 
-        Event googleEvent = googleCalendar.events()
-                .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                .execute();
+        Event googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                GoogleCalendarGateway.Fields.SYNC);
 
 
         googleEvent.setSummary(task.getTitle());
@@ -120,24 +149,23 @@ public class ConflictResolutionService {
             googleEvent.getEnd().setDateTime(dateTime);
         }
 
-        googleCalendar.events()
-                .update(calendarEvent.getCalendarId(), calendarEvent.getEventId(), googleEvent)
-                .execute();
+        Event patchedEvent = calendarGateway.patchEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                googleEvent);
 
         resolvedData.put("strategy", "TASK_WINS");
         resolvedData.put("taskTitle", task.getTitle());
         resolvedData.put("taskStatus", task.getStatus());
         resolvedData.put("taskDueDate", task.getDueDate());
         resolvedData.put("calendarUpdated", true);
+        return patchedEvent;
     }
 
-    private void resolveWithCalendarWins(Task task, CalendarEvent calendarEvent,
+    private Event resolveWithCalendarWins(Task task, CalendarEvent calendarEvent,
                                          Map<String, Object> resolvedData) throws IOException {
         log.debug("Applying CALENDAR_WINS strategy for task: {}", task.getId());
 
-        Event googleEvent = googleCalendar.events()
-                .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                .execute();
+        Event googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                GoogleCalendarGateway.Fields.SYNC);
 
 
         task.setTitle(googleEvent.getSummary());
@@ -159,16 +187,54 @@ public class ConflictResolutionService {
         resolvedData.put("taskTitle", task.getTitle());
         resolvedData.put("taskDueDate", task.getDueDate());
         resolvedData.put("taskUpdated", true);
+        return googleEvent;
     }
 
-    private void resolveWithMerge(Task task, CalendarEvent calendarEvent,
+    private Event resolveWithMerge(Task task, CalendarEvent calendarEvent,
                                   Map<String, Object> resolvedData) throws IOException {
         log.debug("Applying MERGE strategy for task: {}", task.getId());
 
-        Event googleEvent = googleCalendar.events()
-                .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                .execute();
+        Event googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                GoogleCalendarGateway.Fields.SYNC);
+
+        if (!calendarEvent.hasBaseSnapshot()) {
+            // Linked before base snapshots were recorded, so there is no ancestor to merge against
+            return resolveWithCalendarFieldsMerge(task, googleEvent, resolvedData);
+        }
+
+        ContentMerge merge = ContentMerge.of(calendarEvent, task, googleEvent);
+        if (merge.hasConflicts()) {
+            throw new InvalidOperationException("Fields changed differently on both sides need a MANUAL resolution: "
+                    + String.join(", ", merge.conflictingFields()));
+        }
+
+        merge.applyTo(task);
+        Event resolvedEvent = googleEvent;
+        if (merge.calendarNeedsUpdate()) {
+            googleEvent.setSummary(task.getTitle());
+            googleEvent.setDescription(task.getDescription());
+            if (task.getDueDate() != null) {
+                com.google.api.client.util.DateTime dateTime =
+                        new com.google.api.client.util.DateTime(
+                                java.util.Date.from(task.getDueDate().atZone(ZoneId.systemDefault()).toInstant())
+                        );
+                googleEvent.setStart(new EventDateTime().setDateTime(dateTime));
+                googleEvent.setEnd(new EventDateTime().setDateTime(dateTime));
+            }
+            googleEvent.setStatus(task.getStatus() == TaskStatus.COMPLETED ? "cancelled" : "confirmed");
+            resolvedEvent = calendarGateway.patchEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                    googleEvent);
+        }
 
+        resolvedData.put("strategy", "MERGE");
+        resolvedData.put("mergedFields", merge.mergedFields());
+        resolvedData.put("taskUpdated", !merge.mergedFields().isEmpty());
+        resolvedData.put("calendarUpdated", merge.calendarNeedsUpdate());
+        return resolvedEvent;
+    }
+
+    private Event resolveWithCalendarFieldsMerge(Task task, Event googleEvent,
+                                                 Map<String, Object> resolvedData) {
         Map<String, String> mergedChanges = new HashMap<>();
 
         if (!task.getTitle().equals(googleEvent.getSummary())) {
@@ -201,6 +267,7 @@ public class ConflictResolutionService {
         resolvedData.put("strategy", "MERGE");
         resolvedData.put("mergedFields", mergedChanges);
         resolvedData.put("taskUpdated", true);
+        return googleEvent;
     }
 
     private void resolveManually(Task task, CalendarEvent calendarEvent,
@@ -226,6 +293,102 @@ public class ConflictResolutionService {
         resolvedData.put("taskUpdated", true);
     }
 
+    private void copyContent(Task source, Task target) {
+        if (!Objects.equals(source.getTitle(), target.getTitle())) {
+            target.setTitle(source.getTitle());
+        }
+        if (!Objects.equals(source.getDescription(), target.getDescription())) {
+            target.setDescription(source.getDescription());
+        }
+        if (!Objects.equals(source.getDueDate(), target.getDueDate())) {
+            target.setDueDate(source.getDueDate());
+        }
+        if (source.getStatus() != target.getStatus()) {
+            target.setStatus(source.getStatus());
+        }
+    }
+
+    /**
+     * Analyzes one page of conflicts, reading the events with one batched call per calendar
+     * instead of a GET per task. The page is loaded and validated up front; the returned stream
+     * is lazy and only reads a batch from Google when it is consumed that far, so callers can
+     * write analyses out as they arrive. They come grouped by calendar.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<CalendarSyncDto.ConflictAnalysis> analyzeConflicts(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_ANALYSIS_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_ANALYSIS_PAGE_SIZE);
+        }
+
+        Map<String, List<CalendarEvent>> linksByCalendar = syncStateService
+                .loadConflictPage(PageRequest.of(page, size))
+                .stream()
+                .collect(Collectors.groupingBy(CalendarEvent::getCalendarId, LinkedHashMap::new, Collectors.toList()));
+
+        return linksByCalendar.entrySet().stream()
+                .flatMap(calendar -> IntStream.iterate(0, from -> from < calendar.getValue().size(),
+                                from -> from + ANALYSIS_BATCH_SIZE)
+                        .mapToObj(from -> calendar.getValue().subList(from,
+                                Math.min(from + ANALYSIS_BATCH_SIZE, calendar.getValue().size())))
+                        .flatMap(batch -> analyzeBatch(calendar.getKey(), batch)));
+    }
+
+    private Stream<CalendarSyncDto.ConflictAnalysis> analyzeBatch(String calendarId, List<CalendarEvent> batch) {
+        List<GoogleCalendarGateway.BatchResult<Event>> events = calendarGateway.getEvents(calendarId,
+                batch.stream().map(CalendarEvent::getEventId).toList());
+        return IntStream.range(0, batch.size())
+                .mapToObj(i -> toConflictAnalysis(batch.get(i), events.get(i)));
+    }
+
+    private CalendarSyncDto.ConflictAnalysis toConflictAnalysis(CalendarEvent link,
+                                                                GoogleCalendarGateway.BatchResult<Event> result) {
+        Task task = link.getTask();
+        CalendarSyncDto.ConflictAnalysis.ConflictAnalysisBuilder analysis = CalendarSyncDto.ConflictAnalysis.builder()
+                .taskId(task.getId())
+                .eventId(link.getEventId())
+                .calendarId(link.getCalendarId())
+                .conflictDetectedAt(link.getConflictDetectedAt())
+                .lastSynced(link.getLastSyncedAt());
+        if (!result.succeeded()) {
+            return analysis.error(result.error()).build();
+        }
+
+        Event googleEvent = result.value();
+        boolean hasBase = link.hasBaseSnapshot();
+        if (hasBase) {
+            ContentMerge merge = ContentMerge.of(link, task, googleEvent);
+            analysis.autoMergeable(!merge.hasConflicts()).conflictingFields(merge.conflictingFields());
+        }
+        return analysis
+                .title(compare(hasBase, link.getBaseTitle(), task.getTitle(), googleEvent.getSummary()))
+                .description(compare(hasBase, link.getBaseDescription(), task.getDescription(),
+                        googleEvent.getDescription()))
+                .dueDate(compare(hasBase, truncateToSeconds(link.getBaseDueDate()),
+                        truncateToSeconds(task.getDueDate()),
+                        truncateToSeconds(GoogleCalendarGateway.startDateTime(googleEvent))))
+                .completed(compare(hasBase, link.getBaseCompleted(), task.getStatus() == TaskStatus.COMPLETED,
+                        "cancelled".equals(googleEvent.getStatus())))
+                .build();
+    }
+
+    /**
+     * A field conflicts when the sides disagree and, if the base is known, both moved away from it.
+     */
+    private <T> CalendarSyncDto.FieldComparison<T> compare(boolean hasBase, T base, T taskValue, T calendarValue) {
+        boolean conflict = !Objects.equals(taskValue, calendarValue)
+                && (!hasBase || (!Objects.equals(taskValue, base) && !Objects.equals(calendarValue, base)));
+        return CalendarSyncDto.FieldComparison.<T>builder()
+                .baseValue(hasBase ? base : null)
+                .taskValue(taskValue)
+                .calendarValue(calendarValue)
+                .conflict(conflict)
+                .build();
+    }
+
+    private LocalDateTime truncateToSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
     public Map<String, Object> analyzeConflict(Long taskId) throws IOException {
         log.info("Analyzing conflict for task: {}", taskId);
 
@@ -239,9 +402,8 @@ public class ConflictResolutionService {
 
         Map<String, Object> analysis = new HashMap<>();
 
-        Event googleEvent = googleCalendar.events()
-                .get(calendarEvent.getCalendarId(), calendarEvent.getEventId())
-                .execute();
+        Event googleEvent = calendarGateway.getEvent(calendarEvent.getCalendarId(), calendarEvent.getEventId(),
+                GoogleCalendarGateway.Fields.SYNC);
 
         Map<String, Map<String, Object>> fieldComparison = new HashMap<>();
 
@@ -274,6 +436,12 @@ public class ConflictResolutionService {
         descriptionComparison.put("conflict", !Objects.equals(task.getDescription(), googleEvent.getDescription()));
         fieldComparison.put("description", descriptionComparison);
 
+        if (calendarEvent.hasBaseSnapshot()) {
+            ContentMerge merge = ContentMerge.of(calendarEvent, task, googleEvent);
+            analysis.put("autoMergeable", !merge.hasConflicts());
+            analysis.put("conflictingFields", merge.conflictingFields());
+        }
+
         analysis.put("taskId", taskId);
         analysis.put("eventId", calendarEvent.getEventId());
         analysis.put("fieldComparison", fieldComparison);
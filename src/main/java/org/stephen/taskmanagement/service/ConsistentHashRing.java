@@ -0,0 +1,47 @@
+package org.stephen.taskmanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of node IDs. Every node is placed at several points; a key belongs to
+ * the first point at or after its hash. When a node joins or leaves, only the keys next to its
+ * points change owner, about one in N, instead of nearly all of them as with modulo hashing.
+ */
+final class ConsistentHashRing {
+    private final TreeMap<Long, String> points = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    /**
+     * Owner of the key, or null when the ring is empty.
+     */
+    String ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    // 64-bit FNV-1a with a final avalanche, so short similar keys land far apart
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,96 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.services.calendar.model.Event;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Three-way merge of the synced fields of a task and its Google event against the base snapshot
+ * recorded on the link at the last successful sync. A field changed on one side only takes that
+ * side's value; a field changed on both sides to different values is a true conflict.
+ *
+ * @param mergedFields      fields whose merged value came from the calendar, with that value
+ * @param conflictingFields fields both sides changed differently; their merged value is the task's
+ */
+record ContentMerge(String title, String description, LocalDateTime dueDate, boolean completed,
+                    Map<String, Object> mergedFields, List<String> conflictingFields,
+                    boolean calendarNeedsUpdate) {
+
+    static ContentMerge of(CalendarEvent base, Task task, Event googleEvent) {
+        Map<String, Object> mergedFields = new LinkedHashMap<>();
+        List<String> conflictingFields = new ArrayList<>();
+        boolean[] calendarNeedsUpdate = new boolean[1];
+
+        Merger merger = new Merger(mergedFields, conflictingFields, calendarNeedsUpdate);
+        String title = merger.merge("title", base.getBaseTitle(), task.getTitle(), googleEvent.getSummary());
+        String description = merger.merge("description", base.getBaseDescription(), task.getDescription(),
+                googleEvent.getDescription());
+        LocalDateTime dueDate = merger.merge("dueDate", truncate(base.getBaseDueDate()),
+                truncate(task.getDueDate()), truncate(GoogleCalendarGateway.startDateTime(googleEvent)));
+        boolean completed = merger.merge("completed", Boolean.TRUE.equals(base.getBaseCompleted()),
+                task.getStatus() == TaskStatus.COMPLETED, "cancelled".equals(googleEvent.getStatus()));
+
+        return new ContentMerge(title, description, dueDate, completed,
+                mergedFields, conflictingFields, calendarNeedsUpdate[0]);
+    }
+
+    boolean hasConflicts() {
+        return !conflictingFields.isEmpty();
+    }
+
+    /**
+     * Writes the merged values into the task, touching only fields that differ so an unchanged
+     * task is not dirtied.
+     */
+    void applyTo(Task task) {
+        if (!Objects.equals(task.getTitle(), title)) {
+            task.setTitle(title);
+        }
+        if (!Objects.equals(task.getDescription(), description)) {
+            task.setDescription(description);
+        }
+        if (!Objects.equals(truncate(task.getDueDate()), dueDate)) {
+            task.setDueDate(dueDate);
+        }
+        if (completed && task.getStatus() != TaskStatus.COMPLETED) {
+            task.setStatus(TaskStatus.COMPLETED);
+        } else if (!completed && task.getStatus() == TaskStatus.COMPLETED) {
+            // Reopened in the calendar
+            task.setStatus(TaskStatus.PENDING);
+        }
+    }
+
+    private static LocalDateTime truncate(LocalDateTime dateTime) {
+        // Google keeps second precision
+        return dateTime != null ? dateTime.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
+    private record Merger(Map<String, Object> mergedFields, List<String> conflictingFields,
+                          boolean[] calendarNeedsUpdate) {
+
+        <T> T merge(String field, T base, T taskValue, T calendarValue) {
+            if (Objects.equals(taskValue, calendarValue)) {
+                return taskValue;
+            }
+            if (Objects.equals(taskValue, base)) {
+                mergedFields.put(field, calendarValue);
+                return calendarValue;
+            }
+            if (!Objects.equals(calendarValue, base)) {
+                conflictingFields.add(field);
+            }
+            // The task's value wins, so Google has to catch up
+            calendarNeedsUpdate[0] = true;
+            return taskValue;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.GoogleApiCircuitBreakerProperties;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker and bulkhead in front of Google Calendar. The breaker wraps the rate limiter:
+ * it watches the outcome of the last calls and, once too many of them failed, rejects calls
+ * without touching Google until the open period has passed; a few probe calls then decide
+ * whether it closes again. Only outages count as failures: transport errors and 5xx. Quota
+ * errors are the rate limiter's to slow down for, not a sign that Google is down.
+ * The bulkhead sits inside the rate limiter and bounds how many threads can be inside a Google
+ * request at once, so callers waiting for permits or backing off do not hold a slot.
+ */
+@Component
+@Slf4j
+public class GoogleApiCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final GoogleApiCircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+
+    // Ring of the last outcomes while closed, true for a failure
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public GoogleApiCircuitBreaker(GoogleApiCircuitBreakerProperties properties,
+                                   GoogleAccountPoolProperties accountPoolProperties,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // Concurrent calls are limited per account
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls() * accountPoolProperties.accountCount(), true);
+        this.outcomes = new boolean[properties.getSlidingWindowSize()];
+        meterRegistry.gauge("google.calendar.circuit.state", this, breaker -> breaker.getState().ordinal());
+        meterRegistry.gauge("google.calendar.bulkhead.available", bulkhead, Semaphore::availablePermits);
+    }
+
+    /**
+     * Runs the call if the circuit allows it and records its outcome.
+     *
+     * @throws CalendarUnavailableException if the circuit is open, or the call was turned away by the bulkhead
+     */
+    public <T> T execute(GoogleApiRateLimiter.GoogleCall<T> call) throws IOException {
+        if (!properties.getEnabled()) {
+            return call.execute();
+        }
+
+        // Checked before any rate-limit wait so an open circuit fails fast
+        if (!tryAcquirePermission()) {
+            reject("open");
+            throw new CalendarUnavailableException(
+                    "Google Calendar is unavailable, calls are suspended", retryAfterSeconds());
+        }
+
+        try {
+            T result = call.execute();
+            onCallFinished(false);
+            return result;
+        } catch (SocketTimeoutException e) {
+            onCallFinished(true);
+            throw e;
+        } catch (InterruptedIOException e) {
+            onCallIgnored();
+            throw e;
+        } catch (IOException e) {
+            onCallFinished(isOutage(e));
+            throw e;
+        } catch (RuntimeException e) {
+            onCallIgnored();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a single Google request once a bulkhead slot frees up within the configured wait.
+     *
+     * @throws CalendarUnavailableException if the bulkhead is full
+     */
+    public <T> T executeInBulkhead(GoogleApiRateLimiter.GoogleCall<T> call) throws IOException {
+        if (!properties.getEnabled()) {
+            return call.execute();
+        }
+
+        acquireBulkhead();
+        try {
+            return call.execute();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return recordedCalls;
+    }
+
+    public synchronized int getFailedCalls() {
+        return failedCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    /**
+     * Seconds until an open circuit lets a probe through, or 0 when it is not open.
+     */
+    public synchronized long retryAfterSeconds() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenStateDurationMs())
+                - (System.nanoTime() - openedAtNanos);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L));
+    }
+
+    private void acquireBulkhead() throws InterruptedIOException {
+        try {
+            if (!bulkhead.tryAcquire(properties.getMaxWaitMs(), TimeUnit.MILLISECONDS)) {
+                reject("bulkhead");
+                throw new CalendarUnavailableException(
+                        "Too many concurrent Google Calendar calls, try again shortly", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a Google Calendar call slot");
+        }
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            long openNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenStateDurationMs());
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= properties.getHalfOpenProbeCalls()) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    private synchronized void onCallFinished(boolean failed) {
+        switch (state) {
+            case HALF_OPEN -> {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (failed) {
+                    transitionTo(State.OPEN);
+                } else if (++probeSuccesses >= properties.getHalfOpenProbeCalls()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failed);
+                if (recordedCalls >= properties.getMinimumCalls()
+                        && failedCalls * 100 >= properties.getFailureRateThreshold() * recordedCalls) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            // Calls that started before the circuit opened do not change anything
+            case OPEN -> { }
+        }
+    }
+
+    private synchronized void onCallIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case HALF_OPEN -> {
+                probesInFlight = 0;
+                probeSuccesses = 0;
+            }
+            case CLOSED -> {
+                outcomeIndex = 0;
+                recordedCalls = 0;
+                failedCalls = 0;
+            }
+        }
+        meterRegistry.counter("google.calendar.circuit.transitions",
+                "from", previous.name(), "to", next.name()).increment();
+        if (next == State.OPEN) {
+            log.warn("Google Calendar circuit {} -> OPEN, suspending calls for {} ms",
+                    previous, properties.getOpenStateDurationMs());
+        } else {
+            log.info("Google Calendar circuit {} -> {}", previous, next);
+        }
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("google.calendar.circuit.rejected", "reason", reason).increment();
+    }
+
+    private boolean isOutage(IOException e) {
+        if (e instanceof HttpResponseException httpException) {
+            int status = httpException.getStatusCode();
+            return status >= 500;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,245 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.GoogleApiRateLimitProperties;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared token-bucket limiter placed in front of every Google Calendar call.
+ * Each call draws a permit from the bucket of the authorizing user and from the bucket
+ * of the target calendar. Quota (403 rateLimitExceeded / 429) and 5xx responses halve the
+ * rate of both buckets and are retried with exponential backoff and full jitter; successful
+ * calls slowly restore the configured rate.
+ */
+@Component
+@Slf4j
+public class GoogleApiRateLimiter {
+    public static final String DEFAULT_USER = "user";
+
+    private static final Set<String> QUOTA_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded");
+
+    private final GoogleApiRateLimitProperties rateLimitProperties;
+    private final CalendarSyncProperties syncProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> calendarBuckets = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter retryCounter;
+
+    public GoogleApiRateLimiter(GoogleApiRateLimitProperties rateLimitProperties,
+                                CalendarSyncProperties syncProperties,
+                                MeterRegistry meterRegistry) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.syncProperties = syncProperties;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = meterRegistry.timer("google.calendar.ratelimit.wait");
+        this.retryCounter = meterRegistry.counter("google.calendar.ratelimit.retries");
+        meterRegistry.gauge("google.calendar.ratelimit.queue.depth", queueDepth);
+    }
+
+    /**
+     * A call that carries several API requests, such as a batch request, passes their number as
+     * {@code requests}: Google counts each part against quota, so it draws one permit per part.
+     * Quota errors are retried for every call: Google rejected the request without acting on it.
+     * A 5xx may come after Google already stored the change, so it is only retried when
+     * {@code retryOnServerError} says repeating the call is harmless (reads, patches, deletes).
+     */
+    public <T> T execute(String user, String calendarId, int requests, boolean retryOnServerError,
+                         GoogleCall<T> call) throws IOException {
+        if (!rateLimitProperties.getEnabled()) {
+            return call.execute();
+        }
+
+        TokenBucket userBucket = userBuckets.computeIfAbsent(user, key -> newBucket("user", key,
+                rateLimitProperties.getUserOverrides().getOrDefault(key, rateLimitProperties.getUserPermitsPerSecond())));
+        TokenBucket calendarBucket = calendarBuckets.computeIfAbsent(calendarId, key -> newBucket("calendar", key,
+                rateLimitProperties.getCalendarOverrides().getOrDefault(key, rateLimitProperties.getCalendarPermitsPerSecond())));
+
+        int attempt = 0;
+        while (true) {
+            acquire(userBucket, requests);
+            acquire(calendarBucket, requests);
+            try {
+                T result = call.execute();
+                userBucket.onSuccess();
+                calendarBucket.onSuccess();
+                return result;
+            } catch (HttpResponseException e) {
+                String throttleReason = throttleReason(e);
+                if (throttleReason == null) {
+                    throw e;
+                }
+
+                meterRegistry.counter("google.calendar.ratelimit.throttled", "reason", throttleReason).increment();
+                userBucket.onThrottled();
+                calendarBucket.onThrottled();
+
+                if ("server".equals(throttleReason) && !retryOnServerError) {
+                    log.warn("Google Calendar call for calendar {} failed ({}), not retried as it may have been applied",
+                            calendarId, e.getStatusCode());
+                    throw e;
+                }
+
+                if (attempt >= syncProperties.getMaxRetries()) {
+                    log.warn("Google Calendar call for calendar {} still throttled ({}) after {} retries",
+                            calendarId, e.getStatusCode(), attempt);
+                    throw e;
+                }
+
+                long backoffMillis = backoffMillis(attempt++);
+                log.debug("Google Calendar call for calendar {} throttled ({}), retry {} in {} ms",
+                        calendarId, e.getStatusCode(), attempt, backoffMillis);
+                retryCounter.increment();
+                sleep(backoffMillis);
+            }
+        }
+    }
+
+    private void acquire(TokenBucket bucket, int permits) throws IOException {
+        long waitNanos = bucket.reserve(permits);
+        if (waitNanos <= 0) {
+            return;
+        }
+        queueDepth.incrementAndGet();
+        try {
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the metric reason when the error is worth backing off for, or {@code null} otherwise.
+     */
+    private String throttleReason(HttpResponseException e) {
+        int status = e.getStatusCode();
+        if (status == 429) {
+            return "quota";
+        }
+        if (status >= 500) {
+            return "server";
+        }
+        if (status == 403 && e instanceof GoogleJsonResponseException jsonException
+                && isQuotaError(jsonException.getDetails())) {
+            return "quota";
+        }
+        return null;
+    }
+
+    /**
+     * Whether the error, e.g. of a single batch part, is Google refusing the request for quota.
+     */
+    static boolean isQuotaError(GoogleJsonError error) {
+        if (error == null) {
+            return false;
+        }
+        if (error.getCode() == 429) {
+            return true;
+        }
+        return error.getCode() == 403 && error.getErrors() != null && error.getErrors().stream()
+                .anyMatch(info -> QUOTA_REASONS.contains(info.getReason()));
+    }
+
+    private long backoffMillis(int attempt) {
+        long baseMillis = TimeUnit.SECONDS.toMillis(syncProperties.getRetryDelaySeconds());
+        long capMillis = TimeUnit.SECONDS.toMillis(rateLimitProperties.getMaxBackoffSeconds());
+        long ceiling = Math.min(capMillis, baseMillis << Math.min(attempt, 20));
+        // Full jitter spreads retries from many workers instead of letting them hit Google in lockstep
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    private void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Google Calendar rate limit");
+        }
+    }
+
+    private TokenBucket newBucket(String scope, String key, double permitsPerSecond) {
+        TokenBucket bucket = new TokenBucket(permitsPerSecond, rateLimitProperties.getMinPermitsPerSecond());
+        meterRegistry.gauge("google.calendar.ratelimit.permits.per.second",
+                Tags.of("scope", scope, "key", key), bucket, TokenBucket::currentRate);
+        return bucket;
+    }
+
+    @FunctionalInterface
+    public interface GoogleCall<T> {
+        T execute() throws IOException;
+    }
+
+    private static final class TokenBucket {
+        private final double configuredRate;
+        private final double minRate;
+        private double rate;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double configuredRate, double minRate) {
+            this.configuredRate = configuredRate;
+            this.minRate = Math.min(minRate, configuredRate);
+            this.rate = configuredRate;
+            this.tokens = capacity();
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * Takes the permits and returns how long the caller must wait before using them.
+         * Tokens may go negative: the debt is what queued callers are waiting for.
+         */
+        synchronized long reserve(int permits) {
+            refill();
+            tokens -= permits;
+            return tokens >= 0 ? 0 : (long) (-tokens / rate * 1_000_000_000L);
+        }
+
+        synchronized void onThrottled() {
+            refill();
+            rate = Math.max(minRate, rate / 2);
+        }
+
+        synchronized void onSuccess() {
+            if (rate < configuredRate) {
+                refill();
+                rate = Math.min(configuredRate, rate + configuredRate * 0.05);
+            }
+        }
+
+        synchronized double currentRate() {
+            return rate;
+        }
+
+        private double capacity() {
+            return Math.max(1, rate);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity(), tokens + (now - lastRefillNanos) / 1_000_000_000.0 * rate);
+            lastRefillNanos = now;
+        }
+    }
+}
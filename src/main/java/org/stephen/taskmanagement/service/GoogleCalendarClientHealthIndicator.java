@@ -0,0 +1,30 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether the Google Calendar clients are built, under {@code /actuator/health} as
+ * {@code googleCalendarClient}. It belongs to the {@code calendar} health group, not to
+ * readiness: task CRUD is served while the clients are still connecting.
+ */
+@Component("googleCalendarClient")
+@RequiredArgsConstructor
+public class GoogleCalendarClientHealthIndicator implements HealthIndicator {
+
+    private final GoogleCalendarClients calendarClients;
+
+    @Override
+    public Health health() {
+        GoogleCalendarClients.State state = calendarClients.getState();
+        Health.Builder builder = switch (state) {
+            case READY -> Health.up().withDetail("initializationMillis", calendarClients.getInitializationMillis());
+            case PENDING, INITIALIZING -> Health.outOfService();
+            case FAILED -> Health.down().withDetail("error", calendarClients.getFailure());
+            case DISABLED -> Health.unknown();
+        };
+        return builder.withDetail("state", state).build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.services.calendar.Calendar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One Google Calendar client per account, and the account each calendar is served by.
+ * Calendars not assigned to an account, such as {@code primary}, go to the default account.
+ */
+public class GoogleCalendarClientPool {
+    private final Map<String, Calendar> clientsByAccount;
+    private final Map<String, String> accountsByCalendar;
+    private final String defaultAccount;
+
+    public GoogleCalendarClientPool(Map<String, Calendar> clientsByAccount,
+                                    Map<String, String> accountsByCalendar,
+                                    String defaultAccount) {
+        if (!clientsByAccount.containsKey(defaultAccount)) {
+            throw new IllegalArgumentException("Default account " + defaultAccount + " has no client");
+        }
+        accountsByCalendar.forEach((calendarId, account) -> {
+            if (!clientsByAccount.containsKey(account)) {
+                throw new IllegalArgumentException("Calendar " + calendarId + " is assigned to unknown account " + account);
+            }
+        });
+        this.clientsByAccount = new LinkedHashMap<>(clientsByAccount);
+        this.accountsByCalendar = Map.copyOf(accountsByCalendar);
+        this.defaultAccount = defaultAccount;
+    }
+
+    /**
+     * A pool of one client serving every calendar.
+     */
+    public static GoogleCalendarClientPool single(Calendar client) {
+        return new GoogleCalendarClientPool(Map.of(GoogleApiRateLimiter.DEFAULT_USER, client), Map.of(),
+                GoogleApiRateLimiter.DEFAULT_USER);
+    }
+
+    public String accountFor(String calendarId) {
+        return accountsByCalendar.getOrDefault(calendarId, defaultAccount);
+    }
+
+    public Calendar clientFor(String calendarId) {
+        return clientsByAccount.get(accountFor(calendarId));
+    }
+
+    public Set<String> accountIds() {
+        return clientsByAccount.keySet();
+    }
+}
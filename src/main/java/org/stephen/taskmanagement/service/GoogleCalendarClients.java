@@ -0,0 +1,125 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds the Google Calendar clients in the background, so that loading credentials, and the
+ * interactive installed-app consent in particular, never holds up startup. Building starts once
+ * the application is ready, or on first use; until it succeeds calls fail fast with
+ * {@link CalendarUnavailableException}, which pushes already treat as "retry later". A failed
+ * build is retried on use after the retry interval, e.g. once credentials have been mounted.
+ */
+@Slf4j
+public class GoogleCalendarClients {
+    private static final long CONNECTING_RETRY_AFTER_SECONDS = 5;
+
+    public enum State {
+        DISABLED, PENDING, INITIALIZING, READY, FAILED
+    }
+
+    private final Callable<GoogleCalendarClientPool> factory;
+    private final long retryIntervalSeconds;
+    private final AtomicReference<State> state;
+
+    private volatile GoogleCalendarClientPool pool;
+    private volatile String failure;
+    private volatile long failedAtNanos;
+    private volatile long initializationMillis;
+
+    public GoogleCalendarClients(boolean enabled, long retryIntervalSeconds, Callable<GoogleCalendarClientPool> factory) {
+        this.factory = factory;
+        this.retryIntervalSeconds = retryIntervalSeconds;
+        this.state = new AtomicReference<>(enabled ? State.PENDING : State.DISABLED);
+    }
+
+    /**
+     * Clients that are ready from the start.
+     */
+    public static GoogleCalendarClients ready(GoogleCalendarClientPool pool) {
+        GoogleCalendarClients clients = new GoogleCalendarClients(true, 0, () -> pool);
+        clients.pool = pool;
+        clients.state.set(State.READY);
+        return clients;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        initializeAsync();
+    }
+
+    /**
+     * Starts building the clients unless that is already under way, done, or failed too recently.
+     */
+    public void initializeAsync() {
+        boolean start = state.compareAndSet(State.PENDING, State.INITIALIZING)
+                || (state.get() == State.FAILED && retryAfterSeconds() == 0
+                        && state.compareAndSet(State.FAILED, State.INITIALIZING));
+        if (start) {
+            Thread.ofPlatform().name("google-calendar-init").daemon(true).start(this::initialize);
+        }
+    }
+
+    /**
+     * The clients, or {@link CalendarUnavailableException} while they are not built.
+     */
+    public GoogleCalendarClientPool pool() {
+        GoogleCalendarClientPool ready = pool;
+        if (ready != null) {
+            return ready;
+        }
+        if (state.get() == State.DISABLED) {
+            throw new CalendarUnavailableException("Google Calendar integration is disabled", retryIntervalSeconds);
+        }
+        initializeAsync();
+        if (state.get() == State.FAILED) {
+            throw new CalendarUnavailableException("Google Calendar could not be connected: " + failure,
+                    Math.max(1, retryAfterSeconds()));
+        }
+        throw new CalendarUnavailableException("Google Calendar is still connecting", CONNECTING_RETRY_AFTER_SECONDS);
+    }
+
+    public boolean isReady() {
+        return pool != null;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getInitializationMillis() {
+        return initializationMillis;
+    }
+
+    private void initialize() {
+        long startedAt = System.nanoTime();
+        try {
+            pool = factory.call();
+            initializationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            failure = null;
+            state.set(State.READY);
+            log.info("Google Calendar clients ready after {} ms", initializationMillis);
+        } catch (Exception e) {
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            failedAtNanos = System.nanoTime();
+            state.set(State.FAILED);
+            log.error("Google Calendar clients could not be initialized, retrying on use in {} s: {}",
+                    retryIntervalSeconds, failure);
+        }
+    }
+
+    private long retryAfterSeconds() {
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - failedAtNanos);
+        return Math.max(0, retryIntervalSeconds - elapsedSeconds);
+    }
+}
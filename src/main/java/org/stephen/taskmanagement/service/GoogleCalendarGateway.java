@@ -0,0 +1,421 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.client.util.Data;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.Events;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.entity.ContentFingerprint;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Single entry point for Google Calendar event calls, so that cross-cutting policies
+ * (circuit breaker, bulkhead, rate limiting, backoff, the shared event cache) apply to every
+ * request the application makes. Each call goes out through the client of the account that
+ * serves its calendar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GoogleCalendarGateway {
+    private static final int MAX_BATCH_REQUESTS = 50;
+    private static final int MAX_LIST_RESULTS = 2500;
+    // Listing for reconciliation: identity, version and our ownership marker, nothing else
+    private static final String LIST_IDS_MASK = "nextPageToken,items(id,etag,status,created,extendedProperties/private)";
+
+    /** Private extended properties marking events this service created, and for which task. */
+    public static final String SOURCE_PROPERTY = "source";
+    public static final String SOURCE_VALUE = "task-management";
+    public static final String TASK_ID_PROPERTY = "taskId";
+
+    private final GoogleCalendarClients calendarClients;
+    private final GoogleApiRateLimiter rateLimiter;
+    private final GoogleApiCircuitBreaker circuitBreaker;
+    private final RemoteEventCache eventCache;
+
+    /**
+     * Reads the event, returning only the fields in {@code fields}. There is deliberately no
+     * unmasked read: the full resource carries attendees, conferencing and reminders we never use.
+     * Every mask is a subset of {@link Fields#SYNC}, so any read can be answered from a cached
+     * snapshot; only {@code SYNC} reads fill the cache.
+     */
+    public Event getEvent(String calendarId, String eventId, Fields fields) throws IOException {
+        Event cached = eventCache.getIfFresh(calendarId, eventId);
+        if (cached != null) {
+            return cached;
+        }
+        if (fields != Fields.SYNC) {
+            return fetchEvent(calendarId, eventId, fields, null);
+        }
+
+        String etag = eventCache.etagFor(calendarId, eventId);
+        if (etag != null) {
+            Event changed = fetchEvent(calendarId, eventId, fields, etag);
+            if (changed == null) {
+                Event revalidated = eventCache.revalidated(calendarId, eventId);
+                if (revalidated != null) {
+                    return revalidated;
+                }
+            } else {
+                eventCache.put(calendarId, eventId, changed);
+                return changed;
+            }
+        }
+
+        Event event = fetchEvent(calendarId, eventId, fields, null);
+        eventCache.put(calendarId, eventId, event);
+        return event;
+    }
+
+    /**
+     * Reads many events of one calendar with the {@link Fields#SYNC} mask. Fresh cached snapshots
+     * are served as is; the rest are fetched with batch requests and cached. Results line up with the input.
+     */
+    public List<BatchResult<Event>> getEvents(String calendarId, List<String> eventIds) {
+        List<BatchResult<Event>> results = new ArrayList<>(Collections.nCopies(eventIds.size(), null));
+        List<Integer> missIndexes = new ArrayList<>();
+        List<String> missIds = new ArrayList<>();
+        for (int i = 0; i < eventIds.size(); i++) {
+            Event cached = eventCache.getIfFresh(calendarId, eventIds.get(i));
+            if (cached != null) {
+                results.set(i, BatchResult.success(cached));
+            } else {
+                missIndexes.add(i);
+                missIds.add(eventIds.get(i));
+            }
+        }
+
+        List<BatchResult<Event>> fetched = executeBatched(calendarId, missIds, true,
+                (batch, eventId, callback) -> {
+                    Calendar.Events.Get request = calendarClients.pool().clientFor(calendarId).events().get(calendarId, eventId);
+                    request.setFields(Fields.SYNC.mask());
+                    request.queue(batch, callback);
+                });
+        for (int i = 0; i < fetched.size(); i++) {
+            BatchResult<Event> result = fetched.get(i);
+            if (result.succeeded()) {
+                eventCache.put(calendarId, missIds.get(i), result.value());
+            }
+            results.set(missIndexes.get(i), result);
+        }
+        return results;
+    }
+
+    /**
+     * One page of the calendar's events carrying only {@code id}, {@code etag}, {@code status},
+     * {@code created} and the private extended properties. Cancelled events are included: a
+     * completed task keeps its event as cancelled. Google returns them in no particular order.
+     */
+    public Events listEventIds(String calendarId, String pageToken) throws IOException {
+        return execute(calendarId, 1, true, () -> {
+            Calendar.Events.List request = calendarClients.pool().clientFor(calendarId).events().list(calendarId);
+            request.setFields(LIST_IDS_MASK);
+            request.setMaxResults(MAX_LIST_RESULTS);
+            request.setPageToken(pageToken);
+            request.setShowDeleted(true);
+            return request.execute();
+        });
+    }
+
+    public Event insertEvent(String calendarId, Event event) throws IOException {
+        // A 5xx may follow a stored insert; retrying it would create a duplicate event
+        return execute(calendarId, 1, false, () -> {
+            Calendar.Events.Insert request = calendarClients.pool().clientFor(calendarId).events().insert(calendarId, event);
+            request.setFields(Fields.WRITE_RESULT.mask());
+            return request.execute();
+        });
+    }
+
+    /**
+     * Patches the fields set on {@code event}. Events are read with field masks, so writing one
+     * back with a full update would clear everything the mask left out.
+     */
+    public Event patchEvent(String calendarId, String eventId, Event event) throws IOException {
+        try {
+            return execute(calendarId, 1, true, () -> {
+                Calendar.Events.Patch request = calendarClients.pool().clientFor(calendarId).events().patch(calendarId, eventId, event);
+                request.setFields(Fields.WRITE_RESULT.mask());
+                return request.execute();
+            });
+        } finally {
+            // Also after a failure: the patch may have been applied before the response was lost
+            eventCache.invalidate(calendarId, eventId);
+        }
+    }
+
+    public void deleteEvent(String calendarId, String eventId) throws IOException {
+        try {
+            execute(calendarId, 1, true,
+                    () -> calendarClients.pool().clientFor(calendarId).events().delete(calendarId, eventId).execute());
+        } finally {
+            eventCache.invalidate(calendarId, eventId);
+        }
+    }
+
+    /**
+     * Inserts the events with batch HTTP requests of up to {@value #MAX_BATCH_REQUESTS} parts.
+     * Results line up with the input; a failed part or a failed batch never aborts the others.
+     */
+    public List<BatchResult<Event>> insertEvents(String calendarId, List<Event> events) {
+        return executeBatched(calendarId, events, false,
+                (batch, event, callback) -> {
+                    Calendar.Events.Insert request = calendarClients.pool().clientFor(calendarId).events().insert(calendarId, event);
+                    request.setFields(Fields.WRITE_RESULT.mask());
+                    request.queue(batch, callback);
+                });
+    }
+
+    /**
+     * Deletes the events with batch HTTP requests. Results line up with the input.
+     */
+    public List<BatchResult<Void>> deleteEvents(String calendarId, List<String> eventIds) {
+        eventIds.forEach(eventId -> eventCache.invalidate(calendarId, eventId));
+        return executeBatched(calendarId, eventIds, true,
+                (batch, eventId, callback) -> calendarClients.pool().clientFor(calendarId).events().delete(calendarId, eventId).queue(batch, callback));
+    }
+
+    /**
+     * Removes our ownership marker from events that stay in Google after their link is gone,
+     * so reconciliation does not take them for leaked events. Results line up with the input.
+     */
+    public List<BatchResult<Event>> releaseOwnership(String calendarId, List<String> eventIds) {
+        eventIds.forEach(eventId -> eventCache.invalidate(calendarId, eventId));
+        return executeBatched(calendarId, eventIds, true,
+                (batch, eventId, callback) -> {
+                    // Explicit nulls remove the keys; a plain null would leave them out of the patch
+                    Map<String, String> properties = new HashMap<>();
+                    properties.put(SOURCE_PROPERTY, Data.NULL_STRING);
+                    properties.put(TASK_ID_PROPERTY, Data.NULL_STRING);
+                    Event patch = new Event().setExtendedProperties(
+                            new Event.ExtendedProperties().setPrivate(properties));
+                    Calendar.Events.Patch request = calendarClients.pool().clientFor(calendarId).events().patch(calendarId, eventId, patch);
+                    request.setFields("id");
+                    request.queue(batch, callback);
+                });
+    }
+
+    private <I, T> List<BatchResult<T>> executeBatched(String calendarId, List<I> inputs, boolean idempotent,
+                                                       BatchQueuer<I, T> queuer) {
+        List<BatchResult<T>> results = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+        for (int from = 0; from < inputs.size(); from += MAX_BATCH_REQUESTS) {
+            int start = from;
+            int end = Math.min(from + MAX_BATCH_REQUESTS, inputs.size());
+            // Parts still to send: the whole chunk at first, then only the parts Google throttled
+            List<Integer> pending = new ArrayList<>(IntStream.range(start, end).boxed().toList());
+            try {
+                // The batch is built inside the call so a throttled batch is rebuilt on retry
+                execute(calendarId, end - start, idempotent, () -> {
+                    BatchRequest batch = calendarClients.pool().clientFor(calendarId).batch();
+                    Set<Integer> throttled = new HashSet<>();
+                    for (int i : pending) {
+                        queuer.queue(batch, inputs.get(i), callback(results, throttled, i));
+                    }
+                    batch.execute();
+                    pending.retainAll(throttled);
+                    if (!pending.isEmpty()) {
+                        // Quota errors of single parts back off and slow down like a throttled call
+                        throw new HttpResponseException.Builder(429, "Too Many Requests", new HttpHeaders())
+                                .setMessage(pending.size() + " batch parts were rate limited")
+                                .build();
+                    }
+                    return null;
+                });
+            } catch (IOException e) {
+                log.error("Batch request for calendar {} failed for items {}-{}", calendarId, start, end - 1, e);
+                failUnanswered(results, start, end, statusCode(e), e.getMessage());
+            } catch (CalendarUnavailableException e) {
+                log.warn("Batch request for calendar {} rejected for items {}-{}: {}",
+                        calendarId, start, end - 1, e.getMessage());
+                failUnanswered(results, start, end, e.getHttpStatus().value(), e.getMessage());
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, BatchResult.failure(0, "No response for batch part"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Tags an event we are about to create with the task it belongs to, so reconciliation can
+     * tell our events from the user's own.
+     */
+    public static Event markOwned(Event event, Long taskId) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(SOURCE_PROPERTY, SOURCE_VALUE);
+        properties.put(TASK_ID_PROPERTY, String.valueOf(taskId));
+        return event.setExtendedProperties(new Event.ExtendedProperties().setPrivate(properties));
+    }
+
+    /**
+     * The task an event was created for, or null when we did not create it.
+     */
+    public static Long ownedTaskId(Event event) {
+        Map<String, String> properties = event.getExtendedProperties() != null
+                ? event.getExtendedProperties().getPrivate()
+                : null;
+        if (properties == null || !SOURCE_VALUE.equals(properties.get(SOURCE_PROPERTY))) {
+            return null;
+        }
+        try {
+            return Long.valueOf(properties.get(TASK_ID_PROPERTY));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fingerprint of the synced content of a Google event, comparable with
+     * {@link org.stephen.taskmanagement.entity.Task#computeContentFingerprint()}.
+     */
+    public static long contentFingerprint(Event event) {
+        return ContentFingerprint.of(event.getSummary(), event.getDescription(), startDateTime(event),
+                "cancelled".equals(event.getStatus()));
+    }
+
+    /**
+     * Start of the event in the system zone, the value a task holds as its due date.
+     */
+    public static LocalDateTime startDateTime(Event event) {
+        EventDateTime start = event.getStart();
+        DateTime startTime = start == null ? null
+                : start.getDateTime() != null ? start.getDateTime() : start.getDate();
+        return startTime == null ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(startTime.getValue()), ZoneId.systemDefault());
+    }
+
+    /**
+     * Reads the event, conditionally when {@code etag} is given. Returns {@code null} on 304 Not Modified.
+     */
+    private Event fetchEvent(String calendarId, String eventId, Fields fields, String etag) throws IOException {
+        return execute(calendarId, 1, true, () -> {
+            Calendar.Events.Get request = calendarClients.pool().clientFor(calendarId).events().get(calendarId, eventId);
+            request.setFields(fields.mask());
+            if (etag != null) {
+                request.getRequestHeaders().setIfNoneMatch(etag);
+            }
+            try {
+                return request.execute();
+            } catch (HttpResponseException e) {
+                // A 304 is a successful call as far as the rate limiter and circuit breaker are concerned
+                if (e.getStatusCode() == HttpStatusCodes.STATUS_CODE_NOT_MODIFIED) {
+                    return null;
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * @param idempotent whether repeating the call after a 5xx is harmless; inserts are not
+     */
+    private <T> T execute(String calendarId, int requests, boolean idempotent,
+                          GoogleApiRateLimiter.GoogleCall<T> call) throws IOException {
+        // Quota is drawn from the bucket of the account that serves the calendar. Resolved before
+        // the breaker: clients that are not built yet are no Google outage.
+        String account = calendarClients.pool().accountFor(calendarId);
+        // The bulkhead slot is taken per attempt, after the permits, and never held through a backoff
+        return circuitBreaker.execute(() -> rateLimiter.execute(account, calendarId, requests, idempotent,
+                () -> circuitBreaker.executeInBulkhead(call)));
+    }
+
+    private <T> JsonBatchCallback<T> callback(List<BatchResult<T>> results, Set<Integer> throttled, int index) {
+        return new JsonBatchCallback<>() {
+            @Override
+            public void onSuccess(T value, HttpHeaders responseHeaders) {
+                results.set(index, BatchResult.success(value));
+            }
+
+            @Override
+            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                results.set(index, BatchResult.failure(error.getCode(), error.getMessage()));
+                if (GoogleApiRateLimiter.isQuotaError(error)) {
+                    throttled.add(index);
+                }
+            }
+        };
+    }
+
+    /**
+     * Fails the parts of a chunk that got no answer; parts that were answered before a retry keep theirs.
+     */
+    private <T> void failUnanswered(List<BatchResult<T>> results, int start, int end, int statusCode, String error) {
+        for (int i = start; i < end; i++) {
+            if (results.get(i) == null) {
+                results.set(i, BatchResult.failure(statusCode, error));
+            }
+        }
+    }
+
+    private int statusCode(IOException e) {
+        return e instanceof HttpResponseException httpException ? httpException.getStatusCode() : 0;
+    }
+
+    @FunctionalInterface
+    private interface BatchQueuer<I, T> {
+        void queue(BatchRequest batch, I input, JsonBatchCallback<T> callback) throws IOException;
+    }
+
+    /**
+     * Partial-response masks for event reads, one per kind of call site.
+     */
+    public enum Fields {
+        /** Pulls, conflict checks and resolution: what is compared with or copied onto a task. */
+        SYNC("id,etag,status,updated,summary,description,start,end"),
+        /** Reads ahead of a push, which overwrites every field it sends from the task. */
+        PUSH("id,etag,status"),
+        /** Responses to inserts and patches: the id, what the link row records and its fingerprint. */
+        WRITE_RESULT("id,etag,status,updated,summary,description,start,end");
+
+        private final String mask;
+
+        Fields(String mask) {
+            this.mask = mask;
+        }
+
+        public String mask() {
+            return mask;
+        }
+    }
+
+    /**
+     * Outcome of one part of a batch request. {@code statusCode} is 0 when no HTTP response was received.
+     */
+    public record BatchResult<T>(T value, int statusCode, String error) {
+        static <T> BatchResult<T> success(T value) {
+            return new BatchResult<>(value, 200, null);
+        }
+
+        static <T> BatchResult<T> failure(int statusCode, String error) {
+            return new BatchResult<>(null, statusCode, error);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
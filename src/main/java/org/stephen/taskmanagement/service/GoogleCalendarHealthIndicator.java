@@ -0,0 +1,33 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the Google Calendar circuit under {@code /actuator/health} as {@code googleCalendar}.
+ * DOWN while the circuit is open, UNKNOWN while probe calls decide whether Google is back.
+ */
+@Component("googleCalendar")
+@RequiredArgsConstructor
+public class GoogleCalendarHealthIndicator implements HealthIndicator {
+
+    private final GoogleApiCircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        GoogleApiCircuitBreaker.State state = circuitBreaker.getState();
+        Health.Builder builder = switch (state) {
+            case CLOSED -> Health.up();
+            case HALF_OPEN -> Health.unknown();
+            case OPEN -> Health.down().withDetail("retryAfterSeconds", circuitBreaker.retryAfterSeconds());
+        };
+        return builder
+                .withDetail("circuitState", state)
+                .withDetail("bufferedCalls", circuitBreaker.getBufferedCalls())
+                .withDetail("failedCalls", circuitBreaker.getFailedCalls())
+                .withDetail("availableConcurrentCalls", circuitBreaker.getAvailableConcurrentCalls())
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.RemoteEventCacheProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded LRU cache of Google event snapshots, keyed by calendar and event id. Analysing a
+ * conflict, resolving it and the sync that follows all read the same event within seconds;
+ * a snapshot younger than the fresh period is served as is, an older one is revalidated
+ * with its ETag so an unchanged event costs a 304 instead of a full read.
+ *
+ * <p>Snapshots are copied on the way in and out, since callers edit the events they read.
+ */
+@Component
+@Slf4j
+public class RemoteEventCache {
+
+    private final RemoteEventCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Entry> entries;
+
+    public RemoteEventCache(RemoteEventCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+        meterRegistry.gauge("google.calendar.event.cache.size", this, RemoteEventCache::size);
+    }
+
+    /**
+     * Returns a copy of the snapshot if it is young enough to use without asking Google, or {@code null}.
+     */
+    public synchronized Event getIfFresh(String calendarId, String eventId) {
+        Entry entry = usableEntry(calendarId, eventId);
+        if (entry == null || ageNanos(entry) > TimeUnit.SECONDS.toNanos(properties.getFreshSeconds())) {
+            return null;
+        }
+        record("hit");
+        return entry.event().clone();
+    }
+
+    /**
+     * Returns the ETag to revalidate a cached snapshot with, or {@code null} if there is none.
+     */
+    public synchronized String etagFor(String calendarId, String eventId) {
+        Entry entry = usableEntry(calendarId, eventId);
+        return entry != null ? entry.event().getEtag() : null;
+    }
+
+    /**
+     * Marks the snapshot as confirmed by a 304 and returns a copy, or {@code null} if it was evicted meanwhile.
+     */
+    public synchronized Event revalidated(String calendarId, String eventId) {
+        Key key = new Key(calendarId, eventId);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entries.put(key, new Entry(entry.event(), System.nanoTime()));
+        record("revalidated");
+        return entry.event().clone();
+    }
+
+    /**
+     * Stores a snapshot read in full from Google. A snapshot older than the cached one, by the
+     * event's updated timestamp, loses: it comes from a read that raced a newer one.
+     */
+    public synchronized void put(String calendarId, String eventId, Event event) {
+        record("miss");
+        if (!properties.getEnabled()) {
+            return;
+        }
+        Key key = new Key(calendarId, eventId);
+        Entry current = entries.get(key);
+        if (current != null && isOlder(event.getUpdated(), current.event().getUpdated())) {
+            log.debug("Ignoring stale snapshot of event {} in calendar {}", eventId, calendarId);
+            return;
+        }
+        entries.put(key, new Entry(event.clone(), System.nanoTime()));
+    }
+
+    /**
+     * Drops the snapshot; called for every write we make to the event.
+     */
+    public synchronized void invalidate(String calendarId, String eventId) {
+        entries.remove(new Key(calendarId, eventId));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry usableEntry(String calendarId, String eventId) {
+        if (!properties.getEnabled()) {
+            return null;
+        }
+        Key key = new Key(calendarId, eventId);
+        Entry entry = entries.get(key);
+        if (entry != null && ageNanos(entry) > TimeUnit.SECONDS.toNanos(properties.getMaxAgeSeconds())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private long ageNanos(Entry entry) {
+        return System.nanoTime() - entry.cachedAtNanos();
+    }
+
+    private boolean isOlder(DateTime candidate, DateTime cached) {
+        return candidate != null && cached != null && candidate.getValue() < cached.getValue();
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("google.calendar.event.cache", "result", result).increment();
+    }
+
+    private record Key(String calendarId, String eventId) {
+    }
+
+    private record Entry(Event event, long cachedAtNanos) {
+    }
+}
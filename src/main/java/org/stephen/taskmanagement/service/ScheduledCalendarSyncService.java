@@ -7,13 +7,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.config.AdaptivePollProperties;
 import org.stephen.taskmanagement.config.CalendarSyncProperties;
-import org.stephen.taskmanagement.entity.CalendarEvent;
 import org.stephen.taskmanagement.enums.SyncStatus;
 import org.stephen.taskmanagement.repository.CalendarEventRepository;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,34 +22,44 @@ public class ScheduledCalendarSyncService {
     private final CalendarSyncService calendarSyncService;
     private final CalendarEventRepository calendarEventRepository;
     private final CalendarSyncProperties syncProperties;
+    private final ChunkedSyncRunner chunkedSyncRunner;
+    private final SyncPriorityScheduler syncPriorityScheduler;
+    private final AdaptivePollScheduler adaptivePollScheduler;
+    private final AdaptivePollProperties pollProperties;
+    private final CalendarSyncStateService syncStateService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final GoogleCalendarClients calendarClients;
 
     @Scheduled(cron = "${scheduling.sync-cron:0 */5 * * * ?}")
-    @Transactional
     public void performScheduledSync() {
         if (!syncProperties.getAutoSyncEnabled()) {
             log.debug("Automatic sync is disabled");
             return;
         }
+        if (!calendarClients.isReady()) {
+            log.debug("Scheduled sync skipped, Google Calendar is not connected");
+            return;
+        }
+        if (!clusterCoordinator.isLeader()) {
+            log.debug("Scheduled sync skipped, another node leads the cluster");
+            return;
+        }
 
         log.info("Starting scheduled calendar synchronization");
 
         try {
-            // Find all events that need syncing
-            List<CalendarEvent> eventsToSync = calendarEventRepository.findBySyncStatus(SyncStatus.SYNC_PENDING)
-                    .stream()
-                    .filter(event -> event.getTask() != null && event.getTask().getCalendarSyncEnabled())
-                    .collect(Collectors.toList());
-
-            log.info("Found {} events pending sync", eventsToSync.size());
-
-            eventsToSync.forEach(event -> {
-                try {
-                    log.debug("Syncing event for task: {}", event.getTask().getId());
-                    calendarSyncService.syncTaskToCalendar(event.getTask().getId());
-                } catch (Exception e) {
-                    log.error("Failed to sync task during scheduled sync: {}", event.getTask().getId(), e);
-                }
-            });
+            // Catch task edits that bypassed the outbox, e.g. bulk SQL, by comparing fingerprints
+            int changed = syncStateService.markChangedTasksPending();
+            if (changed > 0) {
+                log.info("Marked {} calendar events pending after task content changed", changed);
+            }
+
+            // Sweep pending events the outbox drain did not cover, one checkpointed chunk at a time.
+            // Stops if leadership is lost; the new leader resumes from the checkpoint.
+            chunkedSyncRunner.run("scheduled-sync",
+                    calendarEventRepository::findStrandedPendingSyncWorkItems,
+                    item -> calendarSyncService.syncTaskToCalendar(item.taskId()),
+                    chunkResult -> clusterCoordinator.isLeader());
 
             log.info("Scheduled synchronization completed");
 
@@ -60,94 +68,66 @@ public class ScheduledCalendarSyncService {
         }
     }
 
-    @Scheduled(cron = "${scheduling.conflict-check-cron:0 0 * * * ?}")
-    @Transactional
-    public void performConflictCheck() {
-        log.info("Starting scheduled conflict check");
-
+    /**
+     * Captured task changes and due retries share one priority-ordered dispatch, so this one
+     * trigger drains whatever of either is due. Every node drains: claims skip rows locked by
+     * the others, so each push goes out once.
+     */
+    @Scheduled(fixedDelayString = "${scheduling.outbox.poll-interval-ms:2000}")
+    public void drainSyncOutbox() {
+        if (!calendarClients.isReady()) {
+            // Captured changes wait in the outbox until the clients are built
+            return;
+        }
         try {
-            // Find all potentially conflicted events
-            List<CalendarEvent> conflictedEvents = calendarEventRepository.findConflictedEvents()
-                    .stream()
-                    .filter(event -> event.getTask() != null && event.getTask().getCalendarSyncEnabled())
-                    .collect(Collectors.toList());
-
-            log.info("Found {} conflicted events", conflictedEvents.size());
-
-            conflictedEvents.forEach(event -> {
-                try {
-                    log.debug("Checking conflict for task: {}", event.getTask().getId());
-                    // Perform sync from calendar to detect current conflicts
-                    calendarSyncService.syncCalendarToTask(event.getTask().getId());
-                } catch (Exception e) {
-                    log.error("Failed to check conflict for task: {}", event.getTask().getId(), e);
-                }
-            });
-
-            log.info("Scheduled conflict check completed");
-
+            syncPriorityScheduler.dispatch();
         } catch (Exception e) {
-            log.error("Error during scheduled conflict check", e);
+            log.error("Error while draining the sync outbox", e);
         }
     }
 
-    @Scheduled(cron = "0 0 3 * * ?")
-    @Transactional
-    public void performRetryFailedSyncs() {
-        log.info("Starting retry of failed syncs");
+    @Scheduled(fixedDelayString = "${scheduling.adaptive-poll.tick-ms:10000}")
+    public void pollCalendarEvents() {
+        if (!syncProperties.getAutoSyncEnabled() || !pollProperties.getEnabled() || !calendarClients.isReady()) {
+            return;
+        }
 
         try {
-            List<CalendarEvent> failedEvents = calendarEventRepository.findBySyncStatus(SyncStatus.SYNC_FAILED)
-                    .stream()
-                    .filter(event -> event.getTask() != null && event.getTask().getCalendarSyncEnabled())
-                    .collect(Collectors.toList());
-
-            log.info("Found {} failed sync events to retry", failedEvents.size());
-
-            failedEvents.forEach(event -> {
-                try {
-                    log.debug("Retrying sync for task: {}", event.getTask().getId());
-                    calendarSyncService.syncTaskToCalendar(event.getTask().getId());
-                } catch (Exception e) {
-                    log.error("Failed to retry sync for task: {}", event.getTask().getId(), e);
-                }
-            });
-
-            log.info("Retry of failed syncs completed");
-
+            adaptivePollScheduler.tick();
         } catch (Exception e) {
-            log.error("Error during retry of failed syncs", e);
+            log.error("Error while polling calendar events", e);
         }
     }
 
-    public void triggerFullSync() {
-        log.info("Triggering full synchronization of all tasks");
+    @Scheduled(cron = "${scheduling.conflict-check-cron:0 0 * * * ?}")
+    public void performConflictCheck() {
+        if (pollProperties.getEnabled() && syncProperties.getAutoSyncEnabled()) {
+            // Conflicted events are polled with the rest, at their own adaptive intervals
+            log.debug("Conflict check skipped, adaptive polling is enabled");
+            return;
+        }
+        if (!calendarClients.isReady()) {
+            log.debug("Conflict check skipped, Google Calendar is not connected");
+            return;
+        }
+        if (!clusterCoordinator.isLeader()) {
+            log.debug("Conflict check skipped, another node leads the cluster");
+            return;
+        }
+
+        log.info("Starting scheduled conflict check");
 
         try {
-            List<CalendarEvent> allEvents = calendarEventRepository.findAll()
-                    .stream()
-                    .filter(event -> event.getTask() != null && event.getTask().getCalendarSyncEnabled())
-                    .collect(Collectors.toList());
-
-            log.info("Full sync initiated for {} calendar events", allEvents.size());
-
-            int syncedCount = 0;
-            int failedCount = 0;
-
-            for (CalendarEvent event : allEvents) {
-                try {
-                    calendarSyncService.syncTaskToCalendar(event.getTask().getId());
-                    syncedCount++;
-                } catch (Exception e) {
-                    log.error("Failed to sync task during full sync: {}", event.getTask().getId(), e);
-                    failedCount++;
-                }
-            }
+            // Perform sync from calendar to detect current conflicts
+            chunkedSyncRunner.run("conflict-check",
+                    calendarEventRepository::findConflictedSyncWorkItems,
+                    item -> calendarSyncService.syncCalendarToTask(item.taskId()),
+                    chunkResult -> clusterCoordinator.isLeader());
 
-            log.info("Full sync completed: {} succeeded, {} failed", syncedCount, failedCount);
+            log.info("Scheduled conflict check completed");
 
         } catch (Exception e) {
-            log.error("Error during full synchronization", e);
+            log.error("Error during scheduled conflict check", e);
         }
     }
 
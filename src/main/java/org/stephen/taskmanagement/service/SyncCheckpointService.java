@@ -0,0 +1,68 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.entity.SyncCheckpoint;
+import org.stephen.taskmanagement.enums.SyncRunStatus;
+import org.stephen.taskmanagement.repository.SyncCheckpointRepository;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SyncCheckpointService {
+    private final SyncCheckpointRepository checkpointRepository;
+
+    /**
+     * Opens a run and returns the calendar event id it should continue after.
+     * A run left {@code IN_PROGRESS} by a crashed or restarted node resumes from its last checkpoint.
+     */
+    public long beginRun(String runName) {
+        SyncCheckpoint checkpoint = checkpointRepository.findByRunName(runName)
+                .orElseGet(() -> SyncCheckpoint.builder().runName(runName).build());
+
+        if (checkpoint.getStatus() == SyncRunStatus.IN_PROGRESS) {
+            log.info("Resuming run {} after calendar event {} ({} items already processed)",
+                    runName, checkpoint.getLastProcessedId(), checkpoint.getProcessedCount());
+            return checkpoint.getLastProcessedId();
+        }
+
+        checkpoint.setStatus(SyncRunStatus.IN_PROGRESS);
+        checkpoint.setLastProcessedId(0L);
+        checkpoint.setProcessedCount(0L);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setCompletedAt(null);
+        checkpointRepository.save(checkpoint);
+        return 0L;
+    }
+
+    public void advance(String runName, long lastProcessedId, int processedInChunk) {
+        SyncCheckpoint checkpoint = getCheckpoint(runName);
+        checkpoint.setLastProcessedId(lastProcessedId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + processedInChunk);
+        checkpointRepository.save(checkpoint);
+    }
+
+    public void complete(String runName) {
+        SyncCheckpoint checkpoint = getCheckpoint(runName);
+        checkpoint.setStatus(SyncRunStatus.COMPLETED);
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Drops the checkpoint of a run that will not be run again, such as a finished job.
+     */
+    public void delete(String runName) {
+        checkpointRepository.deleteByRunName(runName);
+    }
+
+    private SyncCheckpoint getCheckpoint(String runName) {
+        return checkpointRepository.findByRunName(runName)
+                .orElseThrow(() -> new IllegalStateException("No checkpoint for sync run: " + runName));
+    }
+}
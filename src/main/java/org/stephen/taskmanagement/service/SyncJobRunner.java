@@ -0,0 +1,261 @@
+package org.stephen.taskmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.SyncJobProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.entity.SyncJobItem;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.repository.CalendarEventRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Runs sync jobs in the background. Each job walks its items in keyset-ordered chunks,
+ * pushes every chunk through the {@link SyncWorkerPool} and records progress after it,
+ * so status polling sees results while the job is still running.
+ */
+@Component
+@Slf4j
+public class SyncJobRunner {
+
+    private final SyncJobService syncJobService;
+    private final CalendarSyncService calendarSyncService;
+    private final ConflictResolutionService conflictResolutionService;
+    private final CalendarReconciliationService calendarReconciliationService;
+    private final CalendarEventRepository calendarEventRepository;
+    private final SyncWorkerPool syncWorkerPool;
+    private final ChunkedSyncRunner chunkedSyncRunner;
+    private final SyncCheckpointService syncCheckpointService;
+    private final CalendarSyncProperties syncProperties;
+    private final ExecutorService jobExecutor;
+
+    public SyncJobRunner(SyncJobService syncJobService,
+                         CalendarSyncService calendarSyncService,
+                         ConflictResolutionService conflictResolutionService,
+                         CalendarReconciliationService calendarReconciliationService,
+                         CalendarEventRepository calendarEventRepository,
+                         SyncWorkerPool syncWorkerPool,
+                         ChunkedSyncRunner chunkedSyncRunner,
+                         SyncCheckpointService syncCheckpointService,
+                         CalendarSyncProperties syncProperties,
+                         SyncJobProperties jobProperties) {
+        this.syncJobService = syncJobService;
+        this.calendarSyncService = calendarSyncService;
+        this.conflictResolutionService = conflictResolutionService;
+        this.calendarReconciliationService = calendarReconciliationService;
+        this.calendarEventRepository = calendarEventRepository;
+        this.syncWorkerPool = syncWorkerPool;
+        this.chunkedSyncRunner = chunkedSyncRunner;
+        this.syncCheckpointService = syncCheckpointService;
+        this.syncProperties = syncProperties;
+        this.jobExecutor = Executors.newFixedThreadPool(jobProperties.getMaxConcurrentJobs(),
+                Thread.ofPlatform().name("sync-job-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Persists the job and queues it. Returns as soon as the job is committed.
+     */
+    public CalendarSyncDto.BulkSyncResponse submitBulkSync(InputStream requestBody) throws IOException {
+        SyncJob job = syncJobService.createBulkSyncJob(requestBody);
+        launch(job);
+        return syncJobService.toBulkSyncResponse(job, List.of());
+    }
+
+    public CalendarSyncDto.BulkSyncResponse submitFullSync() {
+        SyncJob job = syncJobService.createFullSyncJob(calendarEventRepository.countSyncEnabled());
+        launch(job);
+        return syncJobService.toBulkSyncResponse(job, List.of());
+    }
+
+    /**
+     * Queues a job that resolves the matching conflicts in parallel batches through the worker pool.
+     */
+    public CalendarSyncDto.BulkSyncResponse submitBulkResolve(CalendarSyncDto.BulkConflictResolutionRequest request) {
+        SyncJob job = syncJobService.createBulkResolveJob(request);
+        launch(job);
+        return syncJobService.toBulkSyncResponse(job, List.of());
+    }
+
+    /**
+     * Queues a job that diffs a calendar against our links. Without {@code repair} it only reports.
+     */
+    public CalendarSyncDto.BulkSyncResponse submitReconcile(String calendarId, boolean repair) {
+        SyncJob job = syncJobService.createReconcileJob(
+                calendarId != null ? calendarId : syncProperties.getPrimaryCalendarId(), repair);
+        launch(job);
+        return syncJobService.toBulkSyncResponse(job, List.of());
+    }
+
+    /**
+     * Re-queues a cancelled, failed or abandoned job. Bulk jobs continue with their pending items,
+     * full syncs from their last checkpoint.
+     */
+    public CalendarSyncDto.BulkSyncResponse resume(Long jobId) {
+        SyncJob job = syncJobService.resumeJob(jobId);
+        launch(job);
+        return syncJobService.toBulkSyncResponse(job, List.of());
+    }
+
+    private void launch(SyncJob job) {
+        Long jobId = job.getId();
+        jobExecutor.execute(() -> syncJobService.startJob(jobId).ifPresent(this::run));
+    }
+
+    private void run(SyncJob job) {
+        log.info("Sync job {} ({}) started, attempt {}", job.getId(), job.getJobType(), job.getAttempt());
+        try {
+            switch (job.getJobType()) {
+                case BULK_SYNC, BULK_RESOLVE -> runBulkSync(job);
+                case FULL_SYNC -> runFullSync(job);
+                case RECONCILE -> calendarReconciliationService.reconcile(job,
+                        findings -> syncJobService.recordFindings(job, findings));
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                syncJobService.failJob(job, "Interrupted by shutdown, resume the job to continue");
+                return;
+            }
+            if (!syncJobService.completeJob(job)) {
+                return;
+            }
+            // A finished job is never resumed, so its checkpoint has served its purpose
+            if (job.getJobType() == SyncJobType.FULL_SYNC) {
+                syncCheckpointService.delete(fullSyncRunName(job));
+            }
+            log.info("Sync job {} finished", job.getId());
+        } catch (Exception e) {
+            log.error("Sync job {} failed", job.getId(), e);
+            syncJobService.failJob(job, e.getMessage());
+        }
+    }
+
+    private void runBulkSync(SyncJob job) {
+        List<SyncJobItem> chunk = syncJobService.findPendingItems(job.getId(), 0L);
+        while (!chunk.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            processBulkSyncChunk(job, chunk);
+            if (!syncJobService.recordChunk(job, chunk)) {
+                log.info("Sync job {} stopped: cancelled or superseded", job.getId());
+                return;
+            }
+            chunk = syncJobService.findPendingItems(job.getId(), chunk.get(chunk.size() - 1).getId());
+        }
+    }
+
+    /**
+     * Pushes every synced task, walking calendar events in keyset order one chunk at a time.
+     * The checkpoint is kept per job, so a resumed job continues after the last finished chunk.
+     */
+    private void runFullSync(SyncJob job) {
+        chunkedSyncRunner.run(fullSyncRunName(job),
+                calendarEventRepository::findSyncEnabledWorkItems,
+                item -> calendarSyncService.syncTaskToCalendar(item.taskId()),
+                chunkResult -> syncJobService.recordRunProgress(job, chunkResult));
+    }
+
+    private String fullSyncRunName(SyncJob job) {
+        return "full-sync-job-" + job.getId();
+    }
+
+    private void processBulkSyncChunk(SyncJob job, List<SyncJobItem> chunk) {
+        Map<Long, SyncJobItem> itemsByTask = new LinkedHashMap<>();
+        for (SyncJobItem item : chunk) {
+            if (itemsByTask.putIfAbsent(item.getTaskId(), item) != null) {
+                finish(item, SyncJobItemStatus.SKIPPED, null, null, "Duplicate task ID in request");
+            }
+        }
+
+        boolean conflictedOnly = Boolean.TRUE.equals(job.getConflictedOnly());
+        List<SyncWorkItem> workItems = calendarEventRepository.findSyncWorkItemsByTaskIds(
+                itemsByTask.keySet(), conflictedOnly);
+        Set<Long> selectedTaskIds = workItems.stream().map(SyncWorkItem::taskId).collect(Collectors.toSet());
+
+        // Unknown tasks, tasks without sync and tasks dropped by the conflicted-only filter
+        itemsByTask.values().stream()
+                .filter(item -> !selectedTaskIds.contains(item.getTaskId()))
+                .forEach(item -> finish(item,
+                        conflictedOnly ? SyncJobItemStatus.SKIPPED : SyncJobItemStatus.FAILED, null, null,
+                        conflictedOnly ? "Task is not synced with calendar or has no conflict"
+                                : "Task is not synced with calendar"));
+
+        SyncRunResult result = syncWorkerPool.execute("bulk-sync", workItems, workItem -> {
+            SyncJobItem item = itemsByTask.get(workItem.taskId());
+            try {
+                CalendarSyncDto.SyncResponse response = job.getJobType() == SyncJobType.BULK_RESOLVE
+                        ? resolve(job.getResolutionStrategy(), workItem.taskId())
+                        : sync(job.getSyncDirection(), workItem.taskId());
+                finish(item, SyncJobItemStatus.SUCCEEDED, response.getEventId(), response.getSyncStatus(),
+                        response.getMessage());
+            } catch (RuntimeException e) {
+                finish(item, SyncJobItemStatus.FAILED, null, SyncStatus.SYNC_FAILED, e.getMessage());
+                throw e;
+            }
+        });
+        log.debug("Bulk sync job {} chunk: {} selected, {} succeeded, {} failed",
+                job.getId(), result.getTotalItems(), result.getSucceeded(), result.getFailed());
+    }
+
+    /**
+     * Bidirectional sync pulls calendar changes first and only pushes the task
+     * when the pull did not raise a conflict.
+     */
+    private CalendarSyncDto.SyncResponse sync(SyncDirection direction, Long taskId) {
+        return switch (direction) {
+            case TASK_TO_CALENDAR -> calendarSyncService.syncTaskToCalendar(taskId);
+            case CALENDAR_TO_TASK -> calendarSyncService.syncCalendarToTask(taskId);
+            case BIDIRECTIONAL -> {
+                CalendarSyncDto.SyncResponse pulled = calendarSyncService.syncCalendarToTask(taskId);
+                yield pulled.getSyncStatus() == SyncStatus.CONFLICT
+                        ? pulled
+                        : calendarSyncService.syncTaskToCalendar(taskId);
+            }
+        };
+    }
+
+    private CalendarSyncDto.SyncResponse resolve(ConflictResolutionStrategy strategy, Long taskId) {
+        CalendarSyncDto.ConflictResolutionResponse resolved = conflictResolutionService.resolveConflict(
+                CalendarSyncDto.ConflictResolutionRequest.builder()
+                        .taskId(taskId)
+                        .strategy(strategy)
+                        .build());
+        return CalendarSyncDto.SyncResponse.builder()
+                .taskId(taskId)
+                .eventId(resolved.getEventId())
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictResolved(true)
+                .syncedAt(resolved.getResolvedAt())
+                .message(resolved.getMessage())
+                .build();
+    }
+
+    private void finish(SyncJobItem item, SyncJobItemStatus status, String eventId,
+                        SyncStatus syncStatus, String message) {
+        item.setStatus(status);
+        item.setEventId(eventId);
+        item.setSyncStatus(syncStatus);
+        item.setMessage(message);
+        item.setProcessedAt(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
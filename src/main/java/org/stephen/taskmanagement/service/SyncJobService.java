@@ -0,0 +1,492 @@
+package org.stephen.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.config.SyncJobProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.entity.SyncJobItem;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.exception.ResourceNotFoundException;
+import org.stephen.taskmanagement.exception.ValidationException;
+import org.stephen.taskmanagement.repository.SyncJobItemRepository;
+import org.stephen.taskmanagement.repository.SyncJobRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent state of background sync jobs. The work itself is driven by {@link SyncJobRunner};
+ * this service owns the short transactions that create jobs and record their progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SyncJobService {
+    private static final int MAX_MESSAGE_LENGTH = 4000;
+
+    private final SyncJobRepository syncJobRepository;
+    private final SyncJobItemRepository syncJobItemRepository;
+    private final SyncJobProperties jobProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a bulk sync job from a {@code BulkSyncRequest} body. Task IDs are streamed
+     * straight into job items in batches, so the request is never held in memory as a whole.
+     * <p>
+     * Runs outside a transaction: the body arrives as fast as the client sends it, and no
+     * connection should be held while waiting on it. The job row is written first and each
+     * batch of items is a short write of its own; a rejected request removes what it wrote.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SyncJob createBulkSyncJob(InputStream requestBody) throws IOException {
+        SyncJob job = syncJobRepository.save(SyncJob.builder()
+                .jobType(SyncJobType.BULK_SYNC)
+                .status(SyncJobStatus.QUEUED)
+                .syncDirection(SyncDirection.BIDIRECTIONAL)
+                .conflictedOnly(false)
+                .attempt(1)
+                .totalItems(0)
+                .processedItems(0)
+                .successfulItems(0)
+                .failedItems(0)
+                .skippedItems(0)
+                .build());
+
+        try {
+            return fillBulkSyncJob(job, requestBody);
+        } catch (IOException | RuntimeException e) {
+            discardJob(job.getId());
+            throw e;
+        }
+    }
+
+    private SyncJob fillBulkSyncJob(SyncJob job, InputStream requestBody) throws IOException {
+        int totalItems = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(requestBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ValidationException("Bulk sync request must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "taskIds" -> totalItems += insertTaskIds(job.getId(), parser);
+                    case "syncDirection" -> {
+                        if (value != JsonToken.VALUE_NULL) {
+                            job.setSyncDirection(parseSyncDirection(parser.getText()));
+                        }
+                    }
+                    case "syncConflictedOnly" -> job.setConflictedOnly(parser.getValueAsBoolean(false));
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Malformed bulk sync request: " + e.getOriginalMessage());
+        }
+
+        if (totalItems == 0) {
+            throw new ValidationException("Task IDs are required");
+        }
+
+        job.setTotalItems(totalItems);
+        log.info("Created bulk sync job {} for {} tasks ({}, conflicted only: {})",
+                job.getId(), totalItems, job.getSyncDirection(), job.getConflictedOnly());
+        return syncJobRepository.save(job);
+    }
+
+    /**
+     * Creates a full sync job over every synced calendar event. The total is a snapshot taken now;
+     * events linked while the job runs are picked up if their id is past the job's cursor.
+     */
+    public SyncJob createFullSyncJob(long totalItems) {
+        SyncJob job = syncJobRepository.save(SyncJob.builder()
+                .jobType(SyncJobType.FULL_SYNC)
+                .status(SyncJobStatus.QUEUED)
+                .syncDirection(SyncDirection.TASK_TO_CALENDAR)
+                .conflictedOnly(false)
+                .attempt(1)
+                .totalItems((int) totalItems)
+                .processedItems(0)
+                .successfulItems(0)
+                .failedItems(0)
+                .skippedItems(0)
+                .build());
+        log.info("Created full sync job {} for {} calendar events", job.getId(), totalItems);
+        return job;
+    }
+
+    /**
+     * Creates a job that resolves every conflicted calendar event matching the request's filters
+     * with one strategy. The matching tasks are copied into job items with a single INSERT ... SELECT,
+     * so the job works through the conflicts as they stood at submission.
+     */
+    public SyncJob createBulkResolveJob(CalendarSyncDto.BulkConflictResolutionRequest request) {
+        if (request.getStrategy() == ConflictResolutionStrategy.MANUAL) {
+            throw new ValidationException("MANUAL resolution needs per-task values and cannot be applied in bulk");
+        }
+
+        SyncJob job = syncJobRepository.save(SyncJob.builder()
+                .jobType(SyncJobType.BULK_RESOLVE)
+                .status(SyncJobStatus.QUEUED)
+                .syncDirection(SyncDirection.BIDIRECTIONAL)
+                .conflictedOnly(true)
+                .resolutionStrategy(request.getStrategy())
+                .attempt(1)
+                .totalItems(0)
+                .processedItems(0)
+                .successfulItems(0)
+                .failedItems(0)
+                .skippedItems(0)
+                .build());
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO sync_job_items (job_id, task_id, status) " +
+                        "SELECT ?, ce.task_id, ? FROM calendar_events ce JOIN task t ON t.id = ce.task_id " +
+                        "WHERE ce.conflict_detected = TRUE AND t.calendar_sync_enabled = TRUE");
+        List<Object> args = new ArrayList<>(List.of(job.getId(), SyncJobItemStatus.PENDING.name()));
+        if (request.getCalendarId() != null) {
+            sql.append(" AND ce.calendar_id = ?");
+            args.add(request.getCalendarId());
+        }
+        if (request.getMinAgeMinutes() != null) {
+            sql.append(" AND ce.conflict_detected_at <= ?");
+            args.add(Timestamp.valueOf(LocalDateTime.now().minusMinutes(request.getMinAgeMinutes())));
+        }
+        if (request.getTag() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM task_tags tt JOIN tags g ON g.id = tt.tag_id " +
+                    "WHERE tt.task_id = t.id AND g.name = ?)");
+            args.add(request.getTag());
+        }
+        sql.append(" ORDER BY ce.id");
+
+        int totalItems = jdbcTemplate.update(sql.toString(), args.toArray());
+        job.setTotalItems(totalItems);
+        log.info("Created bulk resolve job {} for {} conflicts ({}, calendar: {}, min age: {} min, tag: {})",
+                job.getId(), totalItems, request.getStrategy(), request.getCalendarId(),
+                request.getMinAgeMinutes(), request.getTag());
+        return syncJobRepository.save(job);
+    }
+
+    /**
+     * Creates a reconciliation job for one calendar. Its items are the findings, recorded as the
+     * job runs, so the totals only become final when it completes.
+     */
+    public SyncJob createReconcileJob(String calendarId, boolean repair) {
+        SyncJob job = syncJobRepository.save(SyncJob.builder()
+                .jobType(SyncJobType.RECONCILE)
+                .status(SyncJobStatus.QUEUED)
+                .calendarId(calendarId)
+                .repair(repair)
+                .conflictedOnly(false)
+                .attempt(1)
+                .totalItems(0)
+                .processedItems(0)
+                .successfulItems(0)
+                .failedItems(0)
+                .skippedItems(0)
+                .build());
+        log.info("Created reconcile job {} for calendar {} (repair: {})", job.getId(), calendarId, repair);
+        return job;
+    }
+
+    /**
+     * Moves a queued job to running. Returns empty when the job was cancelled while still
+     * queued, or another runner already picked it up.
+     */
+    public Optional<SyncJob> startJob(Long jobId) {
+        if (syncJobRepository.markRunning(jobId, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(findJob(jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SyncJobItem> findPendingItems(Long jobId, Long afterId) {
+        return syncJobItemRepository.findByJobIdAndStatusAfter(jobId, SyncJobItemStatus.PENDING, afterId,
+                PageRequest.of(0, jobProperties.getItemBatchSize()));
+    }
+
+    /**
+     * Writes the outcome of one processed chunk and rolls it into the job counters.
+     * Returns whether this attempt should keep going, i.e. the job has not been cancelled meanwhile.
+     */
+    public boolean recordChunk(SyncJob job, List<SyncJobItem> items) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE sync_job_items SET status = ?, event_id = ?, sync_status = ?, message = ?, processed_at = ? " +
+                        "WHERE id = ?",
+                items,
+                items.size(),
+                (ps, item) -> {
+                    ps.setString(1, item.getStatus().name());
+                    ps.setString(2, item.getEventId());
+                    ps.setString(3, item.getSyncStatus() != null ? item.getSyncStatus().name() : null);
+                    ps.setString(4, truncate(item.getMessage()));
+                    ps.setTimestamp(5, item.getProcessedAt() != null ? Timestamp.valueOf(item.getProcessedAt()) : null);
+                    ps.setLong(6, item.getId());
+                });
+
+        syncJobRepository.addProgress(job.getId(), items.size(),
+                count(items, SyncJobItemStatus.SUCCEEDED),
+                count(items, SyncJobItemStatus.FAILED),
+                count(items, SyncJobItemStatus.SKIPPED),
+                LocalDateTime.now());
+        return isActive(job);
+    }
+
+    /**
+     * Stores findings that are already processed and rolls them into the job counters.
+     * Returns whether this attempt should keep going.
+     */
+    public boolean recordFindings(SyncJob job, List<SyncJobItem> findings) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sync_job_items (job_id, task_id, status, event_id, sync_status, message, processed_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                findings,
+                findings.size(),
+                (ps, item) -> {
+                    ps.setLong(1, job.getId());
+                    ps.setLong(2, item.getTaskId());
+                    ps.setString(3, item.getStatus().name());
+                    ps.setString(4, item.getEventId());
+                    ps.setString(5, item.getSyncStatus() != null ? item.getSyncStatus().name() : null);
+                    ps.setString(6, truncate(item.getMessage()));
+                    ps.setTimestamp(7, Timestamp.valueOf(item.getProcessedAt()));
+                });
+        jdbcTemplate.update("UPDATE sync_jobs SET total_items = total_items + ? WHERE id = ?",
+                findings.size(), job.getId());
+
+        syncJobRepository.addProgress(job.getId(), findings.size(),
+                count(findings, SyncJobItemStatus.SUCCEEDED),
+                count(findings, SyncJobItemStatus.FAILED),
+                count(findings, SyncJobItemStatus.SKIPPED),
+                LocalDateTime.now());
+        return isActive(job);
+    }
+
+    /**
+     * Rolls the result of one chunk of a keyset-driven job into its counters.
+     * Returns whether this attempt should keep going.
+     */
+    public boolean recordRunProgress(SyncJob job, SyncRunResult chunkResult) {
+        syncJobRepository.addProgress(job.getId(), chunkResult.getTotalItems(),
+                chunkResult.getSucceeded(), chunkResult.getFailed(), 0, LocalDateTime.now());
+        return isActive(job);
+    }
+
+    /**
+     * Returns whether this attempt completed the job; it does not when the job was cancelled or resumed meanwhile.
+     */
+    public boolean completeJob(SyncJob job) {
+        return syncJobRepository.finishAttempt(job.getId(), job.getAttempt(), SyncJobStatus.COMPLETED, null,
+                LocalDateTime.now()) > 0;
+    }
+
+    public void failJob(SyncJob job, String errorMessage) {
+        syncJobRepository.finishAttempt(job.getId(), job.getAttempt(), SyncJobStatus.FAILED,
+                truncate(errorMessage), LocalDateTime.now());
+    }
+
+    /**
+     * Requests cancellation. A running job stops after its current chunk; work already done is kept.
+     */
+    public CalendarSyncDto.BulkSyncResponse cancelJob(Long jobId) {
+        SyncJob job = findJob(jobId);
+        if (syncJobRepository.cancel(jobId, List.of(SyncJobStatus.QUEUED, SyncJobStatus.RUNNING),
+                LocalDateTime.now()) == 0) {
+            throw new InvalidOperationException("Sync job is not queued or running: " + job.getStatus());
+        }
+        job = findJob(jobId);
+        log.info("Sync job {} cancelled after {} of {} items", jobId, job.getProcessedItems(), job.getTotalItems());
+        return toBulkSyncResponse(job, List.of());
+    }
+
+    /**
+     * Fails the jobs a stopped node left running, or queued but never launched, so they can be
+     * resumed. Jobs still making progress on another node are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failAbandonedJobs() {
+        int failed = failStale(null);
+        if (failed > 0) {
+            log.warn("Failed {} sync jobs abandoned while queued or running, resume them to continue", failed);
+        }
+    }
+
+    /**
+     * Re-queues a cancelled or failed job, or a queued or running one that was abandoned. It continues from
+     * where it stopped rather than starting over.
+     */
+    public SyncJob resumeJob(Long jobId) {
+        findJob(jobId);
+        failStale(jobId);
+        if (syncJobRepository.requeue(jobId, List.of(SyncJobStatus.CANCELLED, SyncJobStatus.FAILED),
+                LocalDateTime.now()) == 0) {
+            throw new InvalidOperationException("Only cancelled, failed or abandoned sync jobs can be resumed");
+        }
+        SyncJob job = findJob(jobId);
+        log.info("Sync job {} resumed at {} of {} items", jobId, job.getProcessedItems(), job.getTotalItems());
+        return job;
+    }
+
+    /**
+     * Job progress with one page of processed item results, in submission order.
+     */
+    @Transactional(readOnly = true)
+    public CalendarSyncDto.BulkSyncResponse getBulkSyncJob(Long jobId, int page, int size) {
+        SyncJob job = findJob(jobId);
+        List<CalendarSyncDto.SyncResponse> results = syncJobItemRepository
+                .findByJobIdAndStatusNotOrderById(jobId, SyncJobItemStatus.PENDING, PageRequest.of(page, size))
+                .stream()
+                .map(this::toSyncResponse)
+                .collect(Collectors.toList());
+        return toBulkSyncResponse(job, results);
+    }
+
+    public CalendarSyncDto.BulkSyncResponse toBulkSyncResponse(SyncJob job, List<CalendarSyncDto.SyncResponse> results) {
+        return CalendarSyncDto.BulkSyncResponse.builder()
+                .jobId(job.getId())
+                .jobType(job.getJobType())
+                .status(job.getStatus())
+                .syncDirection(job.getSyncDirection())
+                .resolutionStrategy(job.getResolutionStrategy())
+                .calendarId(job.getCalendarId())
+                .repair(job.getRepair())
+                .totalTasks(job.getTotalItems())
+                .processedTasks(job.getProcessedItems())
+                .successfulSyncs(job.getSuccessfulItems())
+                .failedSyncs(job.getFailedItems())
+                .skippedSyncs(job.getSkippedItems())
+                .itemsPerSecond(itemsPerSecond(job))
+                .results(results)
+                .errorMessage(job.getErrorMessage())
+                .submittedAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    private int failStale(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        return syncJobRepository.failStale(jobId, now.minusMinutes(jobProperties.getStaleAfterMinutes()),
+                "Abandoned before it finished, resume the job to continue", now);
+    }
+
+    private void discardJob(Long jobId) {
+        jdbcTemplate.update("DELETE FROM sync_job_items WHERE job_id = ?", jobId);
+        syncJobRepository.deleteById(jobId);
+    }
+
+    private int insertTaskIds(Long jobId, JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ValidationException("taskIds must be an array of task IDs");
+        }
+
+        int batchSize = jobProperties.getItemBatchSize();
+        List<Long> buffer = new ArrayList<>(batchSize);
+        int inserted = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                throw new ValidationException("taskIds must be an array of task IDs");
+            }
+            buffer.add(parser.getLongValue());
+            if (buffer.size() == batchSize) {
+                inserted += insertItems(jobId, buffer);
+                buffer.clear();
+            }
+        }
+        return inserted + insertItems(jobId, buffer);
+    }
+
+    private int insertItems(Long jobId, List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sync_job_items (job_id, task_id, status) VALUES (?, ?, ?)",
+                taskIds,
+                taskIds.size(),
+                (ps, taskId) -> {
+                    ps.setLong(1, jobId);
+                    ps.setLong(2, taskId);
+                    ps.setString(3, SyncJobItemStatus.PENDING.name());
+                });
+        return taskIds.size();
+    }
+
+    private SyncDirection parseSyncDirection(String value) {
+        try {
+            return SyncDirection.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid sync direction: " + value);
+        }
+    }
+
+    private CalendarSyncDto.SyncResponse toSyncResponse(SyncJobItem item) {
+        return CalendarSyncDto.SyncResponse.builder()
+                .taskId(item.getTaskId())
+                .eventId(item.getEventId())
+                .syncStatus(item.getSyncStatus())
+                .syncedAt(item.getProcessedAt())
+                .message(item.getMessage())
+                .build();
+    }
+
+    /**
+     * Processing rate over the job's run so far, or until it finished.
+     */
+    private Double itemsPerSecond(SyncJob job) {
+        if (job.getStartedAt() == null || job.getProcessedItems() == null) {
+            return null;
+        }
+        LocalDateTime until = job.getCompletedAt() != null ? job.getCompletedAt() : LocalDateTime.now();
+        long elapsedMillis = Duration.between(job.getStartedAt(), until).toMillis();
+        return elapsedMillis > 0 ? job.getProcessedItems() * 1000.0 / elapsedMillis : null;
+    }
+
+    private SyncJob findJob(Long jobId) {
+        return syncJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sync job", "id", String.valueOf(jobId)));
+    }
+
+    private boolean isActive(SyncJob job) {
+        return syncJobRepository.existsByIdAndStatusAndAttempt(job.getId(), SyncJobStatus.RUNNING, job.getAttempt());
+    }
+
+    private int count(List<SyncJobItem> items, SyncJobItemStatus status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
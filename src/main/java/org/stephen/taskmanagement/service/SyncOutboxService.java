@@ -0,0 +1,127 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.config.SyncOutboxProperties;
+import org.stephen.taskmanagement.dto.PendingSync;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncOutboxEntry;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.SyncType;
+import org.stephen.taskmanagement.repository.SyncOutboxEntryRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transactional outbox for task edits that must be pushed to Google Calendar.
+ * Entries are written in the same transaction as the task change and drained
+ * by {@link ScheduledCalendarSyncService#drainSyncOutbox()}.
+ */
+@Service
+@Slf4j
+@Transactional
+public class SyncOutboxService {
+    private final SyncOutboxEntryRepository outboxEntryRepository;
+    private final SyncOutboxProperties outboxProperties;
+    private final SyncPriorityPolicy priorityPolicy;
+    private final Counter capturedCounter;
+    private final Counter drainedCounter;
+    private final Counter coalescedCounter;
+
+    public SyncOutboxService(SyncOutboxEntryRepository outboxEntryRepository,
+                             SyncOutboxProperties outboxProperties,
+                             SyncPriorityPolicy priorityPolicy,
+                             MeterRegistry meterRegistry) {
+        this.outboxEntryRepository = outboxEntryRepository;
+        this.outboxProperties = outboxProperties;
+        this.priorityPolicy = priorityPolicy;
+        this.capturedCounter = meterRegistry.counter("calendar.sync.outbox.captured");
+        this.drainedCounter = meterRegistry.counter("calendar.sync.outbox.drained");
+        this.coalescedCounter = meterRegistry.counter("calendar.sync.outbox.coalesced");
+    }
+
+    /**
+     * Marks a synced task as pending push. Must join the caller's transaction so the
+     * outbox entry commits or rolls back together with the task change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTaskChange(Task task, SyncType syncType) {
+        CalendarEvent calendarEvent = task.getCalendarEvent();
+        if (calendarEvent == null || !task.isCalendarSynced()) {
+            return;
+        }
+
+        calendarEvent.setSyncStatus(SyncStatus.SYNC_PENDING);
+        calendarEvent.setTaskLastModifiedAt(LocalDateTime.now());
+
+        outboxEntryRepository.save(SyncOutboxEntry.builder()
+                .taskId(task.getId())
+                .calendarEventId(calendarEvent.getId())
+                .calendarId(calendarEvent.getCalendarId())
+                .syncType(syncType)
+                .dueDate(task.getDueDate())
+                .priority(priorityPolicy.classify(task.getDueDate(), syncType, 0).ordinal())
+                .build());
+        capturedCounter.increment();
+        log.debug("Captured pending calendar sync for task: {}", task.getId());
+    }
+
+    /**
+     * Claims and removes the outbox entries of tasks whose edits have settled, collapsed to one
+     * work item per task. A task is ready once it has been quiet for the debounce window, or once
+     * its oldest pending edit exceeds the max delay so constant editing cannot starve it.
+     * If the push that follows is lost, the event is still {@code SYNC_PENDING} and the scheduled sweep picks it up.
+     * Most urgent tasks are claimed first. Each work item carries the most urgent class of its
+     * task's edits, re-evaluated now, and the time of its oldest edit.
+     */
+    public List<PendingSync> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> readyTaskIds = outboxEntryRepository.findReadyTaskIds(
+                now.minusSeconds(outboxProperties.getDebounceSeconds()),
+                now.minusSeconds(outboxProperties.getMaxDelaySeconds()),
+                PageRequest.of(0, Math.min(limit, outboxProperties.getBatchSize())));
+        if (readyTaskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<SyncOutboxEntry> entries = outboxEntryRepository.findByTaskIdsForUpdate(readyTaskIds);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PendingSync> itemsByTask = new LinkedHashMap<>();
+        // Entries come oldest first, so the first per task holds the oldest edit and the last the latest due date
+        entries.forEach(entry -> itemsByTask.merge(entry.getTaskId(), toPendingSync(entry), (first, later) ->
+                new PendingSync(first.workItem(),
+                        first.priority().compareTo(later.priority()) <= 0 ? first.priority() : later.priority(),
+                        later.dueDate(), first.enqueuedAt())));
+
+        outboxEntryRepository.deleteAllInBatch(entries);
+        drainedCounter.increment(entries.size());
+        // Every edit beyond the first per task is a push (Google read, write and history row) saved
+        coalescedCounter.increment(entries.size() - itemsByTask.size());
+        return readyTaskIds.stream()
+                .map(itemsByTask::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private PendingSync toPendingSync(SyncOutboxEntry entry) {
+        return new PendingSync(
+                new SyncWorkItem(entry.getCalendarEventId(), entry.getTaskId(), entry.getCalendarId()),
+                priorityPolicy.classify(entry.getDueDate(), entry.getSyncType(), 0),
+                entry.getDueDate(),
+                entry.getCreatedAt());
+    }
+}
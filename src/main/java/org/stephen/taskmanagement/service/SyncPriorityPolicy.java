@@ -0,0 +1,46 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.SyncPriorityProperties;
+import org.stephen.taskmanagement.enums.SyncPriority;
+import org.stephen.taskmanagement.enums.SyncType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Decides how urgent a pending push is. The due date sets the base class, a user-initiated
+ * change moves it up one class and every failed attempt moves it down one.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncPriorityPolicy {
+    private static final SyncPriority[] CLASSES = SyncPriority.values();
+
+    private final SyncPriorityProperties priorityProperties;
+
+    public SyncPriority classify(LocalDateTime dueDate, SyncType syncType, int attempts) {
+        int rank = dueDateClass(dueDate).ordinal();
+        if (syncType == SyncType.MANUAL) {
+            rank--;
+        }
+        rank += attempts;
+        return CLASSES[Math.max(0, Math.min(rank, CLASSES.length - 1))];
+    }
+
+    private SyncPriority dueDateClass(LocalDateTime dueDate) {
+        if (dueDate == null) {
+            return SyncPriority.LOW;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int imminentMinutes = priorityProperties.getImminentMinutes();
+        if (dueDate.isAfter(now.minusMinutes(imminentMinutes)) && dueDate.isBefore(now.plusMinutes(imminentMinutes))) {
+            return SyncPriority.IMMEDIATE;
+        }
+        if (dueDate.isAfter(now) && dueDate.isBefore(now.plusHours(priorityProperties.getSoonHours()))) {
+            return SyncPriority.HIGH;
+        }
+        // Far out or long overdue
+        return SyncPriority.NORMAL;
+    }
+}
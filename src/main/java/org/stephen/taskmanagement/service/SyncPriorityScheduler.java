@@ -0,0 +1,181 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.SyncPriorityProperties;
+import org.stephen.taskmanagement.dto.PendingSync;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.enums.SyncPriority;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.exception.ResourceNotFoundException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches pending pushes from the outbox and the retry queue most urgent first. Claimed
+ * pushes wait in a bounded in-memory heap; everything beyond its capacity stays in the database,
+ * where both sources are claimed in priority order. The heap is refilled after every dispatch
+ * batch, so a push that turns urgent while a long drain is running overtakes the backlog.
+ * <p>
+ * A push lost from the heap, e.g. on a crash, leaves its event {@code SYNC_PENDING} for the
+ * scheduled sweep, or its retry claim to expire.
+ */
+@Component
+@Slf4j
+public class SyncPriorityScheduler {
+    private static final Comparator<PendingSync> DISPATCH_ORDER = Comparator
+            .comparing(PendingSync::priority)
+            .thenComparing(PendingSync::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PendingSync::enqueuedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final SyncOutboxService syncOutboxService;
+    private final SyncRetryQueueService syncRetryQueueService;
+    private final CalendarSyncService calendarSyncService;
+    private final SyncWorkerPool syncWorkerPool;
+    private final CalendarSyncProperties syncProperties;
+    private final SyncPriorityProperties priorityProperties;
+    private final PriorityQueue<PendingSync> buffer = new PriorityQueue<>(DISPATCH_ORDER);
+    private final Map<Long, PendingSync> bufferedByTask = new HashMap<>();
+    private final Map<SyncPriority, AtomicInteger> bufferedByPriority = new EnumMap<>(SyncPriority.class);
+    private final Map<SyncPriority, Timer> lagTimers = new EnumMap<>(SyncPriority.class);
+
+    public SyncPriorityScheduler(SyncOutboxService syncOutboxService,
+                                 SyncRetryQueueService syncRetryQueueService,
+                                 CalendarSyncService calendarSyncService,
+                                 SyncWorkerPool syncWorkerPool,
+                                 CalendarSyncProperties syncProperties,
+                                 SyncPriorityProperties priorityProperties,
+                                 MeterRegistry meterRegistry) {
+        this.syncOutboxService = syncOutboxService;
+        this.syncRetryQueueService = syncRetryQueueService;
+        this.calendarSyncService = calendarSyncService;
+        this.syncWorkerPool = syncWorkerPool;
+        this.syncProperties = syncProperties;
+        this.priorityProperties = priorityProperties;
+        for (SyncPriority priority : SyncPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            bufferedByPriority.put(priority, meterRegistry.gauge("calendar.sync.queue.buffered",
+                    Tags.of("priority", tag), new AtomicInteger()));
+            // Time from the push becoming due to its dispatch
+            lagTimers.put(priority, Timer.builder("calendar.sync.queue.lag")
+                    .tag("priority", tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Drains the buffer, claiming from the outbox (while automatic sync is on) and the retry
+     * queue as space frees up. Returns once neither has anything due.
+     */
+    public synchronized void dispatch() {
+        refill();
+        while (!buffer.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            List<PendingSync> batch = takeBatch();
+            log.debug("Dispatching {} pending pushes, most urgent {}", batch.size(), batch.get(0).priority());
+            Map<Long, LocalDateTime> dueDates = new HashMap<>();
+            batch.forEach(pending -> dueDates.put(pending.workItem().taskId(), pending.dueDate()));
+            syncWorkerPool.execute("priority-queue", batch.stream().map(PendingSync::workItem).toList(),
+                    item -> push(item, dueDates.get(item.taskId())));
+            refill();
+        }
+    }
+
+    /**
+     * Failed Google calls, disabled sync and suspended calls are booked by the push itself. Any
+     * other failure is booked here as a failed attempt: its outbox row is already gone and its
+     * retry claim would otherwise be re-claimed forever without ever reaching dead-letter.
+     */
+    private void push(SyncWorkItem item, LocalDateTime dueDate) {
+        try {
+            calendarSyncService.syncTaskToCalendar(item.taskId());
+        } catch (ResourceNotFoundException e) {
+            syncRetryQueueService.discard(item.taskId());
+            throw e;
+        } catch (InvalidOperationException | CalendarUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            syncRetryQueueService.recordFailure(item, dueDate,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private void refill() {
+        if (syncProperties.getAutoSyncEnabled() && freeCapacity() > 0) {
+            offerAll(syncOutboxService.claimBatch(freeCapacity()));
+        }
+        if (freeCapacity() > 0) {
+            offerAll(syncRetryQueueService.claimDueEntries(freeCapacity()));
+        }
+    }
+
+    private int freeCapacity() {
+        return Math.max(0, priorityProperties.getBufferCapacity() - buffer.size());
+    }
+
+    private void offerAll(List<PendingSync> claimed) {
+        for (PendingSync pending : claimed) {
+            PendingSync buffered = bufferedByTask.get(pending.workItem().taskId());
+            if (buffered == null) {
+                add(pending);
+            } else if (DISPATCH_ORDER.compare(pending, buffered) < 0) {
+                // Claimed from both sources: one push serves both, at the more urgent class
+                remove(buffered);
+                add(new PendingSync(pending.workItem(), pending.priority(), pending.dueDate(),
+                        earliest(pending.enqueuedAt(), buffered.enqueuedAt())));
+            }
+        }
+    }
+
+    private List<PendingSync> takeBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingSync> batch = new ArrayList<>();
+        while (batch.size() < priorityProperties.getDispatchBatchSize() && !buffer.isEmpty()) {
+            PendingSync pending = buffer.poll();
+            forget(pending);
+            if (pending.enqueuedAt() != null) {
+                lagTimers.get(pending.priority()).record(Duration.between(pending.enqueuedAt(), now));
+            }
+            batch.add(pending);
+        }
+        return batch;
+    }
+
+    private void add(PendingSync pending) {
+        buffer.add(pending);
+        bufferedByTask.put(pending.workItem().taskId(), pending);
+        bufferedByPriority.get(pending.priority()).incrementAndGet();
+    }
+
+    private void remove(PendingSync pending) {
+        buffer.remove(pending);
+        forget(pending);
+    }
+
+    private void forget(PendingSync pending) {
+        bufferedByTask.remove(pending.workItem().taskId());
+        bufferedByPriority.get(pending.priority()).decrementAndGet();
+    }
+
+    private LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,190 @@
+package org.stephen.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.stephen.taskmanagement.config.SyncRetryQueueProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.PendingSync;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncRetryEntry;
+import org.stephen.taskmanagement.enums.RetryStatus;
+import org.stephen.taskmanagement.enums.SyncType;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.exception.ResourceNotFoundException;
+import org.stephen.taskmanagement.repository.SyncRetryEntryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SyncRetryQueueService {
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private final SyncRetryEntryRepository retryEntryRepository;
+    private final SyncRetryQueueProperties retryQueueProperties;
+    private final SyncPriorityPolicy priorityPolicy;
+
+    /**
+     * Records a failed push. The entry is rescheduled with exponential backoff, or moved to
+     * the dead-letter state once it has used up its attempts.
+     */
+    public SyncRetryEntry recordFailure(CalendarEvent calendarEvent, String error) {
+        return recordFailure(new SyncWorkItem(calendarEvent.getId(), calendarEvent.getTask().getId(),
+                calendarEvent.getCalendarId()), calendarEvent.getTask().getDueDate(), error);
+    }
+
+    /**
+     * Records a failed push of a dispatched work item, for failures the push could not book itself.
+     */
+    public SyncRetryEntry recordFailure(SyncWorkItem item, LocalDateTime dueDate, String error) {
+        Long taskId = item.taskId();
+        SyncRetryEntry entry = retryEntryRepository.findByTaskId(taskId)
+                .orElseGet(() -> SyncRetryEntry.builder()
+                        .taskId(taskId)
+                        .attempts(0)
+                        .build());
+
+        int attempts = entry.getAttempts() + 1;
+        entry.setCalendarEventId(item.calendarEventId());
+        entry.setCalendarId(item.calendarId());
+        entry.setDueDate(dueDate);
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(error));
+        entry.setClaimedAt(null);
+
+        if (attempts >= retryQueueProperties.getMaxAttempts()) {
+            entry.setStatus(RetryStatus.DEAD_LETTER);
+            entry.setNextAttemptAt(null);
+            log.warn("Sync for task {} moved to dead-letter after {} attempts: {}", taskId, attempts, error);
+        } else {
+            entry.setStatus(RetryStatus.PENDING);
+            entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(attempts)));
+            log.info("Sync for task {} scheduled for retry {} at {}", taskId, attempts, entry.getNextAttemptAt());
+        }
+        return retryEntryRepository.save(entry);
+    }
+
+    /**
+     * Parks a push that was not attempted, for example because Google calls are suspended.
+     * Unlike {@link #recordFailure} this does not use up an attempt.
+     */
+    public SyncRetryEntry defer(CalendarEvent calendarEvent, String reason, LocalDateTime notBefore) {
+        Long taskId = calendarEvent.getTask().getId();
+        SyncRetryEntry entry = retryEntryRepository.findByTaskId(taskId)
+                .orElseGet(() -> SyncRetryEntry.builder()
+                        .taskId(taskId)
+                        .attempts(0)
+                        .build());
+
+        entry.setCalendarEventId(calendarEvent.getId());
+        entry.setCalendarId(calendarEvent.getCalendarId());
+        entry.setDueDate(calendarEvent.getTask().getDueDate());
+        entry.setLastError(truncate(reason));
+        entry.setClaimedAt(null);
+        entry.setStatus(RetryStatus.PENDING);
+        entry.setNextAttemptAt(notBefore);
+        log.debug("Sync for task {} deferred until {}", taskId, notBefore);
+        return retryEntryRepository.save(entry);
+    }
+
+    public void recordSuccess(Long taskId) {
+        retryEntryRepository.deleteByTaskId(taskId);
+    }
+
+    /**
+     * Drops any queued retry for a task that no longer exists or is no longer synced.
+     */
+    public void discard(Long taskId) {
+        if (retryEntryRepository.deleteByTaskId(taskId) > 0) {
+            log.info("Discarded queued retry for task {}", taskId);
+        }
+    }
+
+    /**
+     * Claims up to one batch of due entries for this node. Rows locked by another node are
+     * skipped, and claims older than the lease are released so a crashed node cannot strand them.
+     * Each failed attempt lowers the entry's priority class.
+     */
+    public List<PendingSync> claimDueEntries(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int released = retryEntryRepository.releaseStaleClaims(
+                now.minusSeconds(retryQueueProperties.getClaimLeaseSeconds()));
+        if (released > 0) {
+            log.warn("Released {} stale retry queue claims", released);
+        }
+
+        List<SyncRetryEntry> dueEntries = retryEntryRepository.findDueForUpdate(
+                now, PageRequest.of(0, Math.min(limit, retryQueueProperties.getBatchSize())));
+        dueEntries.forEach(entry -> {
+            entry.setStatus(RetryStatus.IN_PROGRESS);
+            entry.setClaimedAt(now);
+        });
+
+        return dueEntries.stream()
+                .map(entry -> new PendingSync(
+                        new SyncWorkItem(entry.getCalendarEventId(), entry.getTaskId(), entry.getCalendarId()),
+                        priorityPolicy.classify(entry.getDueDate(), SyncType.AUTOMATIC, entry.getAttempts()),
+                        entry.getDueDate(),
+                        entry.getNextAttemptAt()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<CalendarSyncDto.RetryQueueEntryResponse> getDeadLetters(int page, int size) {
+        return retryEntryRepository.findByStatus(RetryStatus.DEAD_LETTER, PageRequest.of(page, size))
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    public CalendarSyncDto.RetryQueueEntryResponse requeue(Long entryId) {
+        SyncRetryEntry entry = retryEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Retry queue entry", "id", String.valueOf(entryId)));
+        if (entry.getStatus() != RetryStatus.DEAD_LETTER) {
+            throw new InvalidOperationException("Only dead-letter entries can be requeued");
+        }
+
+        entry.setStatus(RetryStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(LocalDateTime.now());
+        log.info("Dead-letter entry {} for task {} requeued", entryId, entry.getTaskId());
+        return toResponse(retryEntryRepository.save(entry));
+    }
+
+    private long backoffSeconds(int attempts) {
+        long ceiling = Math.min(retryQueueProperties.getMaxBackoffSeconds(),
+                (long) retryQueueProperties.getInitialBackoffSeconds() << Math.min(attempts - 1, 20));
+        // Jitter between half and the full delay keeps a burst of failures from retrying in lockstep
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private CalendarSyncDto.RetryQueueEntryResponse toResponse(SyncRetryEntry entry) {
+        return CalendarSyncDto.RetryQueueEntryResponse.builder()
+                .id(entry.getId())
+                .taskId(entry.getTaskId())
+                .calendarId(entry.getCalendarId())
+                .status(entry.getStatus())
+                .attempts(entry.getAttempts())
+                .nextAttemptAt(entry.getNextAttemptAt())
+                .lastError(entry.getLastError())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.SyncWorkerProperties;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs sync work items concurrently while capping the number of in-flight calls
+ * globally and per calendar. Items are dispatched round-robin across calendars so
+ * that one large calendar cannot starve the others.
+ */
+@Component
+@Slf4j
+public class SyncWorkerPool {
+    private static final long DISPATCH_WAIT_MILLIS = 50;
+
+    private final SyncWorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Semaphore globalPermits;
+    private final Map<String, Semaphore> calendarPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    public SyncWorkerPool(SyncWorkerProperties workerProperties,
+                          GoogleAccountPoolProperties accountPoolProperties,
+                          MeterRegistry meterRegistry) {
+        this.workerProperties = workerProperties;
+        this.meterRegistry = meterRegistry;
+        // Each Google account brings its own quota, so the global cap grows with them
+        int maxConcurrency = workerProperties.getMaxConcurrency() * accountPoolProperties.accountCount();
+        this.globalPermits = new Semaphore(maxConcurrency, true);
+        this.executor = workerProperties.getVirtualThreads()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("calendar-sync-", 0).factory())
+                : Executors.newFixedThreadPool(maxConcurrency,
+                        Thread.ofPlatform().name("calendar-sync-", 0).daemon(true).factory());
+        meterRegistry.gauge("calendar.sync.workers.active", activeWorkers);
+    }
+
+    public SyncRunResult execute(String runName, Collection<SyncWorkItem> items, Consumer<SyncWorkItem> action) {
+        long startedAt = System.nanoTime();
+        Run run = new Run(runName, action, new AtomicInteger(), new AtomicInteger(), new Semaphore(0),
+                new CountDownLatch(items.size()), ConcurrentHashMap.newKeySet(), new AtomicBoolean());
+
+        Map<String, Deque<SyncWorkItem>> queuesByCalendar = new LinkedHashMap<>();
+        items.forEach(item -> queuesByCalendar
+                .computeIfAbsent(item.calendarId(), calendarId -> new ArrayDeque<>())
+                .add(item));
+        Deque<Deque<SyncWorkItem>> rotation = new ArrayDeque<>(queuesByCalendar.values());
+
+        try {
+            while (!rotation.isEmpty()) {
+                boolean dispatched = false;
+                int calendarsToVisit = rotation.size();
+
+                for (int i = 0; i < calendarsToVisit; i++) {
+                    Deque<SyncWorkItem> queue = rotation.pollFirst();
+                    Semaphore perCalendar = permitsFor(queue.peek().calendarId());
+                    if (!perCalendar.tryAcquire()) {
+                        rotation.addLast(queue);
+                        continue;
+                    }
+                    if (!globalPermits.tryAcquire()) {
+                        // Keep this calendar at the head so it is served first once a slot frees up
+                        perCalendar.release();
+                        rotation.addFirst(queue);
+                        break;
+                    }
+
+                    SyncWorkItem item = queue.poll();
+                    if (!queue.isEmpty()) {
+                        rotation.addLast(queue);
+                    }
+                    executor.execute(() -> runItem(run, item, perCalendar));
+                    dispatched = true;
+                }
+
+                if (!dispatched) {
+                    // Every calendar with pending work is at its cap; wait for a slot to free up
+                    run.completions().tryAcquire(DISPATCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    run.completions().drainPermits();
+                }
+            }
+            run.finished().await();
+        } catch (InterruptedException e) {
+            int notDispatched = rotation.stream().mapToInt(Deque::size).sum();
+            log.warn("Sync run {} interrupted, {} items were not dispatched", runName, notDispatched);
+            cancel(run, notDispatched);
+            Thread.currentThread().interrupt();
+        }
+
+        return recordRun(runName, items.size(), run.succeeded().get(), run.failed().get(),
+                System.nanoTime() - startedAt);
+    }
+
+    private void runItem(Run run, SyncWorkItem item, Semaphore perCalendar) {
+        // Registered before the cancelled check, so a cancel either interrupts this item or makes it skip
+        run.workers().add(Thread.currentThread());
+        activeWorkers.incrementAndGet();
+        try {
+            if (run.cancelled().get()) {
+                return;
+            }
+            run.action().accept(item);
+            run.succeeded().incrementAndGet();
+        } catch (Exception e) {
+            run.failed().incrementAndGet();
+            log.error("Sync run {} failed for task: {}", run.name(), item.taskId(), e);
+        } finally {
+            run.workers().remove(Thread.currentThread());
+            activeWorkers.decrementAndGet();
+            globalPermits.release();
+            perCalendar.release();
+            run.completions().release();
+            run.finished().countDown();
+        }
+    }
+
+    /**
+     * Stops an interrupted run: dispatched items that have not started are skipped and running ones
+     * are interrupted. Returns once they have all let go of their permits, so none outlive the run.
+     */
+    private void cancel(Run run, int notDispatched) {
+        run.cancelled().set(true);
+        run.workers().forEach(Thread::interrupt);
+        for (int i = 0; i < notDispatched; i++) {
+            run.finished().countDown();
+        }
+        while (true) {
+            try {
+                run.finished().await();
+                return;
+            } catch (InterruptedException e) {
+                // The caller restores the interrupt once the workers are done
+            }
+        }
+    }
+
+    private Semaphore permitsFor(String calendarId) {
+        return calendarPermits.computeIfAbsent(calendarId,
+                id -> new Semaphore(workerProperties.getMaxConcurrencyPerCalendar()));
+    }
+
+    private SyncRunResult recordRun(String runName, int total, int succeeded, int failed, long elapsedNanos) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        double itemsPerSecond = elapsedNanos > 0 ? total / (elapsedNanos / 1_000_000_000.0) : 0;
+
+        Timer.builder("calendar.sync.batch.duration")
+                .tag("run", runName)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("calendar.sync.run.items")
+                .tag("run", runName)
+                .tag("outcome", "success")
+                .register(meterRegistry)
+                .increment(succeeded);
+        Counter.builder("calendar.sync.run.items")
+                .tag("run", runName)
+                .tag("outcome", "failure")
+                .register(meterRegistry)
+                .increment(failed);
+
+        log.debug("Sync batch for run {} finished: {} items, {} succeeded, {} failed in {} ms ({} items/s)",
+                runName, total, succeeded, failed, durationMillis, String.format("%.1f", itemsPerSecond));
+
+        return SyncRunResult.builder()
+                .runName(runName)
+                .totalItems(total)
+                .succeeded(succeeded)
+                .failed(failed)
+                .durationMillis(durationMillis)
+                .itemsPerSecond(itemsPerSecond)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Run(String name, Consumer<SyncWorkItem> action, AtomicInteger succeeded, AtomicInteger failed,
+                       Semaphore completions, CountDownLatch finished, Set<Thread> workers,
+                       AtomicBoolean cancelled) {
+    }
+}
@@ -10,6 +10,7 @@ import org.stephen.taskmanagement.dto.response.CreateTaskResponseDto;
 import org.stephen.taskmanagement.dto.response.TasksListResponseDto;
 import org.stephen.taskmanagement.entity.Tag;
 import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.SyncType;
 import org.stephen.taskmanagement.enums.TaskStatus;
 import org.stephen.taskmanagement.exception.ResourceNotFoundException;
 import org.stephen.taskmanagement.exception.ValidationException;
@@ -17,7 +18,9 @@ import org.stephen.taskmanagement.mappers.TaskMapper;
 import org.stephen.taskmanagement.repository.TagRepository;
 import org.stephen.taskmanagement.repository.TaskRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +34,7 @@ public class TaskService {
     private final TagRepository tagRepository;
     private final TaskMapper taskMapper;
     private final TagService tagService;
+    private final SyncOutboxService syncOutboxService;
 
     @Transactional
     public CreateTaskResponseDto createTask(CreateTaskRequestDto request){
@@ -104,7 +108,16 @@ public class TaskService {
         Task task = taskRepository.findByIdWithTags(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task","id",String.valueOf(id)));
         try{
+            String previousTitle = task.getTitle();
+            String previousDescription = task.getDescription();
+            LocalDateTime previousDueDate = task.getDueDate();
+            TaskStatus previousStatus = task.getStatus();
+
             taskMapper.updateTaskFromRequest(request,task);
+            boolean syncedFieldsChanged = !Objects.equals(previousTitle, task.getTitle())
+                    || !Objects.equals(previousDescription, task.getDescription())
+                    || !Objects.equals(previousDueDate, task.getDueDate())
+                    || previousStatus != task.getStatus();
             if(request.getTagNames() != null && !request.getTagNames().isEmpty()){
                 task.getTags().clear();
                 Set<Tag> updateTags = request.getTagNames().stream()
@@ -113,6 +126,10 @@ public class TaskService {
                 updateTags.forEach(task::addTag);
             }
             Task updatedTask = taskRepository.save(task);
+            if (syncedFieldsChanged) {
+                // Recorded in this transaction so the calendar push commits with the edit or not at all
+                syncOutboxService.recordTaskChange(updatedTask, SyncType.MANUAL);
+            }
             log.info("Task updated successfully with id: {}",updatedTask.getId());
             return taskMapper.toResponse(updatedTask);
         } catch (IllegalArgumentException e){
@@ -0,0 +1,71 @@
+package org.stephen.taskmanagement.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hashed timing wheel of fixed-width ticks. Scheduling and expiry are O(1) per entry however
+ * many entries are waiting, unlike a sorted queue. Entries are only accepted within one turn of
+ * the wheel, so no entry ever needs more than one pass. Not thread-safe.
+ */
+class TimingWheel<T> {
+    private final long tickMillis;
+    private final Deque<T>[] slots;
+    private long cursorTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Deque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.cursorTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Places the entry in the slot of its due time; overdue entries go into the current slot.
+     * Returns false when the due time is beyond the wheel's horizon.
+     */
+    boolean schedule(T entry, long dueMillis) {
+        long tick = Math.max(cursorTick, dueMillis / tickMillis);
+        if (tick - cursorTick >= slots.length) {
+            return false;
+        }
+        slots[(int) (tick % slots.length)].addLast(entry);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes up to {@code limit} entries due by {@code nowMillis}, oldest slot first. When the
+     * limit cuts a slot short, the cursor stays on it and the rest come out on the next call.
+     */
+    List<T> expire(long nowMillis, int limit) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (cursorTick <= nowTick) {
+            Deque<T> slot = slots[(int) (cursorTick % slots.length)];
+            while (!slot.isEmpty() && expired.size() < limit) {
+                expired.add(slot.pollFirst());
+                size--;
+            }
+            if (!slot.isEmpty() || cursorTick == nowTick) {
+                break;
+            }
+            cursorTick++;
+        }
+        return expired;
+    }
+
+    long horizonMillis() {
+        return tickMillis * (slots.length - 1);
+    }
+
+    int size() {
+        return size;
+    }
+}
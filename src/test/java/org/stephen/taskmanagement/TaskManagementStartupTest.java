@@ -0,0 +1,85 @@
+package org.stephen.taskmanagement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+import org.stephen.taskmanagement.repository.TaskRepository;
+import org.stephen.taskmanagement.service.GoogleCalendarClients;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Application startup - Google Calendar off the critical path")
+class TaskManagementStartupTest {
+
+    // Startup used to wait for Google consent or fail on missing credentials; now it is bounded by the
+    // rest of the context. Generous, as the first context of a test JVM starts cold.
+    private static final Duration MAX_STARTUP = Duration.ofSeconds(60);
+
+    @Test
+    @DisplayName("Should accept traffic before, and regardless of, the Google Calendar clients")
+    void testStartup_DoesNotWaitForGoogleCalendar() throws Exception {
+        long startedAt = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("google.calendar.credentials-path=missing-credentials.json")) {
+            Duration startup = Duration.ofNanos(System.nanoTime() - startedAt);
+            System.out.println("Started for task CRUD in " + startup.toMillis() + " ms");
+
+            assertTrue(startup.compareTo(MAX_STARTUP) < 0, "startup took " + startup);
+            assertEquals(ReadinessState.ACCEPTING_TRAFFIC,
+                    context.getBean(ApplicationAvailability.class).getReadinessState());
+            assertEquals(0, context.getBean(TaskRepository.class).count());
+
+            // The missing credentials only fail the background build
+            GoogleCalendarClients clients = context.getBean(GoogleCalendarClients.class);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (clients.getState() != GoogleCalendarClients.State.FAILED && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(GoogleCalendarClients.State.FAILED, clients.getState());
+            assertEquals(Status.DOWN, context.getBean("googleCalendarClient", HealthIndicator.class).health().getStatus());
+            assertThrows(CalendarUnavailableException.class, clients::pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not load credentials at all when Google Calendar is disabled")
+    void testStartup_CalendarDisabled() {
+        try (ConfigurableApplicationContext context = start("google.calendar.enabled=false")) {
+            GoogleCalendarClients clients = context.getBean(GoogleCalendarClients.class);
+
+            assertEquals(GoogleCalendarClients.State.DISABLED, clients.getState());
+            assertThrows(CalendarUnavailableException.class, clients::pool);
+            assertEquals(GoogleCalendarClients.State.DISABLED, clients.getState());
+            assertEquals(Status.UNKNOWN, context.getBean("googleCalendarClient", HealthIndicator.class).health().getStatus());
+        }
+    }
+
+    private ConfigurableApplicationContext start(String... properties) {
+        // As arguments: default properties would lose to application.yml
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "server.port=0",
+                "scheduling.enabled=false",
+                "scheduling.cluster.enabled=false",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(TaskManagementApplication.class)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
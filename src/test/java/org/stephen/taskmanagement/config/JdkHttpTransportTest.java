@@ -0,0 +1,226 @@
+package org.stephen.taskmanagement.config;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GZipEncoding;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JDK HTTP Transport - Pooled Google API transport")
+class JdkHttpTransportTest {
+
+    // Round-trip and TLS handshake times the stub simulates for a real connection to Google
+    private static final long STUB_LATENCY_MS = Long.getLong("bench.latency", 50);
+    private static final long STUB_HANDSHAKE_MS = Long.getLong("bench.handshake", 100);
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private String baseUrl;
+    private JdkHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        stubExecutor = Executors.newFixedThreadPool(64);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/echo", this::echo);
+        stub.createContext("/slow", exchange -> {
+            sleep(500);
+            respond(exchange, 200, "{}".getBytes(StandardCharsets.UTF_8), false);
+        });
+        stub.createContext("/missing", exchange ->
+                respond(exchange, 404, "{\"error\":\"notFound\"}".getBytes(StandardCharsets.UTF_8), false));
+        stub.start();
+        baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        transport = new JdkHttpTransport(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.shutdown();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should send gzipped bodies and decode gzipped responses")
+    void testExecute_GzipRoundTrip() throws Exception {
+        String body = "{\"summary\":\"Quarterly report\"}";
+        HttpRequest request = transport.createRequestFactory().buildPostRequest(
+                new GenericUrl(baseUrl + "/echo"),
+                ByteArrayContent.fromString("application/json", body));
+        request.setEncoding(new GZipEncoding());
+
+        HttpResponse response = request.execute();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("gzip", response.getContentEncoding());
+        assertEquals("gzip:" + body, response.parseAsString());
+    }
+
+    @Test
+    @DisplayName("Should surface error statuses as HttpResponseException")
+    void testExecute_ErrorStatus() {
+        HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+                transport.createRequestFactory().buildGetRequest(new GenericUrl(baseUrl + "/missing")).execute());
+
+        assertEquals(404, exception.getStatusCode());
+        assertTrue(exception.getContent().contains("notFound"));
+    }
+
+    @Test
+    @DisplayName("Should time out slow responses with SocketTimeoutException")
+    void testExecute_ReadTimeout() {
+        assertThrows(SocketTimeoutException.class, () -> transport.createRequestFactory()
+                .buildGetRequest(new GenericUrl(baseUrl + "/slow"))
+                .setReadTimeout(100)
+                .execute());
+    }
+
+    /**
+     * Compares the pooled JDK transport with {@link NetHttpTransport} under concurrent load.
+     * Excluded from the default build; run with {@code mvn test -Pbenchmark}, tuning the load
+     * with {@code -Dbench.threads}, {@code -Dbench.requests}, {@code -Dbench.latency} and
+     * {@code -Dbench.handshake}.
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: pooled JDK transport against HttpURLConnection")
+    void benchmarkAgainstNetHttpTransport() throws Exception {
+        int threads = Integer.getInteger("bench.threads", 32);
+        int requestsPerThread = Integer.getInteger("bench.requests", 30);
+
+        // Warm up both transports so the JIT and connection pools are settled
+        run(new NetHttpTransport(), threads, 50);
+        run(transport, threads, 50);
+
+        Result netHttp = run(new NetHttpTransport(), threads, requestsPerThread);
+        Result jdk = run(transport, threads, requestsPerThread);
+
+        System.out.printf("NetHttpTransport: %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                netHttp.requestsPerSecond(), netHttp.p50Ms(), netHttp.p99Ms());
+        System.out.printf("JdkHttpTransport: %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                jdk.requestsPerSecond(), jdk.p50Ms(), jdk.p99Ms());
+        System.out.printf("Connections opened: %d%n", connections.size());
+        // HttpURLConnection keeps only a handful of idle connections per host, so under load it
+        // keeps paying for new handshakes; throughput is close on a loopback stub but the tail is not
+        assertTrue(jdk.p99Ms() < netHttp.p99Ms());
+    }
+
+    private Result run(HttpTransport httpTransport, int threads, int requestsPerThread) throws Exception {
+        HttpRequestFactory requestFactory = httpTransport.createRequestFactory();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        long requestStart = System.nanoTime();
+                        HttpRequest request = requestFactory.buildPostRequest(new GenericUrl(baseUrl + "/echo"),
+                                ByteArrayContent.fromString("application/json", "{\"summary\":\"Benchmark\"}"));
+                        request.setEncoding(new GZipEncoding());
+                        request.execute().parseAsString();
+                        latencies.add(System.nanoTime() - requestStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(sorted.size() / (elapsed / 1e9),
+                sorted.get(sorted.size() / 2) / 1e6,
+                sorted.get((int) (sorted.size() * 0.99)) / 1e6);
+    }
+
+    private record Result(double requestsPerSecond, double p50Ms, double p99Ms) {
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        if (connections.add(exchange.getRemoteAddress())) {
+            sleep(STUB_HANDSHAKE_MS);
+        }
+        InputStream in = exchange.getRequestBody();
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if ("gzip".equals(encoding)) {
+            in = new GZIPInputStream(in);
+        }
+        String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        sleep(STUB_LATENCY_MS);
+        String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = accept != null && accept.contains("gzip");
+        respond(exchange, 200, ((encoding != null ? encoding + ":" : "") + body).getBytes(StandardCharsets.UTF_8), gzip);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, boolean gzip) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (gzip) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(body);
+            }
+            body = buffer.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.stephen.taskmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("Calendar Event Repository - Link persistence")
+class CalendarEventRepositoryTest {
+
+    @Autowired
+    private CalendarEventRepository calendarEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should keep the sync status and strategy a new link is saved with")
+    void testSave_KeepsPendingStatusAndStrategy() {
+        Task task = entityManager.persist(task("Quarterly report"));
+        CalendarEvent link = link(task, "evt-1");
+        link.setSyncStatus(SyncStatus.SYNC_PENDING);
+        link.setConflictResolutionStrategy(ConflictResolutionStrategy.CALENDAR_WINS);
+
+        CalendarEvent saved = calendarEventRepository.saveAndFlush(link);
+        entityManager.clear();
+
+        CalendarEvent reloaded = entityManager.find(CalendarEvent.class, saved.getId());
+        assertEquals(SyncStatus.SYNC_PENDING, reloaded.getSyncStatus());
+        assertEquals(ConflictResolutionStrategy.CALENDAR_WINS, reloaded.getConflictResolutionStrategy());
+        assertEquals(List.of(new SyncWorkItem(saved.getId(), task.getId(), "primary")),
+                calendarEventRepository.findStrandedPendingSyncWorkItems(0L, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Should default the sync status and strategy of a new link left unset")
+    void testSave_DefaultsUnsetFields() {
+        Task task = entityManager.persist(task("Team offsite"));
+
+        CalendarEvent saved = calendarEventRepository.saveAndFlush(link(task, "evt-2"));
+
+        assertEquals(SyncStatus.IN_SYNC, saved.getSyncStatus());
+        assertEquals(Boolean.FALSE, saved.getConflictDetected());
+        assertEquals(ConflictResolutionStrategy.TASK_WINS, saved.getConflictResolutionStrategy());
+    }
+
+    private Task task(String title) {
+        return Task.builder()
+                .title(title)
+                .status(TaskStatus.PENDING)
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .calendarSyncEnabled(true)
+                .build();
+    }
+
+    private CalendarEvent link(Task task, String eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        return CalendarEvent.builder()
+                .task(task)
+                .eventId(eventId)
+                .calendarId("primary")
+                .eventTitle(task.getTitle())
+                .taskLastModifiedAt(now)
+                .calendarLastModifiedAt(now)
+                .lastSyncedAt(now)
+                .build();
+    }
+}
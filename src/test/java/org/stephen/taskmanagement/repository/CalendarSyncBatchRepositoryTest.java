@@ -0,0 +1,118 @@
+package org.stephen.taskmanagement.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncOutboxEntry;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.SyncType;
+import org.stephen.taskmanagement.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(CalendarSyncBatchRepository.class)
+@DisplayName("Calendar Sync Batch Repository - Batched link writes")
+class CalendarSyncBatchRepositoryTest {
+
+    @Autowired
+    private CalendarSyncBatchRepository batchRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        first = entityManager.persist(task("Quarterly report"));
+        second = entityManager.persist(task("Team offsite"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should insert the links with their history and flag the tasks as synced")
+    void testInsertLinks_WritesLinksHistoryAndTasks() {
+        batchRepository.insertLinks(List.of(link(first, "evt-1"), link(second, "evt-2")));
+
+        assertEquals(2, count("SELECT COUNT(*) FROM calendar_events"));
+        assertEquals(first.getId(), jdbcTemplate.queryForObject(
+                "SELECT task_id FROM calendar_events WHERE event_id = 'evt-1'", Long.class));
+        assertEquals("\"1\"", jdbcTemplate.queryForObject(
+                "SELECT event_etag FROM calendar_events WHERE event_id = 'evt-2'", String.class));
+        assertEquals(2, count("SELECT COUNT(*) FROM sync_history h JOIN calendar_events ce " +
+                "ON ce.id = h.calendar_event_id WHERE h.sync_type = 'INITIAL_SYNC'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM task WHERE calendar_sync_enabled = TRUE " +
+                "AND calendar_synced_at IS NOT NULL"));
+    }
+
+    @Test
+    @DisplayName("Should delete the links with their history and queued work and unflag the tasks")
+    void testDeleteLinks_RemovesLinksHistoryAndQueuedWork() {
+        batchRepository.insertLinks(List.of(link(first, "evt-1"), link(second, "evt-2")));
+        Long firstLinkId = jdbcTemplate.queryForObject(
+                "SELECT id FROM calendar_events WHERE event_id = 'evt-1'", Long.class);
+        entityManager.persistAndFlush(SyncOutboxEntry.builder()
+                .taskId(first.getId())
+                .calendarEventId(firstLinkId)
+                .calendarId("primary")
+                .syncType(SyncType.AUTOMATIC)
+                .build());
+
+        batchRepository.deleteLinks(List.of(CalendarEvent.builder().id(firstLinkId).task(first).build()));
+
+        assertEquals(List.of("evt-2"), jdbcTemplate.queryForList("SELECT event_id FROM calendar_events", String.class));
+        assertEquals(1, count("SELECT COUNT(*) FROM sync_history"));
+        assertEquals(0, count("SELECT COUNT(*) FROM sync_outbox"));
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject(
+                "SELECT calendar_sync_enabled FROM task WHERE id = ?", Boolean.class, first.getId()));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT calendar_sync_enabled FROM task WHERE id = ?", Boolean.class, second.getId()));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private Task task(String title) {
+        return Task.builder()
+                .title(title)
+                .status(TaskStatus.PENDING)
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .calendarSyncEnabled(false)
+                .build();
+    }
+
+    private CalendarEvent link(Task task, String eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        return CalendarEvent.builder()
+                .task(task)
+                .eventId(eventId)
+                .calendarId("primary")
+                .eventTitle(task.getTitle())
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictDetected(false)
+                .conflictResolutionStrategy(ConflictResolutionStrategy.TASK_WINS)
+                .taskLastModifiedAt(now)
+                .calendarLastModifiedAt(now)
+                .lastSyncedAt(now)
+                .taskFingerprint(42L)
+                .eventEtag("\"1\"")
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package org.stephen.taskmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@DisplayName("Sync Job Repository - Abandoned job recovery")
+class SyncJobRepositoryTest {
+
+    @Autowired
+    private SyncJobRepository syncJobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should fail stale queued and running jobs and leave fresh or finished ones alone")
+    void testFailStale_FailsStaleQueuedAndRunningJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Long staleQueued = job(SyncJobStatus.QUEUED, now.minusHours(1));
+        Long staleRunning = job(SyncJobStatus.RUNNING, now.minusHours(1));
+        Long freshQueued = job(SyncJobStatus.QUEUED, now);
+        Long staleCompleted = job(SyncJobStatus.COMPLETED, now.minusHours(1));
+
+        int failed = syncJobRepository.failStale(null, now.minusMinutes(30), "Abandoned", now);
+
+        assertEquals(2, failed);
+        assertEquals(SyncJobStatus.FAILED, status(staleQueued));
+        assertEquals(SyncJobStatus.FAILED, status(staleRunning));
+        assertEquals(SyncJobStatus.QUEUED, status(freshQueued));
+        assertEquals(SyncJobStatus.COMPLETED, status(staleCompleted));
+    }
+
+    private Long job(SyncJobStatus status, LocalDateTime updatedAt) {
+        SyncJob job = entityManager.persistAndFlush(SyncJob.builder()
+                .jobType(SyncJobType.BULK_SYNC)
+                .status(status)
+                .totalItems(10)
+                .processedItems(0)
+                .successfulItems(0)
+                .failedItems(0)
+                .skippedItems(0)
+                .attempt(1)
+                .build());
+        // Written directly, the entity callbacks would stamp the current time
+        jdbcTemplate.update("UPDATE sync_jobs SET updated_at = ? WHERE id = ?", updatedAt, job.getId());
+        return job.getId();
+    }
+
+    private SyncJobStatus status(Long jobId) {
+        return SyncJobStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM sync_jobs WHERE id = ?", String.class, jobId));
+    }
+}
@@ -0,0 +1,134 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stephen.taskmanagement.config.AdaptivePollProperties;
+import org.stephen.taskmanagement.config.ClusterProperties;
+import org.stephen.taskmanagement.dto.PollTarget;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.SyncHistoryRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Adaptive Poll Scheduler - Change-driven intervals")
+class AdaptivePollSchedulerTest {
+
+    @Mock
+    private CalendarSyncService calendarSyncService;
+
+    @Mock
+    private CalendarSyncStateService syncStateService;
+
+    @Mock
+    private CalendarEventRepository calendarEventRepository;
+
+    @Mock
+    private SyncHistoryRepository syncHistoryRepository;
+
+    @Mock
+    private SyncWorkerPool syncWorkerPool;
+
+    private AdaptivePollProperties pollProperties;
+    private AdaptivePollScheduler scheduler;
+    private final List<List<Long>> dispatchedBatches = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pollProperties = new AdaptivePollProperties();
+        pollProperties.setTickMs(10000L);
+        pollProperties.setCallsPerMinute(12);
+        // A single node owning every partition
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ClusterCoordinator clusterCoordinator = new ClusterCoordinator(null, clusterProperties, meterRegistry);
+        scheduler = new AdaptivePollScheduler(calendarSyncService, syncStateService, calendarEventRepository,
+                syncHistoryRepository, syncWorkerPool, clusterCoordinator, pollProperties, meterRegistry);
+
+        lenient().when(syncWorkerPool.execute(anyString(), any(Collection.class), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Collection<SyncWorkItem> items = invocation.getArgument(1);
+                    Consumer<SyncWorkItem> action = invocation.getArgument(2);
+                    dispatchedBatches.add(items.stream().map(SyncWorkItem::taskId).toList());
+                    items.forEach(action);
+                    return SyncRunResult.builder().build();
+                });
+    }
+
+    @Test
+    @DisplayName("Should poll often-edited events sooner than dormant ones")
+    void testIntervalFor_FollowsChangeFrequency() {
+        assertEquals(21600, scheduler.intervalFor(0));
+        // One edit a day: four polls a day
+        assertEquals(21600, scheduler.intervalFor(7));
+        // Hourly edits: a poll every quarter hour
+        assertEquals(900, scheduler.intervalFor(7 * 24));
+        // Bounded below however hot the event is
+        assertEquals(120, scheduler.intervalFor(100_000));
+    }
+
+    @Test
+    @DisplayName("Should dispatch at most one tick's budget and reschedule polled events by their history")
+    void testTick_DispatchesWithinBudgetAndReschedules() {
+        // Budget 12 calls per minute is 2 per 10 second tick; demand matches it, so the scale is 1
+        when(calendarEventRepository.sumPollRate(21600)).thenReturn(0.2);
+        when(calendarEventRepository.findPollTargetsDueBefore(any(), eq(1024L), anyCollection(), any())).thenReturn(List.of(
+                target(1L, null), target(2L, null), target(3L, LocalDateTime.now().minusMinutes(1))));
+        when(syncHistoryRepository.countCalendarChangesSince(eq(100L), any())).thenReturn(7L * 24);
+        when(syncHistoryRepository.countCalendarChangesSince(eq(200L), any())).thenReturn(0L);
+
+        scheduler.tick();
+
+        assertEquals(List.of(List.of(1L, 2L)), dispatchedBatches);
+        verify(calendarSyncService).syncCalendarToTask(1L);
+        verify(calendarSyncService).syncCalendarToTask(2L);
+        verify(calendarSyncService, never()).syncCalendarToTask(3L);
+
+        ArgumentCaptor<LocalDateTime> nextPollAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(syncStateService).schedulePoll(eq(100L), eq(900), nextPollAt.capture());
+        verify(syncStateService).schedulePoll(eq(200L), eq(21600), nextPollAt.capture());
+        long hotSeconds = Duration.between(LocalDateTime.now(), nextPollAt.getAllValues().get(0)).toSeconds();
+        long dormantSeconds = Duration.between(LocalDateTime.now(), nextPollAt.getAllValues().get(1)).toSeconds();
+        assertTrue(Math.abs(hotSeconds - 900) <= 5, "hot event polled in " + hotSeconds + "s");
+        assertTrue(Math.abs(dormantSeconds - 21600) <= 5, "dormant event polled in " + dormantSeconds + "s");
+    }
+
+    @Test
+    @DisplayName("Should stretch intervals past their bounds when demand exceeds the call budget")
+    void testTick_ScalesIntervalsToBudget() {
+        when(calendarEventRepository.sumPollRate(21600)).thenReturn(0.8);
+        when(calendarEventRepository.findPollTargetsDueBefore(any(), eq(1024L), anyCollection(), any())).thenReturn(List.of(target(1L, null)));
+        when(syncHistoryRepository.countCalendarChangesSince(eq(100L), any())).thenReturn(0L);
+
+        scheduler.tick();
+
+        ArgumentCaptor<LocalDateTime> nextPollAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(syncStateService).schedulePoll(eq(100L), eq(21600), nextPollAt.capture());
+        long seconds = Duration.between(LocalDateTime.now(), nextPollAt.getValue()).toSeconds();
+        // Four times the budget's demand: four times the interval
+        assertTrue(Math.abs(seconds - 4 * 21600) <= 5, "polled again in " + seconds + "s");
+    }
+
+    private PollTarget target(Long taskId, LocalDateTime nextPollAt) {
+        return new PollTarget(taskId * 100, taskId, "primary", nextPollAt);
+    }
+}
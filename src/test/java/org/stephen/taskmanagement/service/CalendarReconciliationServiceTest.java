@@ -0,0 +1,199 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.stephen.taskmanagement.config.SyncJobProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.entity.SyncJobItem;
+import org.stephen.taskmanagement.enums.SyncJobItemStatus;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Calendar Reconciliation Service - Sorted-merge diff")
+class CalendarReconciliationServiceTest {
+
+    private static final String CALENDAR_ID = "primary";
+
+    @Mock
+    private GoogleCalendarGateway googleCalendarGateway;
+
+    @Mock
+    private CalendarSyncService calendarSyncService;
+
+    @Mock
+    private CalendarSyncBatchRepository calendarSyncBatchRepository;
+
+    @Mock
+    private SyncWorkerPool syncWorkerPool;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CalendarReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        SyncJobProperties jobProperties = new SyncJobProperties();
+        jobProperties.setReconcilePageSize(2);
+        reconciliationService = new CalendarReconciliationService(googleCalendarGateway, calendarSyncService,
+                calendarSyncBatchRepository, syncWorkerPool, jdbcTemplate, jobProperties);
+    }
+
+    @Test
+    @DisplayName("Should report orphaned links, leaked events and drift without touching anything")
+    void testReconcile_ReportOnly() throws Exception {
+        stubDriftedCalendar();
+        List<SyncJobItem> findings = new ArrayList<>();
+
+        reconciliationService.reconcile(job(false), items -> findings.addAll(items));
+
+        Map<String, SyncJobItem> byEvent = findings.stream()
+                .collect(Collectors.toMap(SyncJobItem::getEventId, item -> item));
+        assertEquals(3, findings.size());
+        assertTrue(byEvent.get("evt-a").getMessage().startsWith("ORPHANED_LINK"));
+        assertEquals(10L, byEvent.get("evt-a").getTaskId());
+        assertTrue(byEvent.get("evt-b").getMessage().startsWith("LEAKED_EVENT"));
+        assertEquals(20L, byEvent.get("evt-b").getTaskId());
+        assertTrue(byEvent.get("evt-c").getMessage().startsWith("DRIFTED"));
+        assertTrue(findings.stream().allMatch(item -> item.getStatus() == SyncJobItemStatus.SKIPPED));
+
+        verifyNoInteractions(calendarSyncBatchRepository, syncWorkerPool, calendarSyncService);
+        verify(googleCalendarGateway, never()).deleteEvents(any(), any());
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM calendar_reconcile_entries"), eq(7L));
+    }
+
+    @Test
+    @DisplayName("Should unlink orphans, delete leaked events and pull drifted events when repairing")
+    @SuppressWarnings("unchecked")
+    void testReconcile_Repair() throws Exception {
+        stubDriftedCalendar();
+        when(googleCalendarGateway.deleteEvents(CALENDAR_ID, List.of("evt-b")))
+                .thenReturn(List.of(new GoogleCalendarGateway.BatchResult<>(null, 404, "Not Found")));
+        when(calendarSyncService.syncCalendarToTask(30L)).thenReturn(CalendarSyncDto.SyncResponse.builder()
+                .taskId(30L).syncStatus(SyncStatus.IN_SYNC).message("Calendar synced to task successfully").build());
+        when(syncWorkerPool.execute(anyString(), any(Collection.class), any(Consumer.class))).thenAnswer(invocation -> {
+            Collection<SyncWorkItem> items = invocation.getArgument(1);
+            Consumer<SyncWorkItem> action = invocation.getArgument(2);
+            items.forEach(action);
+            return SyncRunResult.builder().build();
+        });
+        List<SyncJobItem> findings = new ArrayList<>();
+
+        reconciliationService.reconcile(job(true), items -> findings.addAll(items));
+
+        ArgumentCaptor<List<CalendarEvent>> unlinked = ArgumentCaptor.forClass(List.class);
+        verify(calendarSyncBatchRepository).deleteLinks(unlinked.capture());
+        assertEquals(1L, unlinked.getValue().get(0).getId());
+        assertEquals(10L, unlinked.getValue().get(0).getTask().getId());
+        verify(calendarSyncService).syncCalendarToTask(30L);
+
+        assertEquals(3, findings.size());
+        assertTrue(findings.stream().allMatch(item -> item.getStatus() == SyncJobItemStatus.SUCCEEDED));
+    }
+
+    @Test
+    @DisplayName("Should keep the link of a completed task, whose event Google lists as cancelled")
+    @SuppressWarnings("unchecked")
+    void testReconcile_CompletedTask() throws Exception {
+        DateTime longAgo = new DateTime(System.currentTimeMillis() - Duration.ofDays(1).toMillis());
+        Event completed = GoogleCalendarGateway.markOwned(new Event().setId("evt-a").setEtag("\"3\"")
+                .setStatus("cancelled").setCreated(longAgo), 10L);
+        Event unlinked = GoogleCalendarGateway.markOwned(new Event().setId("evt-b").setEtag("\"1\"")
+                .setStatus("cancelled").setCreated(longAgo), 20L);
+        when(googleCalendarGateway.listEventIds(CALENDAR_ID, null)).thenReturn(new Events()
+                .setItems(List.of(completed, unlinked)));
+        stubLinks(List.of(link(1L, 10L, "evt-a", "\"3\"")), List.of());
+        stubStaged(List.of(staged("evt-a", "\"3\"", null), staged("evt-b", "\"1\"", null)), List.of());
+        List<SyncJobItem> findings = new ArrayList<>();
+
+        reconciliationService.reconcile(job(true), items -> findings.addAll(items));
+
+        assertTrue(findings.isEmpty());
+        verifyNoInteractions(calendarSyncBatchRepository, syncWorkerPool, calendarSyncService);
+        verify(googleCalendarGateway, never()).deleteEvents(any(), any());
+
+        // Both are staged so the link finds its event, but neither as an owned event to delete
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Event>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO calendar_reconcile_entries"),
+                eq(List.of(completed, unlinked)), eq(2), setter.capture());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, completed);
+        setter.getValue().setValues(statement, unlinked);
+        verify(statement, times(2)).setObject(4, null, Types.BIGINT);
+    }
+
+    private void stubDriftedCalendar() throws Exception {
+        // Google lists in its own order; the merge only sees the staged rows, read back sorted
+        when(googleCalendarGateway.listEventIds(CALENDAR_ID, null)).thenReturn(new Events()
+                .setItems(List.of(new Event().setId("evt-d"))));
+
+        // Our links: evt-a is gone from Google, evt-c has a new etag there, evt-e matches
+        stubLinks(List.of(link(1L, 10L, "evt-a", "\"1\""), link(3L, 30L, "evt-c", "\"1\"")),
+                List.of(link(5L, 50L, "evt-e", "\"7\"")));
+        // Google's side: evt-b is ours but unlinked, evt-d is somebody else's
+        stubStaged(List.of(staged("evt-b", "\"1\"", 20L), staged("evt-c", "\"2\"", null)),
+                List.of(staged("evt-d", "\"1\"", null), staged("evt-e", "\"7\"", null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubLinks(List<CalendarReconciliationService.Link> firstPage,
+                           List<CalendarReconciliationService.Link> secondPage) {
+        when(jdbcTemplate.query(startsWith("SELECT id, task_id, event_id"), any(RowMapper.class),
+                any(), any(), any(), any()))
+                .thenReturn(firstPage, secondPage, List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStaged(List<CalendarReconciliationService.Remote> firstPage,
+                            List<CalendarReconciliationService.Remote> secondPage) {
+        when(jdbcTemplate.query(startsWith("SELECT event_id, etag"), any(RowMapper.class), any(), any(), any()))
+                .thenReturn(firstPage, secondPage, List.of());
+    }
+
+    private CalendarReconciliationService.Link link(Long id, Long taskId, String eventId, String etag) {
+        return new CalendarReconciliationService.Link(id, taskId, eventId, etag);
+    }
+
+    private CalendarReconciliationService.Remote staged(String eventId, String etag, Long ownedTaskId) {
+        return new CalendarReconciliationService.Remote(eventId, etag, ownedTaskId);
+    }
+
+    private SyncJob job(boolean repair) {
+        return SyncJob.builder()
+                .id(7L)
+                .calendarId(CALENDAR_ID)
+                .repair(repair)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.services.calendar.model.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.TaskStatus;
+import org.stephen.taskmanagement.mappers.CalendarMapper;
+import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
+import org.stephen.taskmanagement.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs more concurrent syncs than the pool has connections against a Google stub that takes a
+ * second per call, and checks that task reads and writes on other threads are not held up.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sync-load;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CalendarSyncService.class, CalendarSyncStateService.class, CalendarSyncBatchRepository.class})
+@DisplayName("Calendar Sync Service - Connection pool under slow Google")
+class CalendarSyncLoadTest {
+
+    private static final long GOOGLE_LATENCY_MS = 1000;
+    private static final int CONCURRENT_SYNCS = 6;
+    private static final int CRUD_OPERATIONS = 20;
+
+    @MockitoBean
+    private GoogleCalendarGateway calendarGateway;
+
+    @MockitoBean
+    private CalendarMapper calendarMapper;
+
+    @MockitoBean
+    private CalendarSyncProperties syncProperties;
+
+    @MockitoBean
+    private ConflictResolutionService conflictResolutionService;
+
+    @MockitoBean
+    private SyncRetryQueueService syncRetryQueueService;
+
+    @Autowired
+    private CalendarSyncService calendarSyncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CalendarEventRepository calendarEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Task CRUD latency should stay flat while syncs wait on Google")
+    void testSlowGoogle_DoesNotStallTaskCrud() throws Exception {
+        List<Long> syncedTaskIds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_SYNCS; i++) {
+            syncedTaskIds.add(createSyncedTask("Synced task " + i).getId());
+        }
+        Long crudTaskId = taskRepository.save(newTask("Edited by users")).getId();
+
+        CountDownLatch syncsInFlight = new CountDownLatch(CONCURRENT_SYNCS);
+        when(calendarGateway.getEvent(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            syncsInFlight.countDown();
+            Thread.sleep(GOOGLE_LATENCY_MS);
+            return new Event().setId(invocation.getArgument(1));
+        });
+        when(calendarGateway.patchEvent(anyString(), anyString(), any(Event.class))).thenAnswer(invocation -> {
+            Thread.sleep(GOOGLE_LATENCY_MS);
+            return invocation.getArgument(2);
+        });
+
+        long baselineMs = maxCrudLatencyMs(crudTaskId, 5);
+
+        ExecutorService syncExecutor = Executors.newFixedThreadPool(CONCURRENT_SYNCS);
+        try {
+            List<Future<?>> syncs = new ArrayList<>();
+            syncedTaskIds.forEach(taskId ->
+                    syncs.add(syncExecutor.submit(() -> calendarSyncService.syncTaskToCalendar(taskId))));
+            assertTrue(syncsInFlight.await(5, TimeUnit.SECONDS));
+
+            long underLoadMs = maxCrudLatencyMs(crudTaskId, CRUD_OPERATIONS);
+
+            for (Future<?> sync : syncs) {
+                sync.get(10, TimeUnit.SECONDS);
+            }
+            assertTrue(underLoadMs < GOOGLE_LATENCY_MS / 4,
+                    "CRUD took " + underLoadMs + " ms with syncs in flight (baseline " + baselineMs + " ms)");
+        } finally {
+            syncExecutor.shutdownNow();
+        }
+
+        assertEquals(CONCURRENT_SYNCS, calendarEventRepository.findAll().stream()
+                .filter(event -> event.getSyncStatus() == SyncStatus.IN_SYNC)
+                .count());
+    }
+
+    private long maxCrudLatencyMs(Long taskId, int operations) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long maxNanos = 0;
+        for (int i = 0; i < operations; i++) {
+            String description = "Edit " + i;
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                Task task = taskRepository.findById(taskId).orElseThrow();
+                task.setDescription(description);
+            });
+            maxNanos = Math.max(maxNanos, System.nanoTime() - start);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+    }
+
+    private Task createSyncedTask(String title) {
+        Task task = taskRepository.save(newTask(title));
+        calendarEventRepository.save(CalendarEvent.builder()
+                .task(task)
+                .eventId("event-" + task.getId())
+                .calendarId("primary")
+                .eventTitle(title)
+                .syncStatus(SyncStatus.SYNC_PENDING)
+                .conflictDetected(false)
+                .conflictResolutionStrategy(ConflictResolutionStrategy.TASK_WINS)
+                .lastSyncedAt(LocalDateTime.now().minusHours(1))
+                .build());
+        return task;
+    }
+
+    private Task newTask(String title) {
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(1);
+        return Task.builder()
+                .title(title)
+                .description("Load test")
+                .status(TaskStatus.PENDING)
+                .dueDate(dueDate)
+                .calendarSyncEnabled(true)
+                .build();
+    }
+}
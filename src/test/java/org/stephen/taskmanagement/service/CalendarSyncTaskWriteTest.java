@@ -0,0 +1,266 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncStatus;
+import org.stephen.taskmanagement.enums.TaskStatus;
+import org.stephen.taskmanagement.mappers.CalendarMapper;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({CalendarSyncService.class, CalendarSyncStateService.class, CalendarSyncBatchRepository.class})
+@DisplayName("Calendar Sync Service - Task row isolation")
+class CalendarSyncTaskWriteTest {
+
+    private static final LocalDateTime TASK_UPDATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @MockitoBean
+    private GoogleCalendarGateway calendarGateway;
+
+    @MockitoBean
+    private CalendarMapper calendarMapper;
+
+    @MockitoBean
+    private CalendarSyncProperties syncProperties;
+
+    @MockitoBean
+    private ConflictResolutionService conflictResolutionService;
+
+    @MockitoBean
+    private SyncRetryQueueService syncRetryQueueService;
+
+    @Autowired
+    private CalendarSyncService calendarSyncService;
+
+    @Autowired
+    private CalendarSyncStateService syncStateService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Task task;
+    private LocalDateTime lastSyncedAt;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        lastSyncedAt = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+
+        task = entityManager.persist(Task.builder()
+                .title("Quarterly report")
+                .description("Draft and review")
+                .status(TaskStatus.PENDING)
+                .dueDate(dueDate)
+                .calendarSyncEnabled(true)
+                .build());
+        entityManager.persist(CalendarEvent.builder()
+                .task(task)
+                .eventId("event123")
+                .calendarId("primary")
+                .eventTitle(task.getTitle())
+                .syncStatus(SyncStatus.IN_SYNC)
+                .conflictDetected(false)
+                .conflictResolutionStrategy(ConflictResolutionStrategy.TASK_WINS)
+                .taskLastModifiedAt(lastSyncedAt.minusMinutes(5))
+                .calendarLastModifiedAt(lastSyncedAt.minusMinutes(5))
+                .lastSyncedAt(lastSyncedAt)
+                .build());
+        entityManager.flush();
+
+        // Pin updatedAt so any write through @PreUpdate is visible
+        jdbcTemplate.update("UPDATE task SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(TASK_UPDATED_AT), task.getId());
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Pushing a task to the calendar should not write the task row")
+    void testSyncTaskToCalendar_LeavesTaskRowUntouched() throws Exception {
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any())).thenReturn(matchingEvent());
+        when(calendarGateway.patchEvent(eq("primary"), eq("event123"), any(Event.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+
+        calendarSyncService.syncTaskToCalendar(task.getId());
+        entityManager.flush();
+
+        assertEquals(TASK_UPDATED_AT, taskUpdatedAt());
+        assertTrue(lastSyncedAt().isAfter(lastSyncedAt));
+    }
+
+    @Test
+    @DisplayName("Pushing a task without a due date should record the link as in sync")
+    void testSyncTaskToCalendar_TaskWithoutDueDate() throws Exception {
+        jdbcTemplate.update("UPDATE task SET due_date = NULL WHERE id = ?", task.getId());
+        // The read ahead of a push only carries id, etag and status
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any()))
+                .thenReturn(new Event().setId("event123").setEtag("\"2\"").setStatus("confirmed"));
+        when(calendarGateway.patchEvent(eq("primary"), eq("event123"), any(Event.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+
+        calendarSyncService.syncTaskToCalendar(task.getId());
+        entityManager.flush();
+
+        assertEquals(SyncStatus.IN_SYNC.name(), syncStatus());
+        assertNull(jdbcTemplate.queryForObject("SELECT event_start_time FROM calendar_events WHERE task_id = ?",
+                LocalDateTime.class, task.getId()));
+        assertEquals("Quarterly report", jdbcTemplate.queryForObject(
+                "SELECT event_title FROM calendar_events WHERE task_id = ?", String.class, task.getId()));
+    }
+
+    @Test
+    @DisplayName("Pulling an unchanged event should not write the task row")
+    void testSyncCalendarToTask_UnchangedEventLeavesTaskRowUntouched() throws Exception {
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any())).thenReturn(matchingEvent());
+
+        calendarSyncService.syncCalendarToTask(task.getId());
+        entityManager.flush();
+
+        assertEquals(TASK_UPDATED_AT, taskUpdatedAt());
+        assertTrue(lastSyncedAt().isAfter(lastSyncedAt));
+    }
+
+    @Test
+    @DisplayName("Pushing a task whose content matches the last sync should not call Google")
+    void testSyncTaskToCalendar_UnchangedFingerprintSkipsGoogle() {
+        recordFingerprints(task.computeContentFingerprint(), task.computeContentFingerprint());
+
+        calendarSyncService.syncTaskToCalendar(task.getId());
+
+        verifyNoInteractions(calendarGateway);
+        assertEquals(lastSyncedAt, lastSyncedAt());
+        // A retry queued for the link is released even though it was already in sync
+        verify(syncRetryQueueService).recordSuccess(task.getId());
+    }
+
+    @Test
+    @DisplayName("Pulling after only the task changed should leave the task for the push, not flag a conflict")
+    void testSyncCalendarToTask_OnlyTaskChangedIsNotConflict() throws Exception {
+        Event event = matchingEvent();
+        recordFingerprints(task.computeContentFingerprint() + 1, GoogleCalendarGateway.contentFingerprint(event));
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any())).thenReturn(event);
+
+        calendarSyncService.syncCalendarToTask(task.getId());
+        entityManager.flush();
+
+        assertEquals(SyncStatus.SYNC_PENDING.name(), syncStatus());
+        assertEquals(TASK_UPDATED_AT, taskUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("The fingerprint sweep should mark only links whose task content changed")
+    void testMarkChangedTasksPending_ComparesFingerprintsInDatabase() {
+        recordFingerprints(task.computeContentFingerprint(), task.computeContentFingerprint());
+        assertEquals(0, syncStateService.markChangedTasksPending());
+
+        jdbcTemplate.update("UPDATE task SET content_fingerprint = ? WHERE id = ?",
+                task.computeContentFingerprint() + 1, task.getId());
+        assertEquals(1, syncStateService.markChangedTasksPending());
+        assertEquals(SyncStatus.SYNC_PENDING.name(), syncStatus());
+    }
+
+    @Test
+    @DisplayName("Pulling edits to different fields on each side should merge them instead of flagging a conflict")
+    void testSyncCalendarToTask_DisjointEditsAreMerged() throws Exception {
+        recordBaseSnapshot();
+        jdbcTemplate.update("UPDATE task SET title = ? WHERE id = ?", "Quarterly report v2", task.getId());
+        Event event = matchingEvent().setDescription("Draft, review and send");
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any())).thenReturn(event);
+        when(calendarGateway.patchEvent(eq("primary"), eq("event123"), any(Event.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+
+        calendarSyncService.syncCalendarToTask(task.getId());
+        entityManager.flush();
+
+        assertEquals(SyncStatus.IN_SYNC.name(), syncStatus());
+        assertEquals("Quarterly report v2", jdbcTemplate.queryForObject(
+                "SELECT title FROM task WHERE id = ?", String.class, task.getId()));
+        assertEquals("Draft, review and send", jdbcTemplate.queryForObject(
+                "SELECT description FROM task WHERE id = ?", String.class, task.getId()));
+        verify(calendarGateway).patchEvent(eq("primary"), eq("event123"),
+                argThat(patch -> "Quarterly report v2".equals(patch.getSummary())
+                        && "Draft, review and send".equals(patch.getDescription())));
+    }
+
+    @Test
+    @DisplayName("Pulling different edits to the same field should still be a conflict")
+    void testSyncCalendarToTask_SameFieldEditsConflict() throws Exception {
+        recordBaseSnapshot();
+        jdbcTemplate.update("UPDATE task SET title = ? WHERE id = ?", "Quarterly report v2", task.getId());
+        when(calendarGateway.getEvent(eq("primary"), eq("event123"), any()))
+                .thenReturn(matchingEvent().setSummary("Q1 report"));
+
+        calendarSyncService.syncCalendarToTask(task.getId());
+        entityManager.flush();
+
+        assertEquals(SyncStatus.CONFLICT.name(), syncStatus());
+        verify(calendarGateway, never()).patchEvent(anyString(), anyString(), any(Event.class));
+    }
+
+    private void recordBaseSnapshot() {
+        recordFingerprints(task.computeContentFingerprint(), task.computeContentFingerprint());
+        jdbcTemplate.update("UPDATE calendar_events SET base_title = ?, base_description = ?, base_due_date = ?, " +
+                        "base_completed = FALSE WHERE task_id = ?",
+                task.getTitle(), task.getDescription(), Timestamp.valueOf(task.getDueDate()), task.getId());
+    }
+
+    private void recordFingerprints(long taskFingerprint, long eventFingerprint) {
+        jdbcTemplate.update("UPDATE calendar_events SET task_fingerprint = ?, event_fingerprint = ? WHERE task_id = ?",
+                taskFingerprint, eventFingerprint, task.getId());
+    }
+
+    private String syncStatus() {
+        return jdbcTemplate.queryForObject("SELECT sync_status FROM calendar_events WHERE task_id = ?",
+                String.class, task.getId());
+    }
+
+    private Event matchingEvent() {
+        return new Event()
+                .setId("event123")
+                .setSummary(task.getTitle())
+                .setDescription(task.getDescription())
+                .setStatus("confirmed")
+                .setUpdated(toGoogle(lastSyncedAt.minusMinutes(5)))
+                .setStart(new EventDateTime().setDateTime(toGoogle(task.getDueDate())))
+                .setEnd(new EventDateTime().setDateTime(toGoogle(task.getDueDate().plusHours(1))));
+    }
+
+    private DateTime toGoogle(LocalDateTime dateTime) {
+        return new DateTime(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private LocalDateTime taskUpdatedAt() {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM task WHERE id = ?",
+                LocalDateTime.class, task.getId());
+    }
+
+    private LocalDateTime lastSyncedAt() {
+        return jdbcTemplate.queryForObject("SELECT last_synced_at FROM calendar_events WHERE task_id = ?",
+                LocalDateTime.class, task.getId());
+    }
+}
@@ -0,0 +1,131 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.stephen.taskmanagement.config.SyncWorkerProperties;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.SyncCheckpoint;
+import org.stephen.taskmanagement.enums.SyncRunStatus;
+import org.stephen.taskmanagement.repository.SyncCheckpointRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Chunked Sync Runner - Checkpointed resume")
+class ChunkedSyncRunnerTest {
+
+    private static final String RUN = "scheduled-sync";
+
+    @Mock
+    private SyncCheckpointRepository checkpointRepository;
+
+    @Mock
+    private SyncWorkerPool syncWorkerPool;
+
+    private final AtomicReference<SyncCheckpoint> stored = new AtomicReference<>();
+    private final List<Long> loadedAfter = new ArrayList<>();
+    private final List<Long> processed = new ArrayList<>();
+    private ChunkedSyncRunner runner;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        SyncWorkerProperties workerProperties = new SyncWorkerProperties();
+        workerProperties.setChunkSize(2);
+        runner = new ChunkedSyncRunner(new SyncCheckpointService(checkpointRepository), syncWorkerPool,
+                workerProperties, new SimpleMeterRegistry());
+
+        // The checkpoint table, one row
+        lenient().when(checkpointRepository.findByRunName(RUN)).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        lenient().when(checkpointRepository.save(any(SyncCheckpoint.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        lenient().when(syncWorkerPool.execute(anyString(), any(Collection.class), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Collection<SyncWorkItem> items = invocation.getArgument(1);
+                    items.forEach(item -> processed.add(item.calendarEventId()));
+                    return SyncRunResult.builder().totalItems(items.size()).succeeded(items.size()).failed(0).build();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Never leak an interrupt into the next test
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("Should resume a stopped run after its last processed event and restart a completed one from 0")
+    void testRun_ResumesStoppedRunAndRestartsCompletedRun() {
+        runner.run(RUN, this::load, item -> { }, chunkResult -> false);
+
+        assertEquals(SyncRunStatus.IN_PROGRESS, stored.get().getStatus());
+        assertEquals(2L, stored.get().getLastProcessedId());
+        assertEquals(List.of(1L, 2L), processed);
+
+        SyncRunResult resumed = runner.run(RUN, this::load, item -> { });
+
+        assertEquals(List.of(0L, 2L, 4L, 5L), loadedAfter);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), processed);
+        assertEquals(3, resumed.getTotalItems());
+        assertEquals(SyncRunStatus.COMPLETED, stored.get().getStatus());
+        assertEquals(5L, stored.get().getProcessedCount());
+
+        loadedAfter.clear();
+        runner.run(RUN, this::load, item -> { });
+
+        assertEquals(0L, loadedAfter.get(0));
+        assertEquals(5L, stored.get().getProcessedCount());
+    }
+
+    @Test
+    @DisplayName("Should leave an interrupted run open and continue it after the checkpoint")
+    void testRun_ResumesInterruptedRun() {
+        runner.run(RUN, (afterId, chunk) -> {
+            if (afterId > 0) {
+                fail("An interrupted run must not load further chunks");
+            }
+            Thread.currentThread().interrupt();
+            return load(afterId, chunk);
+        }, item -> { });
+
+        assertTrue(Thread.interrupted());
+        assertEquals(SyncRunStatus.IN_PROGRESS, stored.get().getStatus());
+        assertEquals(2L, stored.get().getLastProcessedId());
+
+        loadedAfter.clear();
+        runner.run(RUN, this::load, item -> { });
+
+        assertEquals(2L, loadedAfter.get(0));
+        assertEquals(SyncRunStatus.COMPLETED, stored.get().getStatus());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), processed);
+    }
+
+    // Events 1..5 in keyset order
+    private List<SyncWorkItem> load(Long afterId, Pageable chunk) {
+        loadedAfter.add(afterId);
+        return LongStream.rangeClosed(afterId + 1, 5)
+                .limit(chunk.getPageSize())
+                .mapToObj(id -> new SyncWorkItem(id, id * 10, "primary"))
+                .toList();
+    }
+}
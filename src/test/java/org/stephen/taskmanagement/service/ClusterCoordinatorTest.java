@@ -0,0 +1,103 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stephen.taskmanagement.config.ClusterProperties;
+import org.stephen.taskmanagement.repository.ClusterRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cluster Coordinator - Leases and partitioning")
+class ClusterCoordinatorTest {
+
+    @Mock
+    private ClusterRepository clusterRepository;
+
+    @Test
+    @DisplayName("Should split partitions between live nodes and let only the lease holder lead")
+    void testHeartbeat_SplitsPartitionsAndElectsOneLeader() {
+        when(clusterRepository.findLiveNodeIds(anyInt())).thenReturn(List.of("node-a", "node-b"));
+        when(clusterRepository.tryAcquireLease(eq(ClusterCoordinator.LEADER_LEASE), eq("node-a"), anyInt()))
+                .thenReturn(true);
+        when(clusterRepository.tryAcquireLease(eq(ClusterCoordinator.LEADER_LEASE), eq("node-b"), anyInt()))
+                .thenReturn(false);
+        ClusterCoordinator nodeA = coordinator("node-a");
+        ClusterCoordinator nodeB = coordinator("node-b");
+
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+
+        assertTrue(nodeA.isLeader());
+        assertFalse(nodeB.isLeader());
+        verify(clusterRepository).deleteSilentNodes(anyInt());
+
+        Set<Long> all = new HashSet<>(nodeA.ownedPartitions());
+        all.addAll(nodeB.ownedPartitions());
+        assertEquals(1024, all.size());
+        assertEquals(1024, nodeA.ownedPartitions().size() + nodeB.ownedPartitions().size());
+        // Each event is polled by exactly one node
+        assertTrue(nodeA.owns(7L) != nodeB.owns(7L));
+    }
+
+    @Test
+    @DisplayName("Should stop leading once the lease is taken over")
+    void testHeartbeat_LosesLeadership() {
+        when(clusterRepository.findLiveNodeIds(anyInt())).thenReturn(List.of("node-a"));
+        when(clusterRepository.tryAcquireLease(any(), eq("node-a"), anyInt())).thenReturn(true, false);
+        ClusterCoordinator nodeA = coordinator("node-a");
+
+        nodeA.heartbeat();
+        long version = nodeA.ringVersion();
+        assertTrue(nodeA.isLeader());
+
+        nodeA.heartbeat();
+        assertFalse(nodeA.isLeader());
+        // Membership is unchanged, so is the assignment
+        assertEquals(version, nodeA.ringVersion());
+        assertEquals(1.0, nodeA.share());
+    }
+
+    @Test
+    @DisplayName("Should move only the joining or leaving node's share of partitions")
+    void testRing_MovesMinimalPartitionsOnMembershipChange() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 64);
+        ConsistentHashRing four = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 64);
+        ConsistentHashRing two = new ConsistentHashRing(List.of("node-a", "node-c"), 64);
+
+        int movedOnJoin = 0;
+        int movedOnLeave = 0;
+        for (int partition = 0; partition < 1024; partition++) {
+            String key = "partition-" + partition;
+            String owner = three.ownerOf(key);
+            if (!owner.equals(four.ownerOf(key))) {
+                // Only ever to the new node
+                assertEquals("node-d", four.ownerOf(key));
+                movedOnJoin++;
+            }
+            if (!owner.equals(two.ownerOf(key))) {
+                // Only ever away from the node that left
+                assertEquals("node-b", owner);
+                movedOnLeave++;
+            }
+        }
+        assertTrue(movedOnJoin > 1024 / 8 && movedOnJoin < 1024 / 2, "moved on join: " + movedOnJoin);
+        assertTrue(movedOnLeave > 1024 / 6 && movedOnLeave < 1024 / 2, "moved on leave: " + movedOnLeave);
+    }
+
+    private ClusterCoordinator coordinator(String nodeId) {
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setNodeId(nodeId);
+        return new ClusterCoordinator(clusterRepository, clusterProperties, new SimpleMeterRegistry());
+    }
+}
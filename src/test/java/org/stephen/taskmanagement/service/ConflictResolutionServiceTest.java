@@ -1,17 +1,22 @@
 package org.stephen.taskmanagement.service;
 
 
+import com.google.api.client.googleapis.batch.BatchRequest;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventDateTime;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.GoogleApiCircuitBreakerProperties;
+import org.stephen.taskmanagement.config.GoogleApiRateLimitProperties;
+import org.stephen.taskmanagement.config.RemoteEventCacheProperties;
 import org.stephen.taskmanagement.dto.CalendarSyncDto;
 import org.stephen.taskmanagement.entity.CalendarEvent;
 import org.stephen.taskmanagement.entity.Task;
@@ -22,6 +27,7 @@ import org.stephen.taskmanagement.exception.InvalidOperationException;
 import org.stephen.taskmanagement.exception.ResourceNotFoundException;
 import org.stephen.taskmanagement.mappers.CalendarMapper;
 import org.stephen.taskmanagement.repository.CalendarEventRepository;
+import org.stephen.taskmanagement.repository.CalendarSyncBatchRepository;
 import org.stephen.taskmanagement.repository.SyncHistoryRepository;
 import org.stephen.taskmanagement.repository.TaskRepository;
 
@@ -59,7 +65,12 @@ class CalendarSyncServiceTest {
     @Mock
     private ConflictResolutionService conflictResolutionService;
 
-    @InjectMocks
+    @Mock
+    private SyncRetryQueueService syncRetryQueueService;
+
+    @Mock
+    private CalendarSyncBatchRepository calendarSyncBatchRepository;
+
     private CalendarSyncService calendarSyncService;
 
     private Task task;
@@ -68,6 +79,18 @@ class CalendarSyncServiceTest {
 
     @BeforeEach
     void setUp() {
+        GoogleApiRateLimiter rateLimiter = new GoogleApiRateLimiter(
+                new GoogleApiRateLimitProperties(), new CalendarSyncProperties(), new SimpleMeterRegistry());
+        GoogleCalendarGateway calendarGateway = new GoogleCalendarGateway(
+                GoogleCalendarClients.ready(GoogleCalendarClientPool.single(googleCalendar)), rateLimiter,
+                new GoogleApiCircuitBreaker(new GoogleApiCircuitBreakerProperties(),
+                        new GoogleAccountPoolProperties(), new SimpleMeterRegistry()),
+                new RemoteEventCache(new RemoteEventCacheProperties(), new SimpleMeterRegistry()));
+        calendarSyncService = new CalendarSyncService(calendarGateway,
+                calendarEventRepository, syncHistoryRepository, taskRepository, calendarMapper,
+                syncProperties, conflictResolutionService, syncRetryQueueService, calendarSyncBatchRepository,
+                new CalendarSyncStateService(taskRepository, calendarEventRepository));
+
         task = Task.builder()
                 .id(1L)
                 .title("Test Task")
@@ -195,12 +218,12 @@ class CalendarSyncServiceTest {
 
         Calendar.Events eventsAPI = mock(Calendar.Events.class);
         Calendar.Events.Get getAPI = mock(Calendar.Events.Get.class);
-        Calendar.Events.Update updateAPI = mock(Calendar.Events.Update.class);
+        Calendar.Events.Patch patchAPI = mock(Calendar.Events.Patch.class);
         when(googleCalendar.events()).thenReturn(eventsAPI);
         when(eventsAPI.get(eq("primary"), eq("event123"))).thenReturn(getAPI);
         when(getAPI.execute()).thenReturn(googleEvent);
-        when(eventsAPI.update(eq("primary"), eq("event123"), any(Event.class))).thenReturn(updateAPI);
-        when(updateAPI.execute()).thenReturn(googleEvent);
+        when(eventsAPI.patch(eq("primary"), eq("event123"), any(Event.class))).thenReturn(patchAPI);
+        when(patchAPI.execute()).thenReturn(googleEvent);
 
         CalendarSyncDto.SyncResponse response = calendarSyncService.syncTaskToCalendar(1L);
 
@@ -209,7 +232,9 @@ class CalendarSyncServiceTest {
         assertEquals(SyncStatus.IN_SYNC, response.getSyncStatus());
 
         verify(eventsAPI).get(eq("primary"), eq("event123"));
-        verify(eventsAPI).update(eq("primary"), eq("event123"), any(Event.class));
+        verify(getAPI).setFields(GoogleCalendarGateway.Fields.PUSH.mask());
+        verify(eventsAPI).patch(eq("primary"), eq("event123"), any(Event.class));
+        verify(patchAPI).setFields(GoogleCalendarGateway.Fields.WRITE_RESULT.mask());
     }
 
     @Test
@@ -238,6 +263,7 @@ class CalendarSyncServiceTest {
         assertThrows(InvalidOperationException.class, () -> calendarSyncService.syncTaskToCalendar(1L));
         assertEquals(SyncStatus.SYNC_FAILED, calendarEvent.getSyncStatus());
         verify(calendarEventRepository).save(calendarEvent);
+        verify(syncRetryQueueService).recordFailure(calendarEvent, "Network error");
     }
 
 
@@ -279,7 +305,9 @@ class CalendarSyncServiceTest {
 
         assertEquals(SyncStatus.IN_SYNC, response.getSyncStatus());
         assertTrue(response.getConflictResolved());
-        verify(taskRepository).save(task);
+        assertEquals("Updated Title", task.getTitle());
+        assertEquals("Updated Description", task.getDescription());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
@@ -358,7 +386,7 @@ class CalendarSyncServiceTest {
 
     @Test
     @DisplayName("Disable sync: Should keep calendar event when not requested")
-    void testDisableSync_WithoutEventDeletion() {
+    void testDisableSync_WithoutEventDeletion() throws Exception {
         task.setCalendarEvent(calendarEvent);
         task.setCalendarSyncEnabled(true);
 
@@ -368,11 +396,19 @@ class CalendarSyncServiceTest {
                 .build();
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        Calendar.Events eventsAPI = mock(Calendar.Events.class);
+        Calendar.Events.Patch patchAPI = mock(Calendar.Events.Patch.class);
+        when(googleCalendar.events()).thenReturn(eventsAPI);
+        when(googleCalendar.batch()).thenReturn(mock(BatchRequest.class));
+        when(eventsAPI.patch(eq("primary"), eq("event123"), any(Event.class))).thenReturn(patchAPI);
 
         CalendarSyncDto.SyncDisabledResponse response = calendarSyncService.disableSync(request);
 
         assertFalse(response.getCalendarEventDeleted());
-        verify(googleCalendar, never()).events();
+        // The kept event only loses its ownership marker
+        verify(eventsAPI, never()).delete(any(), any());
+        verify(eventsAPI).patch(eq("primary"), eq("event123"),
+                argThat(patch -> patch.getExtendedProperties().getPrivate().containsKey("source")));
         verify(calendarEventRepository).delete(calendarEvent);
     }
 
@@ -0,0 +1,135 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.GoogleApiCircuitBreakerProperties;
+import org.stephen.taskmanagement.exception.CalendarUnavailableException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Google API Circuit Breaker - Failing fast during outages")
+class GoogleApiCircuitBreakerTest {
+
+    private GoogleApiCircuitBreakerProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleApiCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GoogleApiCircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenStateDurationMs(60_000L);
+        properties.setHalfOpenProbeCalls(2);
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWaitMs(10L);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new GoogleApiCircuitBreaker(properties, new GoogleAccountPoolProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should open after the failure threshold and reject without calling Google")
+    void testExecute_OpensOnOutage() throws Exception {
+        circuitBreaker.execute(() -> "ok");
+        circuitBreaker.execute(() -> "ok");
+        assertThrows(SocketTimeoutException.class, () -> circuitBreaker.execute(() -> {
+            throw new SocketTimeoutException("Read timed out");
+        }));
+        assertThrows(HttpResponseException.class, () -> circuitBreaker.execute(() -> {
+            throw new HttpResponseException.Builder(503, "Service Unavailable", new HttpHeaders()).build();
+        }));
+
+        assertEquals(GoogleApiCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        CalendarUnavailableException rejected = assertThrows(CalendarUnavailableException.class,
+                () -> circuitBreaker.execute(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.counter("google.calendar.circuit.transitions",
+                "from", "CLOSED", "to", "OPEN").count());
+    }
+
+    @Test
+    @DisplayName("Should not count client errors such as 404 as outages")
+    void testExecute_IgnoresClientErrors() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpResponseException.class, () -> circuitBreaker.execute(() -> {
+                throw new HttpResponseException.Builder(404, "Not Found", new HttpHeaders()).build();
+            }));
+        }
+
+        assertEquals(GoogleApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should not count quota errors as outages")
+    void testExecute_IgnoresQuotaErrors() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpResponseException.class, () -> circuitBreaker.execute(() -> {
+                throw new HttpResponseException.Builder(429, "Too Many Requests", new HttpHeaders()).build();
+            }));
+        }
+
+        assertEquals(GoogleApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Should close again once the half-open probes succeed")
+    void testExecute_HalfOpenProbesClose() throws Exception {
+        properties.setOpenStateDurationMs(0L);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IOException.class, () -> circuitBreaker.execute(() -> {
+                throw new IOException("Connection reset");
+            }));
+        }
+        assertEquals(GoogleApiCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        circuitBreaker.execute(() -> "probe");
+        assertEquals(GoogleApiCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.execute(() -> "probe");
+
+        assertEquals(GoogleApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reject callers once the bulkhead is full")
+    void testExecute_BulkheadRejectsWhenFull() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> circuitBreaker.executeInBulkhead(() -> {
+                inCall.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+            assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+            assertThrows(CalendarUnavailableException.class, () -> circuitBreaker.executeInBulkhead(() -> "ok"));
+            assertEquals(1.0, meterRegistry.counter("google.calendar.circuit.rejected", "reason", "bulkhead").count());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
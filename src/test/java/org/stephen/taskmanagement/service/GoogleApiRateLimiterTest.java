@@ -0,0 +1,106 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.GoogleApiRateLimitProperties;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Google API Rate Limiter - Quota-aware backoff")
+class GoogleApiRateLimiterTest {
+
+    private GoogleApiRateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        CalendarSyncProperties syncProperties = new CalendarSyncProperties();
+        syncProperties.setMaxRetries(2);
+        syncProperties.setRetryDelaySeconds(0);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new GoogleApiRateLimiter(new GoogleApiRateLimitProperties(), syncProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should retry 403 rateLimitExceeded and succeed")
+    void testExecute_RetriesQuotaErrors() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = rateLimiter.execute(GoogleApiRateLimiter.DEFAULT_USER, "primary", 1, true, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw quotaError();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.counter("google.calendar.ratelimit.throttled", "reason", "quota").count());
+    }
+
+    @Test
+    @DisplayName("Should give up after maxRetries on persistent 5xx")
+    void testExecute_GivesUpAfterMaxRetries() {
+        AtomicInteger calls = new AtomicInteger();
+
+        HttpResponseException thrown = assertThrows(HttpResponseException.class,
+                () -> rateLimiter.execute(GoogleApiRateLimiter.DEFAULT_USER, "primary", 1, true, () -> {
+                    calls.incrementAndGet();
+                    throw new HttpResponseException.Builder(503, "Service Unavailable", new HttpHeaders()).build();
+                }));
+
+        assertEquals(503, thrown.getStatusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry a 5xx of a non-idempotent call, but still retry its quota errors")
+    void testExecute_NonIdempotentCallRetriesOnlyQuotaErrors() {
+        AtomicInteger calls = new AtomicInteger();
+
+        HttpResponseException thrown = assertThrows(HttpResponseException.class,
+                () -> rateLimiter.execute(GoogleApiRateLimiter.DEFAULT_USER, "primary", 1, false, () -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw quotaError();
+                    }
+                    throw new HttpResponseException.Builder(503, "Service Unavailable", new HttpHeaders()).build();
+                }));
+
+        assertEquals(503, thrown.getStatusCode());
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.counter("google.calendar.ratelimit.throttled", "reason", "server").count());
+    }
+
+    @Test
+    @DisplayName("Should not retry non-throttling errors")
+    void testExecute_DoesNotRetryNotFound() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpResponseException.class, () -> rateLimiter.execute(GoogleApiRateLimiter.DEFAULT_USER, "primary", 1, true, () -> {
+            calls.incrementAndGet();
+            throw new HttpResponseException.Builder(404, "Not Found", new HttpHeaders()).build();
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    private GoogleJsonResponseException quotaError() {
+        GoogleJsonError.ErrorInfo errorInfo = new GoogleJsonError.ErrorInfo();
+        errorInfo.setReason("rateLimitExceeded");
+        GoogleJsonError details = new GoogleJsonError();
+        details.setCode(403);
+        details.setErrors(List.of(errorInfo));
+        return new GoogleJsonResponseException(
+                new HttpResponseException.Builder(403, "Forbidden", new HttpHeaders()), details);
+    }
+}
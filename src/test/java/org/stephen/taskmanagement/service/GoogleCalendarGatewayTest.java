@@ -0,0 +1,383 @@
+package org.stephen.taskmanagement.service;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.ConferenceData;
+import com.google.api.services.calendar.model.EntryPoint;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventAttendee;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.EventReminder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.GoogleApiCircuitBreakerProperties;
+import org.stephen.taskmanagement.config.GoogleApiRateLimitProperties;
+import org.stephen.taskmanagement.config.RemoteEventCacheProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Google Calendar Gateway - Partial responses and event cache")
+class GoogleCalendarGatewayTest {
+
+    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+
+    private final List<String> requestedFields = new ArrayList<>();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final Map<String, String> maskedBodies = new ConcurrentHashMap<>();
+    private String fullEventJson;
+    private String currentEtag = "\"3181161784712000\"";
+    private int throttledBatchParts;
+    private RemoteEventCacheProperties cacheProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleCalendarGateway gateway;
+    private Calendar googleCalendar;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fullEventJson = JSON_FACTORY.toString(fullEvent());
+
+        // Stub that honours top-level field masks the way the Calendar API does
+        MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() throws IOException {
+                        if (url.contains("/batch")) {
+                            return batchResponse(getContentAsString());
+                        }
+                        Object fields = new GenericUrl(url).getFirst("fields");
+                        requestedFields.add((String) fields);
+                        if (currentEtag.equals(getFirstHeaderValue("If-None-Match"))) {
+                            return new MockLowLevelHttpResponse().setStatusCode(304);
+                        }
+                        String body = fields == null ? fullEventJson
+                                : maskedBodies.computeIfAbsent((String) fields, GoogleCalendarGatewayTest.this::mask);
+                        responseBytes.addAndGet(body.length());
+                        return new MockLowLevelHttpResponse().setContentType("application/json").setContent(body);
+                    }
+                };
+            }
+        };
+        googleCalendar = new Calendar.Builder(transport, JSON_FACTORY, request -> { })
+                .setApplicationName("test")
+                .build();
+        cacheProperties = new RemoteEventCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+
+        // Throttling would only slow the measurement down
+        GoogleApiRateLimitProperties rateLimitProperties = new GoogleApiRateLimitProperties();
+        rateLimitProperties.setEnabled(false);
+        GoogleApiRateLimiter rateLimiter = new GoogleApiRateLimiter(
+                rateLimitProperties, new CalendarSyncProperties(), new SimpleMeterRegistry());
+        gateway = new GoogleCalendarGateway(
+                GoogleCalendarClients.ready(GoogleCalendarClientPool.single(googleCalendar)), rateLimiter,
+                new GoogleApiCircuitBreaker(new GoogleApiCircuitBreakerProperties(),
+                        new GoogleAccountPoolProperties(), new SimpleMeterRegistry()),
+                new RemoteEventCache(cacheProperties, meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Should send the call site's field mask on reads and writes")
+    void testGateway_AppliesFieldMasks() throws Exception {
+        cacheProperties.setEnabled(false);
+
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.PUSH);
+        gateway.insertEvent("primary", new Event().setSummary("New"));
+        gateway.patchEvent("primary", "event123", new Event().setSummary("Patched"));
+
+        assertEquals(List.of(
+                GoogleCalendarGateway.Fields.SYNC.mask(),
+                GoogleCalendarGateway.Fields.PUSH.mask(),
+                GoogleCalendarGateway.Fields.WRITE_RESULT.mask(),
+                GoogleCalendarGateway.Fields.WRITE_RESULT.mask()), requestedFields);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads from the cache and hand out independent copies")
+    void testGetEvent_ServesFreshSnapshotsFromCache() throws Exception {
+        Event first = gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        first.setSummary("Edited by the caller");
+
+        Event second = gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        Event push = gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.PUSH);
+
+        assertEquals(1, requestedFields.size());
+        assertEquals("Quarterly report", second.getSummary());
+        assertEquals("event123", push.getId());
+        assertEquals(2.0, meterRegistry.counter("google.calendar.event.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("google.calendar.event.cache", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Should revalidate stale snapshots with their ETag")
+    void testGetEvent_RevalidatesStaleSnapshotWithEtag() throws Exception {
+        cacheProperties.setFreshSeconds(0);
+
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        Event revalidated = gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+
+        assertEquals(2, requestedFields.size());
+        assertEquals("Quarterly report", revalidated.getSummary());
+        assertEquals(1.0, meterRegistry.counter("google.calendar.event.cache", "result", "revalidated").count());
+
+        currentEtag = "\"changed\"";
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        assertEquals(2.0, meterRegistry.counter("google.calendar.event.cache", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Should drop the cached snapshot when we write the event")
+    void testPatchEvent_InvalidatesCache() throws Exception {
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        gateway.patchEvent("primary", "event123", new Event().setSummary("Patched"));
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+
+        assertEquals(List.of(
+                GoogleCalendarGateway.Fields.SYNC.mask(),
+                GoogleCalendarGateway.Fields.WRITE_RESULT.mask(),
+                GoogleCalendarGateway.Fields.SYNC.mask()), requestedFields);
+        assertEquals(0.0, meterRegistry.counter("google.calendar.event.cache", "result", "hit").count());
+    }
+
+    @Test
+    @DisplayName("Should read uncached events with one batch request and serve the rest from the cache")
+    void testGetEvents_BatchesCacheMisses() throws Exception {
+        gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+
+        List<GoogleCalendarGateway.BatchResult<Event>> results =
+                gateway.getEvents("primary", List.of("event123", "event456", "event789"));
+
+        assertEquals(List.of(GoogleCalendarGateway.Fields.SYNC.mask(), "batch:2"), requestedFields);
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(GoogleCalendarGateway.BatchResult::succeeded));
+        assertEquals("Quarterly report", results.get(1).value().getSummary());
+        assertNull(results.get(1).value().getAttendees());
+        assertEquals(3, gateway.getEvents("primary", List.of("event123", "event456", "event789")).size());
+        assertEquals(2, requestedFields.size());
+    }
+
+    @Test
+    @DisplayName("Should back off and resend only the batch parts that hit a quota error")
+    void testGetEvents_RetriesThrottledBatchParts() {
+        CalendarSyncProperties syncProperties = new CalendarSyncProperties();
+        syncProperties.setRetryDelaySeconds(0);
+        SimpleMeterRegistry limiterRegistry = new SimpleMeterRegistry();
+        GoogleCalendarGateway throttledGateway = new GoogleCalendarGateway(
+                GoogleCalendarClients.ready(GoogleCalendarClientPool.single(googleCalendar)),
+                new GoogleApiRateLimiter(new GoogleApiRateLimitProperties(), syncProperties, limiterRegistry),
+                new GoogleApiCircuitBreaker(new GoogleApiCircuitBreakerProperties(),
+                        new GoogleAccountPoolProperties(), new SimpleMeterRegistry()),
+                new RemoteEventCache(cacheProperties, meterRegistry));
+        throttledBatchParts = 1;
+
+        List<GoogleCalendarGateway.BatchResult<Event>> results =
+                throttledGateway.getEvents("primary", List.of("event123", "event456", "event789"));
+
+        assertEquals(List.of("batch:3", "batch:1"), requestedFields);
+        assertTrue(results.stream().allMatch(GoogleCalendarGateway.BatchResult::succeeded));
+        assertEquals(1.0, limiterRegistry.counter("google.calendar.ratelimit.throttled", "reason", "quota").count());
+        assertTrue(limiterRegistry.find("google.calendar.ratelimit.permits.per.second")
+                .tags("scope", "calendar", "key", "primary").gauge().value()
+                < new GoogleApiRateLimitProperties().getCalendarPermitsPerSecond());
+    }
+
+    @Test
+    @DisplayName("Masked reads should carry what sync needs and shrink payload and allocations")
+    void testGetEvent_MaskedReadIsSmaller() throws Exception {
+        Event masked = gateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.SYNC);
+        assertEquals("Quarterly report", masked.getSummary());
+        assertNotNull(masked.getStart().getDateTime());
+        assertNotNull(masked.getUpdated());
+        assertNull(masked.getAttendees());
+        assertNull(masked.getConferenceData());
+
+        int reads = 2_000;
+        // Warm up both paths before measuring
+        measure(reads, true);
+        measure(reads, false);
+
+        Measurement full = measure(reads, false);
+        Measurement sync = measure(reads, true);
+
+        System.out.printf("Full event:  %d bytes/read, %d bytes allocated/read%n", full.bytes(), full.allocated());
+        System.out.printf("SYNC mask:   %d bytes/read, %d bytes allocated/read%n", sync.bytes(), sync.allocated());
+        assertTrue(sync.bytes() * 3 < full.bytes());
+        assertTrue(sync.allocated() < full.allocated());
+    }
+
+
+    @Test
+    @DisplayName("Should send each calendar's calls through its account's client and quota bucket")
+    void testGateway_RoutesCalendarsToAccounts() throws Exception {
+        List<String> teamUrls = new ArrayList<>();
+        MockHttpTransport teamTransport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                teamUrls.add(url);
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        return new MockLowLevelHttpResponse().setContentType("application/json").setContent(fullEventJson);
+                    }
+                };
+            }
+        };
+        Calendar teamCalendar = new Calendar.Builder(teamTransport, JSON_FACTORY, request -> { })
+                .setApplicationName("test")
+                .build();
+        GoogleCalendarClientPool clientPool = new GoogleCalendarClientPool(
+                Map.of("user", googleCalendar, "team", teamCalendar), Map.of("team@example.com", "team"), "user");
+        SimpleMeterRegistry limiterRegistry = new SimpleMeterRegistry();
+        GoogleCalendarGateway routedGateway = new GoogleCalendarGateway(GoogleCalendarClients.ready(clientPool),
+                new GoogleApiRateLimiter(new GoogleApiRateLimitProperties(), new CalendarSyncProperties(), limiterRegistry),
+                new GoogleApiCircuitBreaker(new GoogleApiCircuitBreakerProperties(),
+                        new GoogleAccountPoolProperties(), new SimpleMeterRegistry()),
+                new RemoteEventCache(cacheProperties, meterRegistry));
+
+        routedGateway.getEvent("primary", "event123", GoogleCalendarGateway.Fields.PUSH);
+        routedGateway.getEvent("team@example.com", "event123", GoogleCalendarGateway.Fields.PUSH);
+
+        assertEquals(1, requestedFields.size());
+        assertEquals(1, teamUrls.size());
+        assertTrue(teamUrls.get(0).contains("team@example.com"));
+        for (String account : List.of("user", "team")) {
+            assertNotNull(limiterRegistry.find("google.calendar.ratelimit.permits.per.second")
+                    .tags("scope", "user", "key", account).gauge());
+        }
+    }
+    private Measurement measure(int reads, boolean masked) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        responseBytes.set(0);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        // Same client call either way, so only the mask differs between the two runs
+        for (int i = 0; i < reads; i++) {
+            Calendar.Events.Get request = googleCalendar.events().get("primary", "event123");
+            if (masked) {
+                request.setFields(GoogleCalendarGateway.Fields.SYNC.mask());
+            }
+            request.execute();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(responseBytes.get() / reads, allocated / reads);
+    }
+
+    private record Measurement(long bytes, long allocated) {
+    }
+
+    // One 200 part per GET in the batch body, each honouring the SYNC mask; the first
+    // throttledBatchParts parts of the next batch answer 429 instead
+    private LowLevelHttpResponse batchResponse(String requestBody) {
+        int parts = requestBody.split("\nGET ", -1).length - 1;
+        requestedFields.add("batch:" + parts);
+        int throttled = throttledBatchParts;
+        throttledBatchParts = 0;
+        String event = maskedBodies.computeIfAbsent(GoogleCalendarGateway.Fields.SYNC.mask(), this::mask);
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= parts; i++) {
+            body.append("--batch_stub\r\n")
+                    .append("Content-Type: application/http\r\n")
+                    .append("Content-ID: <response-").append(i).append(">\r\n\r\n");
+            if (i <= throttled) {
+                body.append("HTTP/1.1 429 Too Many Requests\r\n")
+                        .append("Content-Type: application/json; charset=UTF-8\r\n\r\n")
+                        .append("{\"error\":{\"code\":429,\"message\":\"Rate Limit Exceeded\",")
+                        .append("\"errors\":[{\"reason\":\"rateLimitExceeded\"}]}}\r\n");
+                continue;
+            }
+            body.append("HTTP/1.1 200 OK\r\n")
+                    .append("Content-Type: application/json; charset=UTF-8\r\n\r\n")
+                    .append(event).append("\r\n");
+        }
+        body.append("--batch_stub--");
+        return new MockLowLevelHttpResponse()
+                .setContentType("multipart/mixed; boundary=batch_stub")
+                .setContent(body.toString());
+    }
+
+    private String mask(String fields) {
+        GenericJson parsed;
+        try {
+            parsed = JSON_FACTORY.fromString(fullEventJson, GenericJson.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        GenericJson kept = new GenericJson();
+        for (String field : fields.split(",")) {
+            if (parsed.containsKey(field)) {
+                kept.set(field, parsed.get(field));
+            }
+        }
+        try {
+            return JSON_FACTORY.toString(kept);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Event fullEvent() {
+        DateTime start = new DateTime(System.currentTimeMillis());
+        List<EventAttendee> attendees = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            attendees.add(new EventAttendee()
+                    .setEmail("attendee" + i + "@example.com")
+                    .setDisplayName("Attendee " + i)
+                    .setResponseStatus(i % 2 == 0 ? "accepted" : "needsAction")
+                    .setComment("Will join from the office")
+                    .setOptional(i > 8));
+        }
+        return new Event()
+                .setId("event123")
+                .setEtag("\"3181161784712000\"")
+                .setStatus("confirmed")
+                .setHtmlLink("https://www.google.com/calendar/event?eid=ZXZlbnQxMjMgcHJpbWFyeQ")
+                .setICalUID("event123@google.com")
+                .setSequence(3)
+                .setCreated(start)
+                .setUpdated(start)
+                .setSummary("Quarterly report")
+                .setDescription("Draft and review the quarterly report")
+                .setLocation("Conference room 4B, Main Street 1")
+                .setStart(new EventDateTime().setDateTime(start).setTimeZone("UTC"))
+                .setEnd(new EventDateTime().setDateTime(start).setTimeZone("UTC"))
+                .setCreator(new Event.Creator().setEmail("owner@example.com").setDisplayName("Owner"))
+                .setOrganizer(new Event.Organizer().setEmail("owner@example.com").setDisplayName("Owner"))
+                .setAttendees(attendees)
+                .setReminders(new Event.Reminders().setUseDefault(false).setOverrides(List.of(
+                        new EventReminder().setMethod("email").setMinutes(1440),
+                        new EventReminder().setMethod("popup").setMinutes(10))))
+                .setConferenceData(new ConferenceData()
+                        .setConferenceId("abc-defg-hij")
+                        .setEntryPoints(List.of(
+                                new EntryPoint().setEntryPointType("video")
+                                        .setUri("https://meet.google.com/abc-defg-hij").setLabel("meet.google.com/abc-defg-hij"),
+                                new EntryPoint().setEntryPointType("phone")
+                                        .setUri("tel:+1-555-0100").setLabel("+1 555-0100").setPin("123456789"))))
+                .setHangoutLink("https://meet.google.com/abc-defg-hij");
+    }
+}
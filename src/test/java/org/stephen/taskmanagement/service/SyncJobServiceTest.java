@@ -0,0 +1,247 @@
+package org.stephen.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.stephen.taskmanagement.config.SyncJobProperties;
+import org.stephen.taskmanagement.dto.CalendarSyncDto;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.entity.SyncJob;
+import org.stephen.taskmanagement.enums.ConflictResolutionStrategy;
+import org.stephen.taskmanagement.enums.SyncDirection;
+import org.stephen.taskmanagement.enums.SyncJobStatus;
+import org.stephen.taskmanagement.enums.SyncJobType;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.exception.ValidationException;
+import org.stephen.taskmanagement.repository.SyncJobItemRepository;
+import org.stephen.taskmanagement.repository.SyncJobRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Job Service - Job submission and lifecycle")
+class SyncJobServiceTest {
+
+    @Mock
+    private SyncJobRepository syncJobRepository;
+
+    @Mock
+    private SyncJobItemRepository syncJobItemRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SyncJobService syncJobService;
+
+    @BeforeEach
+    void setUp() {
+        SyncJobProperties jobProperties = new SyncJobProperties();
+        jobProperties.setItemBatchSize(2);
+        syncJobService = new SyncJobService(syncJobRepository, syncJobItemRepository, jobProperties,
+                jdbcTemplate, new ObjectMapper());
+
+        lenient().when(syncJobRepository.save(any(SyncJob.class))).thenAnswer(invocation -> {
+            SyncJob job = invocation.getArgument(0);
+            job.setId(42L);
+            return job;
+        });
+    }
+
+    @Test
+    @DisplayName("Should stream task IDs into job items in fixed-size batches")
+    @SuppressWarnings("unchecked")
+    void testCreateBulkSyncJob_StreamsTaskIdsInBatches() throws Exception {
+        SyncJob job = syncJobService.createBulkSyncJob(body(
+                "{\"taskIds\":[1,2,3,4,5],\"syncDirection\":\"TASK_TO_CALENDAR\",\"syncConflictedOnly\":true}"));
+
+        ArgumentCaptor<Integer> batchSizes = ArgumentCaptor.forClass(Integer.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("INSERT INTO sync_job_items"),
+                any(Collection.class), batchSizes.capture(), any(ParameterizedPreparedStatementSetter.class));
+
+        assertEquals(List.of(2, 2, 1), batchSizes.getAllValues());
+        assertEquals(42L, job.getId());
+        assertEquals(5, job.getTotalItems());
+        assertEquals(SyncJobStatus.QUEUED, job.getStatus());
+        assertEquals(SyncDirection.TASK_TO_CALENDAR, job.getSyncDirection());
+        assertTrue(job.getConflictedOnly());
+    }
+
+    @Test
+    @DisplayName("Should reject a request without task IDs and remove its job")
+    void testCreateBulkSyncJob_RejectsEmptyTaskIds() {
+        assertThrows(ValidationException.class,
+                () -> syncJobService.createBulkSyncJob(body("{\"taskIds\":[],\"syncDirection\":\"BIDIRECTIONAL\"}")));
+
+        verify(syncJobRepository).deleteById(42L);
+    }
+
+    @Test
+    @DisplayName("Should remove the batches already written when the body turns out malformed")
+    @SuppressWarnings("unchecked")
+    void testCreateBulkSyncJob_DiscardsPartialJob() {
+        assertThrows(ValidationException.class,
+                () -> syncJobService.createBulkSyncJob(body("{\"taskIds\":[1,2,3,\"four\"]}")));
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO sync_job_items"),
+                any(Collection.class), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate).update("DELETE FROM sync_job_items WHERE job_id = ?", 42L);
+        verify(syncJobRepository).deleteById(42L);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sync direction")
+    void testCreateBulkSyncJob_RejectsUnknownDirection() {
+        assertThrows(ValidationException.class,
+                () -> syncJobService.createBulkSyncJob(body("{\"syncDirection\":\"SIDEWAYS\",\"taskIds\":[1]}")));
+    }
+
+    @Test
+    @DisplayName("Should select the conflicts matching every given filter in one statement")
+    void testCreateBulkResolveJob_AppliesFilters() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(3);
+
+        SyncJob job = syncJobService.createBulkResolveJob(CalendarSyncDto.BulkConflictResolutionRequest.builder()
+                .strategy(ConflictResolutionStrategy.MERGE)
+                .calendarId("team")
+                .tag("finance")
+                .build());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+
+        assertTrue(sql.getValue().startsWith("INSERT INTO sync_job_items"));
+        assertTrue(sql.getValue().contains("ce.calendar_id = ?"));
+        assertTrue(sql.getValue().contains("g.name = ?"));
+        assertFalse(sql.getValue().contains("conflict_detected_at"));
+        assertArrayEquals(new Object[]{42L, "PENDING", "team", "finance"}, args.getValue());
+        assertEquals(SyncJobType.BULK_RESOLVE, job.getJobType());
+        assertEquals(ConflictResolutionStrategy.MERGE, job.getResolutionStrategy());
+        assertEquals(3, job.getTotalItems());
+    }
+
+    @Test
+    @DisplayName("Should reject MANUAL resolution in bulk")
+    void testCreateBulkResolveJob_RejectsManual() {
+        assertThrows(ValidationException.class,
+                () -> syncJobService.createBulkResolveJob(CalendarSyncDto.BulkConflictResolutionRequest.builder()
+                        .strategy(ConflictResolutionStrategy.MANUAL)
+                        .build()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should start a queued job only once")
+    void testStartJob_StartsQueuedJobOnce() {
+        SyncJob job = runningJob(1);
+        when(syncJobRepository.markRunning(eq(42L), any())).thenReturn(1, 0);
+        when(syncJobRepository.findById(42L)).thenReturn(Optional.of(job));
+
+        assertEquals(Optional.of(job), syncJobService.startJob(42L));
+        assertEquals(Optional.empty(), syncJobService.startJob(42L));
+    }
+
+    @Test
+    @DisplayName("Should stop the running attempt once its job is cancelled")
+    void testCancelJob_StopsRunningAttempt() {
+        SyncJob job = runningJob(1);
+        when(syncJobRepository.findById(42L)).thenReturn(Optional.of(job));
+        when(syncJobRepository.cancel(eq(42L), eq(List.of(SyncJobStatus.QUEUED, SyncJobStatus.RUNNING)), any()))
+                .thenReturn(1);
+        when(syncJobRepository.existsByIdAndStatusAndAttempt(42L, SyncJobStatus.RUNNING, 1)).thenReturn(false);
+
+        syncJobService.cancelJob(42L);
+        boolean keepGoing = syncJobService.recordRunProgress(job,
+                SyncRunResult.builder().totalItems(3).succeeded(2).failed(1).build());
+
+        assertFalse(keepGoing);
+        verify(syncJobRepository).addProgress(eq(42L), eq(3), eq(2), eq(1), eq(0), any());
+    }
+
+    @Test
+    @DisplayName("Should reject cancelling a job that is no longer queued or running")
+    void testCancelJob_RejectsFinishedJob() {
+        when(syncJobRepository.findById(42L)).thenReturn(Optional.of(runningJob(1)));
+
+        assertThrows(InvalidOperationException.class, () -> syncJobService.cancelJob(42L));
+    }
+
+    @Test
+    @DisplayName("Should not complete a job from an attempt superseded by a resume")
+    void testCompleteJob_StaleAttempt() {
+        when(syncJobRepository.finishAttempt(eq(42L), eq(1), eq(SyncJobStatus.COMPLETED), isNull(), any()))
+                .thenReturn(0);
+
+        assertFalse(syncJobService.completeJob(runningJob(1)));
+    }
+
+    @Test
+    @DisplayName("Should fail jobs left running without progress for longer than the stale threshold")
+    void testFailAbandonedJobs_FailsOnlyStaleJobs() {
+        LocalDateTime before = LocalDateTime.now();
+
+        syncJobService.failAbandonedJobs();
+
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(syncJobRepository).failStale(isNull(), staleBefore.capture(), anyString(), any());
+        assertFalse(staleBefore.getValue().isBefore(before.minusMinutes(30)));
+        assertTrue(staleBefore.getValue().isBefore(before.minusMinutes(29)));
+    }
+
+    @Test
+    @DisplayName("Should resume an abandoned running job as a new attempt")
+    void testResumeJob_AbandonedRunningJob() {
+        when(syncJobRepository.findById(42L)).thenReturn(Optional.of(runningJob(1)), Optional.of(runningJob(2)));
+        when(syncJobRepository.failStale(eq(42L), any(), anyString(), any())).thenReturn(1);
+        when(syncJobRepository.requeue(eq(42L), eq(List.of(SyncJobStatus.CANCELLED, SyncJobStatus.FAILED)), any()))
+                .thenReturn(1);
+
+        SyncJob resumed = syncJobService.resumeJob(42L);
+
+        assertEquals(2, resumed.getAttempt());
+        InOrder inOrder = inOrder(syncJobRepository);
+        inOrder.verify(syncJobRepository).failStale(eq(42L), any(), anyString(), any());
+        inOrder.verify(syncJobRepository).requeue(eq(42L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject resuming a job still running on another node")
+    void testResumeJob_RejectsActiveJob() {
+        when(syncJobRepository.findById(42L)).thenReturn(Optional.of(runningJob(1)));
+
+        assertThrows(InvalidOperationException.class, () -> syncJobService.resumeJob(42L));
+    }
+
+    private SyncJob runningJob(int attempt) {
+        return SyncJob.builder()
+                .id(42L)
+                .jobType(SyncJobType.FULL_SYNC)
+                .status(SyncJobStatus.RUNNING)
+                .attempt(attempt)
+                .totalItems(10)
+                .processedItems(4)
+                .build();
+    }
+
+    private InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
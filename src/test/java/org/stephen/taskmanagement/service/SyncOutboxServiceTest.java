@@ -0,0 +1,106 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stephen.taskmanagement.config.SyncOutboxProperties;
+import org.stephen.taskmanagement.config.SyncPriorityProperties;
+import org.stephen.taskmanagement.dto.PendingSync;
+import org.stephen.taskmanagement.entity.SyncOutboxEntry;
+import org.stephen.taskmanagement.enums.SyncPriority;
+import org.stephen.taskmanagement.enums.SyncType;
+import org.stephen.taskmanagement.repository.SyncOutboxEntryRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Outbox Service - Edit coalescing")
+class SyncOutboxServiceTest {
+
+    @Mock
+    private SyncOutboxEntryRepository outboxEntryRepository;
+
+    private SyncOutboxProperties outboxProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private SyncOutboxService syncOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new SyncOutboxProperties();
+        outboxProperties.setDebounceSeconds(10L);
+        outboxProperties.setMaxDelaySeconds(60L);
+        meterRegistry = new SimpleMeterRegistry();
+        syncOutboxService = new SyncOutboxService(outboxEntryRepository, outboxProperties,
+                new SyncPriorityPolicy(new SyncPriorityProperties()), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should collapse several edits of a task into one push")
+    void testClaimBatch_CoalescesEdits() {
+        when(outboxEntryRepository.findReadyTaskIds(any(), any(), any())).thenReturn(List.of(1L, 2L));
+        when(outboxEntryRepository.findByTaskIdsForUpdate(List.of(1L, 2L))).thenReturn(List.of(
+                entry(10L, 1L), entry(11L, 2L), entry(12L, 1L), entry(13L, 1L)));
+
+        List<PendingSync> items = syncOutboxService.claimBatch(200);
+
+        assertEquals(List.of(1L, 2L), items.stream().map(item -> item.workItem().taskId()).toList());
+        verify(outboxEntryRepository).deleteAllInBatch(argThat(entries -> ((List<?>) entries).size() == 4));
+        assertEquals(4.0, meterRegistry.counter("calendar.sync.outbox.drained").count());
+        assertEquals(2.0, meterRegistry.counter("calendar.sync.outbox.coalesced").count());
+    }
+
+    @Test
+    @DisplayName("Should only consider tasks past the debounce window or the max delay")
+    void testClaimBatch_AppliesDebounceBounds() {
+        ArgumentCaptor<LocalDateTime> settledBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> overdueBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(outboxEntryRepository.findReadyTaskIds(settledBefore.capture(), overdueBefore.capture(), any()))
+                .thenReturn(List.of());
+
+        assertTrue(syncOutboxService.claimBatch(200).isEmpty());
+
+        assertEquals(50, Duration.between(overdueBefore.getValue(), settledBefore.getValue()).getSeconds());
+        verify(outboxEntryRepository, never()).findByTaskIdsForUpdate(any());
+        verify(outboxEntryRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the claim order and the most urgent class of a task's edits")
+    void testClaimBatch_KeepsMostUrgentClass() {
+        when(outboxEntryRepository.findReadyTaskIds(any(), any(), argThat(page -> page.getPageSize() == 5)))
+                .thenReturn(List.of(2L, 1L));
+        SyncOutboxEntry dueSoon = entry(11L, 1L);
+        dueSoon.setDueDate(LocalDateTime.now().plusMinutes(20));
+        dueSoon.setSyncType(SyncType.AUTOMATIC);
+        when(outboxEntryRepository.findByTaskIdsForUpdate(List.of(2L, 1L))).thenReturn(List.of(
+                entry(10L, 1L), dueSoon, entry(12L, 2L)));
+
+        List<PendingSync> items = syncOutboxService.claimBatch(5);
+
+        assertEquals(List.of(2L, 1L), items.stream().map(item -> item.workItem().taskId()).toList());
+        assertEquals(SyncPriority.LOW, items.get(0).priority());
+        assertEquals(SyncPriority.IMMEDIATE, items.get(1).priority());
+        assertEquals(dueSoon.getDueDate(), items.get(1).dueDate());
+    }
+
+    private SyncOutboxEntry entry(Long id, Long taskId) {
+        return SyncOutboxEntry.builder()
+                .id(id)
+                .taskId(taskId)
+                .calendarEventId(taskId * 100)
+                .calendarId("primary")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
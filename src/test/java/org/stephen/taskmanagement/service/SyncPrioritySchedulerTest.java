@@ -0,0 +1,136 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.stephen.taskmanagement.config.CalendarSyncProperties;
+import org.stephen.taskmanagement.config.SyncPriorityProperties;
+import org.stephen.taskmanagement.dto.PendingSync;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.enums.SyncPriority;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Priority Scheduler - Urgent pushes first")
+class SyncPrioritySchedulerTest {
+
+    @Mock
+    private SyncOutboxService syncOutboxService;
+
+    @Mock
+    private SyncRetryQueueService syncRetryQueueService;
+
+    @Mock
+    private CalendarSyncService calendarSyncService;
+
+    @Mock
+    private SyncWorkerPool syncWorkerPool;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SyncPriorityScheduler scheduler;
+    private final List<List<Long>> dispatchedBatches = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        SyncPriorityProperties priorityProperties = new SyncPriorityProperties();
+        priorityProperties.setBufferCapacity(4);
+        priorityProperties.setDispatchBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new SyncPriorityScheduler(syncOutboxService, syncRetryQueueService, calendarSyncService,
+                syncWorkerPool, new CalendarSyncProperties(), priorityProperties, meterRegistry);
+
+        lenient().when(syncWorkerPool.execute(anyString(), any(Collection.class), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Collection<SyncWorkItem> items = invocation.getArgument(1);
+                    dispatchedBatches.add(items.stream().map(SyncWorkItem::taskId).toList());
+                    return SyncRunResult.builder().build();
+                });
+    }
+
+    @Test
+    @DisplayName("Should dispatch across sources by class and due date, and track lag per class")
+    void testDispatch_OrdersByPriority() {
+        LocalDateTime now = LocalDateTime.now();
+        when(syncOutboxService.claimBatch(4)).thenReturn(List.of(
+                pending(1L, SyncPriority.LOW, null, now.minusSeconds(30)),
+                pending(2L, SyncPriority.HIGH, now.plusHours(5), now.minusSeconds(20)),
+                pending(3L, SyncPriority.HIGH, now.plusHours(2), now.minusSeconds(10))), List.of());
+        when(syncRetryQueueService.claimDueEntries(1)).thenReturn(List.of(
+                pending(4L, SyncPriority.IMMEDIATE, now.plusMinutes(5), now.minusSeconds(5))));
+
+        scheduler.dispatch();
+
+        assertEquals(List.of(List.of(4L, 3L), List.of(2L, 1L)), dispatchedBatches);
+        assertEquals(1, meterRegistry.get("calendar.sync.queue.lag").tag("priority", "immediate").timer().count());
+        assertEquals(2, meterRegistry.get("calendar.sync.queue.lag").tag("priority", "high").timer().count());
+        assertEquals(0.0, meterRegistry.get("calendar.sync.queue.buffered").tag("priority", "high").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should serve a task claimed from both sources with one push at the more urgent class")
+    void testDispatch_DeduplicatesTasksAcrossSources() {
+        LocalDateTime now = LocalDateTime.now();
+        when(syncOutboxService.claimBatch(4)).thenReturn(List.of(
+                pending(1L, SyncPriority.NORMAL, null, now.minusSeconds(30)),
+                pending(2L, SyncPriority.HIGH, now.plusHours(3), now.minusSeconds(20))), List.of());
+        when(syncRetryQueueService.claimDueEntries(2)).thenReturn(
+                List.of(pending(1L, SyncPriority.IMMEDIATE, now.plusMinutes(1), now.minusSeconds(60))));
+
+        scheduler.dispatch();
+
+        assertEquals(List.of(List.of(1L, 2L)), dispatchedBatches);
+        assertEquals(0L, meterRegistry.get("calendar.sync.queue.lag").tag("priority", "normal").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should book an unexpected push failure as a failed attempt, and leave booked failures alone")
+    @SuppressWarnings("unchecked")
+    void testDispatch_RecordsUnexpectedFailures() {
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(2);
+        when(syncOutboxService.claimBatch(4)).thenReturn(List.of(
+                pending(1L, SyncPriority.HIGH, dueDate, null),
+                pending(2L, SyncPriority.HIGH, dueDate, null)), List.of());
+        when(syncRetryQueueService.claimDueEntries(anyInt())).thenReturn(List.of());
+        when(calendarSyncService.syncTaskToCalendar(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(CalendarEvent.class, 100L));
+        // Already booked as a failed attempt by the push itself
+        when(calendarSyncService.syncTaskToCalendar(2L))
+                .thenThrow(new InvalidOperationException("Failed to sync with Google Calendar: timeout"));
+        // The pool counts a throwing item as failed and goes on with the rest
+        when(syncWorkerPool.execute(anyString(), any(Collection.class), any(Consumer.class))).thenAnswer(invocation -> {
+            Collection<SyncWorkItem> items = invocation.getArgument(1);
+            Consumer<SyncWorkItem> action = invocation.getArgument(2);
+            items.forEach(item -> assertThrows(RuntimeException.class, () -> action.accept(item)));
+            return SyncRunResult.builder().build();
+        });
+
+        scheduler.dispatch();
+
+        verify(syncRetryQueueService).recordFailure(eq(new SyncWorkItem(100L, 1L, "primary")), eq(dueDate),
+                contains("CalendarEvent"));
+        verify(syncRetryQueueService, never()).recordFailure(eq(new SyncWorkItem(200L, 2L, "primary")), any(),
+                anyString());
+    }
+
+    private PendingSync pending(Long taskId, SyncPriority priority, LocalDateTime dueDate, LocalDateTime enqueuedAt) {
+        return new PendingSync(new SyncWorkItem(taskId * 100, taskId, "primary"), priority, dueDate, enqueuedAt);
+    }
+}
@@ -0,0 +1,163 @@
+package org.stephen.taskmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stephen.taskmanagement.config.SyncPriorityProperties;
+import org.stephen.taskmanagement.config.SyncRetryQueueProperties;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+import org.stephen.taskmanagement.entity.CalendarEvent;
+import org.stephen.taskmanagement.entity.SyncRetryEntry;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.RetryStatus;
+import org.stephen.taskmanagement.exception.InvalidOperationException;
+import org.stephen.taskmanagement.repository.SyncRetryEntryRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Retry Queue Service - Backoff and dead-letter")
+class SyncRetryQueueServiceTest {
+
+    @Mock
+    private SyncRetryEntryRepository retryEntryRepository;
+
+    private SyncRetryQueueService retryQueueService;
+    private CalendarEvent calendarEvent;
+    private SyncRetryEntry stored;
+
+    @BeforeEach
+    void setUp() {
+        SyncRetryQueueProperties properties = new SyncRetryQueueProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffSeconds(10);
+        properties.setMaxBackoffSeconds(25);
+        retryQueueService = new SyncRetryQueueService(retryEntryRepository, properties,
+                new SyncPriorityPolicy(new SyncPriorityProperties()));
+
+        calendarEvent = CalendarEvent.builder()
+                .id(5L)
+                .calendarId("primary")
+                .task(Task.builder().id(1L).dueDate(LocalDateTime.now().plusDays(1)).build())
+                .build();
+
+        // The retry queue table, one row per task
+        lenient().when(retryEntryRepository.findByTaskId(1L)).thenAnswer(invocation -> Optional.ofNullable(stored));
+        lenient().when(retryEntryRepository.save(any(SyncRetryEntry.class))).thenAnswer(invocation -> {
+            stored = invocation.getArgument(0);
+            return stored;
+        });
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially with jitter between half and the full delay")
+    void testRecordFailure_BacksOffWithinBounds() {
+        assertBackoffWithin(recordFailure(), 5, 10);
+
+        assertBackoffWithin(recordFailure(), 10, 20);
+        assertEquals(2, stored.getAttempts());
+        assertEquals(RetryStatus.PENDING, stored.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should cap the backoff at the maximum delay")
+    void testRecordFailure_CapsBackoff() {
+        SyncRetryQueueProperties properties = new SyncRetryQueueProperties();
+        properties.setMaxAttempts(10);
+        properties.setInitialBackoffSeconds(10);
+        properties.setMaxBackoffSeconds(25);
+        retryQueueService = new SyncRetryQueueService(retryEntryRepository, properties,
+                new SyncPriorityPolicy(new SyncPriorityProperties()));
+        stored = SyncRetryEntry.builder().taskId(1L).attempts(5).build();
+
+        assertBackoffWithin(recordFailure(), 12, 25);
+    }
+
+    @Test
+    @DisplayName("Should move an entry to dead-letter once it has used up its attempts")
+    void testRecordFailure_DeadLettersAfterMaxAttempts() {
+        recordFailure();
+        recordFailure();
+        SyncRetryEntry entry = retryQueueService.recordFailure(calendarEvent, "503 Service Unavailable");
+
+        assertEquals(3, entry.getAttempts());
+        assertEquals(RetryStatus.DEAD_LETTER, entry.getStatus());
+        assertNull(entry.getNextAttemptAt());
+        assertEquals("503 Service Unavailable", entry.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should count an unexpected failure of a claimed push as an attempt, up to dead-letter")
+    void testRecordFailure_ClaimedWorkItemDeadLetters() {
+        stored = SyncRetryEntry.builder().taskId(1L).attempts(1).status(RetryStatus.IN_PROGRESS)
+                .claimedAt(LocalDateTime.now()).build();
+        SyncWorkItem item = new SyncWorkItem(5L, 1L, "primary");
+
+        SyncRetryEntry entry = retryQueueService.recordFailure(item, null, "Row was updated by another transaction");
+
+        assertEquals(2, entry.getAttempts());
+        assertEquals(RetryStatus.PENDING, entry.getStatus());
+        assertNull(entry.getClaimedAt());
+
+        entry = retryQueueService.recordFailure(item, null, "Row was updated by another transaction");
+
+        assertEquals(RetryStatus.DEAD_LETTER, entry.getStatus());
+        assertEquals(5L, entry.getCalendarEventId());
+    }
+
+    @Test
+    @DisplayName("Should defer a push without using up an attempt")
+    void testDefer_DoesNotConsumeAttempt() {
+        recordFailure();
+        LocalDateTime notBefore = LocalDateTime.now().plusMinutes(5);
+
+        SyncRetryEntry entry = retryQueueService.defer(calendarEvent, "Google calls suspended", notBefore);
+
+        assertEquals(1, entry.getAttempts());
+        assertEquals(RetryStatus.PENDING, entry.getStatus());
+        assertEquals(notBefore, entry.getNextAttemptAt());
+        assertNull(entry.getClaimedAt());
+    }
+
+    @Test
+    @DisplayName("Should requeue a dead-letter entry with fresh attempts")
+    void testRequeue_DeadLetter() {
+        stored = SyncRetryEntry.builder().id(9L).taskId(1L).attempts(3).status(RetryStatus.DEAD_LETTER).build();
+        when(retryEntryRepository.findById(9L)).thenReturn(Optional.of(stored));
+
+        retryQueueService.requeue(9L);
+
+        assertEquals(RetryStatus.PENDING, stored.getStatus());
+        assertEquals(0, stored.getAttempts());
+        assertNotNull(stored.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Should reject requeueing an entry that is not dead-lettered")
+    void testRequeue_RejectsPendingEntry() {
+        when(retryEntryRepository.findById(9L)).thenReturn(Optional.of(
+                SyncRetryEntry.builder().id(9L).taskId(1L).attempts(1).status(RetryStatus.PENDING).build()));
+
+        assertThrows(InvalidOperationException.class, () -> retryQueueService.requeue(9L));
+        verify(retryEntryRepository, never()).save(any());
+    }
+
+    private SyncRetryEntry recordFailure() {
+        return retryQueueService.recordFailure(calendarEvent, "timeout");
+    }
+
+    private void assertBackoffWithin(SyncRetryEntry entry, long minSeconds, long maxSeconds) {
+        long seconds = Duration.between(LocalDateTime.now(), entry.getNextAttemptAt()).toSeconds();
+        // One second of slack for the time between scheduling and this check
+        assertTrue(seconds >= minSeconds - 1 && seconds <= maxSeconds, "backoff was " + seconds + " s");
+    }
+}
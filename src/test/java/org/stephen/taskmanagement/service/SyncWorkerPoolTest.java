@@ -0,0 +1,136 @@
+package org.stephen.taskmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.stephen.taskmanagement.config.GoogleAccountPoolProperties;
+import org.stephen.taskmanagement.config.SyncWorkerProperties;
+import org.stephen.taskmanagement.dto.SyncRunResult;
+import org.stephen.taskmanagement.dto.SyncWorkItem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sync Worker Pool - Concurrency limits")
+class SyncWorkerPoolTest {
+
+    private SyncWorkerPool syncWorkerPool;
+
+    @BeforeEach
+    void setUp() {
+        SyncWorkerProperties properties = new SyncWorkerProperties();
+        properties.setMaxConcurrency(4);
+        properties.setMaxConcurrencyPerCalendar(2);
+        syncWorkerPool = new SyncWorkerPool(properties, new GoogleAccountPoolProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        syncWorkerPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should process every item while respecting global and per-calendar caps")
+    void testExecute_RespectsCaps() {
+        List<SyncWorkItem> items = new ArrayList<>();
+        for (long i = 0; i < 30; i++) {
+            items.add(new SyncWorkItem(i, i, i % 3 == 0 ? "team" : "primary"));
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Map<String, AtomicInteger> inFlightPerCalendar = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxPerCalendar = new ConcurrentHashMap<>();
+
+        SyncRunResult result = syncWorkerPool.execute("test", items, item -> {
+            AtomicInteger calendarCount = inFlightPerCalendar.computeIfAbsent(item.calendarId(), k -> new AtomicInteger());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            maxPerCalendar.computeIfAbsent(item.calendarId(), k -> new AtomicInteger())
+                    .accumulateAndGet(calendarCount.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                calendarCount.decrementAndGet();
+                inFlight.decrementAndGet();
+            }
+        });
+
+        assertEquals(30, result.getTotalItems());
+        assertEquals(30, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        assertTrue(maxInFlight.get() <= 4);
+        maxPerCalendar.values().forEach(max -> assertTrue(max.get() <= 2));
+    }
+
+    @Test
+    @DisplayName("Should stop in-flight items and free their permits when the run is interrupted")
+    void testExecute_InterruptWaitsForInFlightItems() throws Exception {
+        List<SyncWorkItem> items = new ArrayList<>();
+        for (long i = 0; i < 6; i++) {
+            items.add(new SyncWorkItem(i, i, "primary"));
+        }
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger stopped = new AtomicInteger();
+        AtomicBoolean interruptRestored = new AtomicBoolean();
+
+        Thread runner = new Thread(() -> {
+            syncWorkerPool.execute("test", items, item -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    stopped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+            });
+            interruptRestored.set(Thread.currentThread().isInterrupted());
+        });
+        runner.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        runner.interrupt();
+        runner.join(5_000);
+
+        assertFalse(runner.isAlive());
+        assertTrue(interruptRestored.get());
+        assertEquals(2, stopped.get());
+        assertEquals(2, calls.get());
+        // The calendar's permits are free again for the next run
+        SyncRunResult next = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> syncWorkerPool.execute(
+                "test", List.of(new SyncWorkItem(7L, 7L, "primary")), item -> { }));
+        assertEquals(1, next.getSucceeded());
+    }
+
+    @Test
+    @DisplayName("Should count failures without aborting the run")
+    void testExecute_CountsFailures() {
+        List<SyncWorkItem> items = List.of(
+                new SyncWorkItem(1L, 1L, "primary"),
+                new SyncWorkItem(2L, 2L, "primary"),
+                new SyncWorkItem(3L, 3L, "team"));
+
+        SyncRunResult result = syncWorkerPool.execute("test", items, item -> {
+            if (item.taskId() == 2L) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+    }
+}
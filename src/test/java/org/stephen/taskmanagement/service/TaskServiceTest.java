@@ -0,0 +1,92 @@
+package org.stephen.taskmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.stephen.taskmanagement.dto.request.UpdateTaskRequestDto;
+import org.stephen.taskmanagement.entity.Tag;
+import org.stephen.taskmanagement.entity.Task;
+import org.stephen.taskmanagement.enums.SyncType;
+import org.stephen.taskmanagement.enums.TaskStatus;
+import org.stephen.taskmanagement.mappers.TaskMapperImpl;
+import org.stephen.taskmanagement.repository.TagRepository;
+import org.stephen.taskmanagement.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Task Service - Calendar sync capture on update")
+class TaskServiceTest {
+
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2030, 3, 1, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private TagService tagService;
+
+    @Mock
+    private SyncOutboxService syncOutboxService;
+
+    private TaskService taskService;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(taskRepository, tagRepository, new TaskMapperImpl(), tagService,
+                syncOutboxService);
+
+        task = Task.builder()
+                .id(1L)
+                .title("Quarterly report")
+                .description("Draft and review")
+                .status(TaskStatus.PENDING)
+                .dueDate(DUE_DATE)
+                .calendarSyncEnabled(true)
+                .tags(new HashSet<>())
+                .build();
+        lenient().when(taskRepository.findByIdWithTags(1L)).thenReturn(Optional.of(task));
+        lenient().when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(tagService.getOrCreateTag(anyString()))
+                .thenAnswer(invocation -> Tag.builder().name(invocation.getArgument(0)).build());
+    }
+
+    @Test
+    @DisplayName("Should capture a calendar push when a synced field changes")
+    void testUpdateTask_SyncedFieldChangeIsCaptured() {
+        taskService.updateTask(1L, UpdateTaskRequestDto.builder().title("Quarterly report v2").build());
+        taskService.updateTask(1L, UpdateTaskRequestDto.builder().dueDate(DUE_DATE.plusDays(1)).build());
+        taskService.updateTask(1L, UpdateTaskRequestDto.builder().status("completed").build());
+
+        verify(syncOutboxService, times(3)).recordTaskChange(task, SyncType.MANUAL);
+    }
+
+    @Test
+    @DisplayName("Should not capture a calendar push for edits the calendar does not show")
+    void testUpdateTask_UnsyncedEditIsNotCaptured() {
+        taskService.updateTask(1L, UpdateTaskRequestDto.builder().tagNames(Set.of("finance")).build());
+        taskService.updateTask(1L, UpdateTaskRequestDto.builder()
+                .title("Quarterly report")
+                .description("Draft and review")
+                .status("pending")
+                .build());
+
+        verify(taskRepository, times(2)).save(task);
+        verifyNoInteractions(syncOutboxService);
+        assertEquals(1, task.getTags().size());
+    }
+}